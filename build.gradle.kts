@@ -21,16 +21,28 @@ java {
     }
 }
 
+// Load generators and micro-benchmarks live outside main, so their dependencies stay out of the
+// service's runtime classpath and boot jar.
+val benchmark by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[benchmark.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[benchmark.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter")
     implementation("net.devh:grpc-server-spring-boot-starter:2.15.0.RELEASE")
     implementation(platform("io.grpc:grpc-bom:1.64.0"))
     implementation("io.grpc:grpc-stub")
     implementation("io.grpc:grpc-protobuf")
-    runtimeOnly("io.grpc:grpc-netty-shaded")
+    implementation("io.grpc:grpc-netty-shaded")
+    implementation("io.grpc:grpc-services")
     compileOnly("javax.annotation:javax.annotation-api:1.3.2")
     implementation(platform("software.amazon.awssdk:bom:2.25.60"))
     implementation("software.amazon.awssdk:sqs")
+    implementation("software.amazon.awssdk:netty-nio-client")
     implementation("software.amazon.awssdk:sts")
     implementation("software.amazon.awssdk:auth")
     implementation("software.amazon.awssdk:regions")
@@ -40,9 +52,12 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("io.micrometer:micrometer-registry-cloudwatch2")
 
+    "benchmarkImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:localstack")
+    testImplementation("io.grpc:grpc-inprocess")
 
     implementation("software.amazon.awssdk:sts")
 }
@@ -67,6 +82,41 @@ tasks.register<JavaExec>("encodeSqsMessage") {
     mainClass.set("org.fintech.tools.SqsTransactionRequestEncoder")
 }
 
+tasks.register<JavaExec>("benchmarkSymbolTable") {
+    group = "verification"
+    description = "Measures symbol table lookup throughput and heap bytes per interned symbol."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.fintech.tools.SymbolTableBenchmark")
+}
+
+tasks.register<JavaExec>("benchmarkMarshallers") {
+    group = "verification"
+    description = "Compares per-call allocation of the stock and pooled protobuf marshallers."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.fintech.tools.MarshallerAllocationBenchmark")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Drives EvaluateTransaction at a fixed open-loop rate and reports corrected latency percentiles."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.fintech.tools.GrpcLoadGenerator")
+}
+
+tasks.register<JavaExec>("benchmarkTransport") {
+    group = "verification"
+    description = "Compares loopback gRPC throughput on the NIO and epoll SO_REUSEPORT transports."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.fintech.tools.TransportThroughputBenchmark")
+}
+
+tasks.register<JavaExec>("benchmarkSqsProcessing") {
+    group = "verification"
+    description = "Compares SQS processing throughput of the platform and virtual executors against LocalStack."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.fintech.tools.SqsProcessingBenchmark")
+}
+
 protobuf {
     protoc {
         artifact = "com.google.protobuf:protoc:3.25.3"
@@ -0,0 +1,81 @@
+import com.google.protobuf.gradle.*
+
+plugins {
+    id("java-library")
+    id("com.google.protobuf")
+}
+
+group = "org.fintech"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+// Generated from the server's proto so the client can never drift from the service definition.
+sourceSets {
+    main {
+        proto {
+            srcDir("../src/main/proto")
+        }
+    }
+}
+
+val benchmark by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[benchmark.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[benchmark.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    api(platform("io.grpc:grpc-bom:1.64.0"))
+    api("io.grpc:grpc-stub")
+    api("io.grpc:grpc-protobuf")
+    runtimeOnly("io.grpc:grpc-netty-shaded")
+    compileOnly("javax.annotation:javax.annotation-api:1.3.2")
+
+    "benchmarkImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.3"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.assertj:assertj-core:3.25.3")
+    testImplementation("io.grpc:grpc-inprocess")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+tasks.register<JavaExec>("benchmarkClient") {
+    group = "verification"
+    description = "Compares naive unary stub calls with the pooled, auto-batching client against a running server."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.fintech.client.ClientBenchmark")
+}
+
+protobuf {
+    protoc {
+        artifact = "com.google.protobuf:protoc:3.25.3"
+    }
+    plugins {
+        id("grpc") {
+            artifact = "io.grpc:protoc-gen-grpc-java:1.64.0"
+        }
+    }
+    generateProtoTasks {
+        all().forEach { task ->
+            task.plugins {
+                id("grpc")
+            }
+        }
+    }
+}
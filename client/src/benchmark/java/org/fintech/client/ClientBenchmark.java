@@ -0,0 +1,139 @@
+package org.fintech.client;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+
+// Closed loop: CONCURRENCY callers each issue blocking calls back to back, first through a bare
+// blocking stub on one channel (how most callers use us today), then through FraudDetectionClient.
+// Both runs use the same target, callers and duration; compare throughput and percentiles.
+public final class ClientBenchmark {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+    // Shared by every run so no transaction_id repeats and the server's retry cache never answers.
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private ClientBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String target = envString("TARGET", "localhost:9090");
+        int concurrency = envInt("CONCURRENCY", 64);
+        int seconds = envInt("DURATION_SECONDS", 20);
+        int warmupSeconds = envInt("WARMUP_SECONDS", 5);
+        int deadlineMillis = envInt("DEADLINE_MILLIS", 1_000);
+
+        System.out.printf("target=%s concurrency=%d duration_s=%d warmup_s=%d%n",
+            target, concurrency, seconds, warmupSeconds);
+
+        ManagedChannel channel = ManagedChannelBuilder.forTarget(target).usePlaintext().build();
+        try {
+            FraudDetectionServiceGrpc.FraudDetectionServiceBlockingStub stub =
+                FraudDetectionServiceGrpc.newBlockingStub(channel);
+            Function<TransactionRequest, RiskAssessment> naive =
+                request -> stub.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS).evaluateTransaction(request);
+            run("naive_unary", naive, concurrency, warmupSeconds, false);
+            run("naive_unary", naive, concurrency, seconds, true);
+        } finally {
+            channel.shutdownNow();
+        }
+
+        FraudDetectionClientSettings settings = new FraudDetectionClientSettings();
+        settings.setTarget(target);
+        settings.setDeadlineMillis(deadlineMillis);
+        settings.setChannels(envInt("CHANNELS", settings.getChannels()));
+        settings.setBatchingEnabled(Boolean.parseBoolean(System.getenv("BATCHING")));
+        settings.setBatchMaxSize(envInt("BATCH_MAX_SIZE", settings.getBatchMaxSize()));
+        settings.setBatchMaxInFlight(envInt("BATCH_MAX_IN_FLIGHT", settings.getBatchMaxInFlight()));
+        try (FraudDetectionClient client = new FraudDetectionClient(settings)) {
+            run("client", client::evaluate, concurrency, warmupSeconds, false);
+            run("client", client::evaluate, concurrency, seconds, true);
+        }
+    }
+
+    private static void run(
+        String mode,
+        Function<TransactionRequest, RiskAssessment> call,
+        int concurrency,
+        int seconds,
+        boolean report
+    ) throws InterruptedException {
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        LongAdder errors = new LongAdder();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> callers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            callers.add(Thread.ofPlatform().name("benchmark-caller-" + i).start(() -> {
+                while (System.nanoTime() < end) {
+                    TransactionRequest request = request(mode + "-" + SEQUENCE.getAndIncrement());
+                    long start = System.nanoTime();
+                    try {
+                        call.apply(request);
+                    } catch (RuntimeException ex) {
+                        errors.increment();
+                    }
+                    recorder.recordValue(Math.min(HIGHEST_TRACKABLE_NANOS, System.nanoTime() - start));
+                }
+            }));
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        if (!report) {
+            return;
+        }
+        Histogram histogram = recorder.getIntervalHistogram();
+        System.out.printf("mode=%s requests=%d errors=%d rps=%.1f p50_ms=%.3f p99_ms=%.3f p99.9_ms=%.3f max_ms=%.3f%n",
+            mode,
+            histogram.getTotalCount(),
+            errors.sum(),
+            histogram.getTotalCount() / (double) seconds,
+            millis(histogram.getValueAtPercentile(50)),
+            millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue()));
+    }
+
+    private static TransactionRequest request(String transactionId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return TransactionRequest.newBuilder()
+            .setTransactionId(transactionId)
+            .setAccountId("acct-" + random.nextInt(10_000))
+            .setAmount(random.nextInt(12_000) + random.nextDouble())
+            .setMerchant("merchant-" + random.nextInt(100))
+            .setCurrency("USD")
+            .build();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String envString(String key, String defaultValue) {
+        String value = System.getenv(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static int envInt(String key, int defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package org.fintech.client;
+
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.RiskAssessmentBatch;
+import org.fintech.proto.v1.TransactionBatch;
+import org.fintech.proto.v1.TransactionRequest;
+
+// Nagle-style batching with no timer: a call is sent at once while fewer than `maxInFlight` RPCs
+// are outstanding, and otherwise waits for one to finish. Whatever piled up meanwhile goes out as
+// one EvaluateTransactionBatch, so a quiet client pays no added latency and a busy one sends fewer,
+// larger requests. A lone call still goes out unary so it keeps hedging.
+//
+// Each call's deadline starts at submit, so time spent queued counts against it: a batch is sent
+// with the earliest deadline among its calls, and calls that expire while queued fail with
+// DEADLINE_EXCEEDED without being sent; a slot frees no later than the deadline of the older call
+// holding it, so an expired call never waits long to be failed. At most `maxQueued` calls wait;
+// beyond that a call fails at once with RESOURCE_EXHAUSTED rather than piling up behind a slow
+// server.
+//
+// The server evaluates a batch on the replica that receives it, without cluster routing, so
+// batching is opt-in; see FraudDetectionClientSettings.batchingEnabled.
+final class AutoBatcher {
+
+    private final ChannelPool pool;
+    private final long deadlineMillis;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final Deadline.Ticker ticker;
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Cleared for good if the server does not implement the batch RPC.
+    private volatile boolean batchAvailable = true;
+    private volatile boolean closed;
+
+    AutoBatcher(ChannelPool pool, long deadlineMillis, int maxBatchSize, int maxInFlight, int maxQueued) {
+        this(pool, deadlineMillis, maxBatchSize, maxInFlight, maxQueued, Deadline.getSystemTicker());
+    }
+
+    AutoBatcher(
+        ChannelPool pool,
+        long deadlineMillis,
+        int maxBatchSize,
+        int maxInFlight,
+        int maxQueued,
+        Deadline.Ticker ticker
+    ) {
+        this.pool = pool;
+        this.deadlineMillis = deadlineMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxQueued = Math.max(1, maxQueued);
+        this.ticker = ticker;
+    }
+
+    CompletableFuture<RiskAssessment> submit(TransactionRequest request) {
+        Pending pending = new Pending(request, Deadline.after(deadlineMillis, TimeUnit.MILLISECONDS, ticker));
+        if (closed) {
+            pending.future.completeExceptionally(closedError());
+            return pending.future;
+        }
+        if (!batchAvailable) {
+            sendUnary(pending, () -> { });
+            return pending.future;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            pending.future.completeExceptionally(Status.RESOURCE_EXHAUSTED
+                .withDescription("More than " + maxQueued + " calls waiting for a batch slot")
+                .asRuntimeException());
+            return pending.future;
+        }
+        queue.add(pending);
+        // A submit racing close() may land after the drain; fail it here instead of leaving it queued.
+        if (closed) {
+            failQueued();
+            return pending.future;
+        }
+        sendAvailable();
+        return pending.future;
+    }
+
+    // Fails every call still waiting for a slot; calls already sent end with the channels.
+    void close() {
+        closed = true;
+        failQueued();
+    }
+
+    boolean isBatchAvailable() {
+        return batchAvailable;
+    }
+
+    // Called after every submit and every completion, so a queued call is always picked up either by
+    // its own submit or by the completion that frees a slot.
+    private void sendAvailable() {
+        while (!closed && !queue.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            List<Pending> batch = new ArrayList<>();
+            while (batch.size() < maxBatchSize) {
+                Pending pending = queue.poll();
+                if (pending == null) {
+                    break;
+                }
+                queued.decrementAndGet();
+                if (pending.deadline.isExpired()) {
+                    pending.future.completeExceptionally(Status.DEADLINE_EXCEEDED
+                        .withDescription("Deadline expired while waiting for a batch slot")
+                        .asRuntimeException());
+                    continue;
+                }
+                batch.add(pending);
+            }
+            if (batch.isEmpty()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            send(batch);
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        if (batch.size() == 1) {
+            sendUnary(batch.get(0), this::release);
+            return;
+        }
+        TransactionBatch.Builder request = TransactionBatch.newBuilder();
+        Deadline earliest = batch.get(0).deadline;
+        for (Pending pending : batch) {
+            request.addTransactions(pending.request);
+            earliest = earliest.minimum(pending.deadline);
+        }
+        pool.next()
+            .withDeadline(earliest)
+            .evaluateTransactionBatch(request.build(), new StreamObserver<>() {
+                @Override
+                public void onNext(RiskAssessmentBatch response) {
+                    if (response.getAssessmentsCount() != batch.size()) {
+                        failAll(batch, Status.INTERNAL
+                            .withDescription("Expected " + batch.size() + " assessments, got "
+                                + response.getAssessmentsCount())
+                            .asRuntimeException());
+                        return;
+                    }
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).future.complete(response.getAssessments(i));
+                    }
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    if (Status.fromThrowable(error).getCode() == Status.Code.UNIMPLEMENTED) {
+                        batchAvailable = false;
+                        for (Pending pending : batch) {
+                            sendUnary(pending, () -> { });
+                        }
+                    } else {
+                        failAll(batch, error);
+                    }
+                    release();
+                }
+
+                @Override
+                public void onCompleted() {
+                    release();
+                }
+            });
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        sendAvailable();
+    }
+
+    private void sendUnary(Pending pending, Runnable onDone) {
+        CompletableFuture<RiskAssessment> future = pending.future;
+        pool.next()
+            .withDeadline(pending.deadline)
+            .evaluateTransaction(pending.request, new StreamObserver<>() {
+                @Override
+                public void onNext(RiskAssessment response) {
+                    future.complete(response);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    future.completeExceptionally(error);
+                    onDone.run();
+                }
+
+                @Override
+                public void onCompleted() {
+                    onDone.run();
+                }
+            });
+    }
+
+    private void failQueued() {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            pending.future.completeExceptionally(closedError());
+        }
+    }
+
+    private static RuntimeException closedError() {
+        return Status.UNAVAILABLE.withDescription("Client closed").asRuntimeException();
+    }
+
+    private static void failAll(List<Pending> batch, Throwable error) {
+        for (Pending pending : batch) {
+            pending.future.completeExceptionally(error);
+        }
+    }
+
+    private static final class Pending {
+
+        private final TransactionRequest request;
+        private final Deadline deadline;
+        private final CompletableFuture<RiskAssessment> future = new CompletableFuture<>();
+
+        private Pending(TransactionRequest request, Deadline deadline) {
+            this.request = request;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.fintech.client;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+
+// A fixed set of channels used round-robin. One HTTP/2 connection caps concurrent streams and
+// funnels every call through one event loop; several channels, each balancing over all pods,
+// spread both the connections and the client-side work.
+final class ChannelPool implements AutoCloseable {
+
+    private static final String SERVICE = "org.fintech.fraud.v1.FraudDetectionService";
+
+    private final List<ManagedChannel> channels;
+    private final List<FraudDetectionServiceGrpc.FraudDetectionServiceStub> stubs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ChannelPool(List<ManagedChannel> channels) {
+        this.channels = List.copyOf(channels);
+        this.stubs = this.channels.stream().map(FraudDetectionServiceGrpc::newStub).toList();
+    }
+
+    static ChannelPool create(FraudDetectionClientSettings settings) {
+        List<ManagedChannel> channels = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, settings.getChannels()); i++) {
+            ManagedChannelBuilder<?> builder = ManagedChannelBuilder.forTarget(settings.getTarget())
+                .defaultLoadBalancingPolicy(settings.getLoadBalancingPolicy())
+                .keepAliveTime(30, TimeUnit.SECONDS);
+            if (settings.isPlaintext()) {
+                builder.usePlaintext();
+            }
+            if (settings.isHedgingEnabled()) {
+                builder.enableRetry().defaultServiceConfig(hedgingConfig(settings));
+            }
+            channels.add(builder.build());
+        }
+        return new ChannelPool(channels);
+    }
+
+    FraudDetectionServiceGrpc.FraudDetectionServiceStub next() {
+        return stubs.get(Math.floorMod(next.getAndIncrement(), stubs.size()));
+    }
+
+    // Only EvaluateTransaction is hedged; hedging a batch would double a large request. The server's
+    // retry cache is per pod, and round_robin usually sends a hedge to a different pod than the
+    // original attempt, which then evaluates the transaction a second time and updates the account
+    // state twice. Only with cluster routing on the server does every attempt end up on the owning
+    // pod, where the cache joins them, so hedging is off by default.
+    static Map<String, ?> hedgingConfig(FraudDetectionClientSettings settings) {
+        Map<String, Object> hedgingPolicy = Map.of(
+            "maxAttempts", (double) Math.max(2, settings.getHedgingMaxAttempts()),
+            "hedgingDelay", (settings.getHedgingDelayMillis() / 1_000.0) + "s",
+            "nonFatalStatusCodes", List.of("UNAVAILABLE", "RESOURCE_EXHAUSTED")
+        );
+        Map<String, Object> methodConfig = Map.of(
+            "name", List.of(Map.of("service", SERVICE, "method", "EvaluateTransaction")),
+            "hedgingPolicy", hedgingPolicy
+        );
+        return Map.of("methodConfig", List.of(methodConfig));
+    }
+
+    @Override
+    public void close() {
+        for (ManagedChannel channel : channels) {
+            channel.shutdown();
+        }
+        for (ManagedChannel channel : channels) {
+            try {
+                if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                    channel.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                channel.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.fintech.client;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+
+// Thread-safe; share one instance per process. Calls fail with the server's StatusRuntimeException,
+// including DEADLINE_EXCEEDED after `deadlineMillis`.
+public class FraudDetectionClient implements AutoCloseable {
+
+    private final ChannelPool pool;
+    private final AutoBatcher batcher;
+
+    public FraudDetectionClient(FraudDetectionClientSettings settings) {
+        this(settings, ChannelPool.create(settings));
+    }
+
+    FraudDetectionClient(FraudDetectionClientSettings settings, ChannelPool pool) {
+        this.pool = pool;
+        // With batching off every call is sent unary at once; the batcher's limit only exists to
+        // give concurrent calls a chance to pile up.
+        int maxInFlight = settings.isBatchingEnabled() ? settings.getBatchMaxInFlight() : Integer.MAX_VALUE;
+        int maxBatchSize = settings.isBatchingEnabled() ? settings.getBatchMaxSize() : 1;
+        this.batcher = new AutoBatcher(
+            pool,
+            settings.getDeadlineMillis(),
+            maxBatchSize,
+            maxInFlight,
+            settings.getBatchMaxQueued()
+        );
+    }
+
+    public CompletableFuture<RiskAssessment> evaluateAsync(TransactionRequest request) {
+        return batcher.submit(request);
+    }
+
+    public RiskAssessment evaluate(TransactionRequest request) {
+        try {
+            return evaluateAsync(request).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof StatusRuntimeException cause) {
+                throw cause;
+            }
+            throw Status.fromThrowable(ex.getCause()).asRuntimeException();
+        }
+    }
+
+    @Override
+    public void close() {
+        batcher.close();
+        pool.close();
+    }
+}
@@ -0,0 +1,116 @@
+package org.fintech.client;
+
+public class FraudDetectionClientSettings {
+
+    // A headless service name lets round_robin spread each channel's calls over every ready pod.
+    private String target = "dns:///fintech-fraud-detection-grpc:9090";
+    private boolean plaintext = true;
+    private int channels = 4;
+    private String loadBalancingPolicy = "round_robin";
+    private long deadlineMillis = 200;
+    // Needs cluster routing on the server; see ChannelPool.hedgingConfig.
+    private boolean hedgingEnabled = false;
+    private int hedgingMaxAttempts = 2;
+    private long hedgingDelayMillis = 20;
+    // Batches are evaluated on the receiving pod without cluster routing; see AutoBatcher.
+    private boolean batchingEnabled = false;
+    private int batchMaxSize = 64;
+    private int batchMaxInFlight = 4;
+    private int batchMaxQueued = 1024;
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public boolean isPlaintext() {
+        return plaintext;
+    }
+
+    public void setPlaintext(boolean plaintext) {
+        this.plaintext = plaintext;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public void setChannels(int channels) {
+        this.channels = channels;
+    }
+
+    public String getLoadBalancingPolicy() {
+        return loadBalancingPolicy;
+    }
+
+    public void setLoadBalancingPolicy(String loadBalancingPolicy) {
+        this.loadBalancingPolicy = loadBalancingPolicy;
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    public void setDeadlineMillis(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+        this.hedgingEnabled = hedgingEnabled;
+    }
+
+    public int getHedgingMaxAttempts() {
+        return hedgingMaxAttempts;
+    }
+
+    public void setHedgingMaxAttempts(int hedgingMaxAttempts) {
+        this.hedgingMaxAttempts = hedgingMaxAttempts;
+    }
+
+    public long getHedgingDelayMillis() {
+        return hedgingDelayMillis;
+    }
+
+    public void setHedgingDelayMillis(long hedgingDelayMillis) {
+        this.hedgingDelayMillis = hedgingDelayMillis;
+    }
+
+    public boolean isBatchingEnabled() {
+        return batchingEnabled;
+    }
+
+    public void setBatchingEnabled(boolean batchingEnabled) {
+        this.batchingEnabled = batchingEnabled;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public int getBatchMaxInFlight() {
+        return batchMaxInFlight;
+    }
+
+    public void setBatchMaxInFlight(int batchMaxInFlight) {
+        this.batchMaxInFlight = batchMaxInFlight;
+    }
+
+    public int getBatchMaxQueued() {
+        return batchMaxQueued;
+    }
+
+    public void setBatchMaxQueued(int batchMaxQueued) {
+        this.batchMaxQueued = batchMaxQueued;
+    }
+}
@@ -0,0 +1,250 @@
+package org.fintech.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.Deadline;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.RiskAssessmentBatch;
+import org.fintech.proto.v1.TransactionBatch;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FraudDetectionClientTest {
+
+    private final AtomicInteger unaryCalls = new AtomicInteger();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Server server;
+    private ChannelPool pool;
+    private FraudDetectionClient client;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        client.close();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void quietClientSendsUnaryCalls() throws Exception {
+        start(new BatchingService(), settings(4, false));
+
+        RiskAssessment assessment = client.evaluate(request("tx-1"));
+
+        assertThat(assessment.getTransactionId()).isEqualTo("tx-1");
+        assertThat(unaryCalls).hasValue(1);
+        assertThat(batchSizes).isEmpty();
+    }
+
+    @Test
+    void callsQueuedBehindBusySlotsAreSentAsOneBatch() throws Exception {
+        start(new BatchingService(), settings(1, false));
+
+        CompletableFuture<RiskAssessment> blocked = client.evaluateAsync(request("block"));
+        List<CompletableFuture<RiskAssessment>> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            queued.add(client.evaluateAsync(request("tx-" + i)));
+        }
+        release.countDown();
+
+        assertThat(blocked.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("block");
+        for (int i = 0; i < 5; i++) {
+            assertThat(queued.get(i).get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("tx-" + i);
+        }
+        assertThat(unaryCalls).hasValue(1);
+        assertThat(batchSizes).containsExactly(5);
+    }
+
+    @Test
+    void fallsBackToUnaryWhenTheServerHasNoBatchRpc() throws Exception {
+        start(new UnaryOnlyService(), settings(1, false));
+
+        CompletableFuture<RiskAssessment> blocked = client.evaluateAsync(request("block"));
+        List<CompletableFuture<RiskAssessment>> queued = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(client.evaluateAsync(request("tx-" + i)));
+        }
+        release.countDown();
+
+        blocked.get(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            assertThat(queued.get(i).get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("tx-" + i);
+        }
+        assertThat(client.evaluate(request("tx-after")).getTransactionId()).isEqualTo("tx-after");
+        assertThat(unaryCalls).hasValue(5);
+    }
+
+    @Test
+    void callsThatExpireWhileQueuedFailWithoutBeingSent() throws Exception {
+        FakeTicker ticker = new FakeTicker();
+        start(new BatchingService(), settings(1, false));
+        AutoBatcher batcher = new AutoBatcher(pool, 5_000, 64, 1, 16, ticker);
+
+        CompletableFuture<RiskAssessment> blocked = batcher.submit(request("block"));
+        CompletableFuture<RiskAssessment> queued = batcher.submit(request("tx-1"));
+        ticker.advance(TimeUnit.SECONDS.toNanos(6));
+        release.countDown();
+
+        assertThat(blocked.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("block");
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(StatusRuntimeException.class)
+            .satisfies(ex -> assertThat(Status.fromThrowable(ex.getCause()).getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED));
+        assertThat(unaryCalls).hasValue(1);
+        assertThat(batchSizes).isEmpty();
+    }
+
+    @Test
+    void callsBeyondTheQueueBoundFailFast() throws Exception {
+        FraudDetectionClientSettings settings = settings(1, false);
+        settings.setBatchMaxQueued(2);
+        start(new BatchingService(), settings);
+
+        CompletableFuture<RiskAssessment> blocked = client.evaluateAsync(request("block"));
+        CompletableFuture<RiskAssessment> first = client.evaluateAsync(request("tx-1"));
+        CompletableFuture<RiskAssessment> second = client.evaluateAsync(request("tx-2"));
+        CompletableFuture<RiskAssessment> rejected = client.evaluateAsync(request("tx-3"));
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join)
+            .satisfies(ex -> assertThat(Status.fromThrowable(ex.getCause()).getCode())
+                .isEqualTo(Status.Code.RESOURCE_EXHAUSTED));
+        release.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("block");
+        assertThat(first.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("tx-1");
+        assertThat(second.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("tx-2");
+        assertThat(batchSizes).containsExactly(2);
+    }
+
+    @Test
+    void closeFailsCallsStillWaitingForASlot() throws Exception {
+        start(new BatchingService(), settings(1, false));
+        AutoBatcher batcher = new AutoBatcher(pool, 5_000, 64, 1, 16);
+
+        CompletableFuture<RiskAssessment> blocked = batcher.submit(request("block"));
+        CompletableFuture<RiskAssessment> queued = batcher.submit(request("tx-1"));
+        batcher.close();
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+            .satisfies(ex -> assertThat(Status.fromThrowable(ex.getCause()).getCode())
+                .isEqualTo(Status.Code.UNAVAILABLE));
+        assertThat(batcher.submit(request("tx-2"))).isCompletedExceptionally();
+        release.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("block");
+        assertThat(batchSizes).isEmpty();
+    }
+
+    @Test
+    void slowAttemptIsHedged() throws Exception {
+        start(new UnaryOnlyService(), settings(4, true));
+
+        long start = System.nanoTime();
+        RiskAssessment assessment = client.evaluate(request("block"));
+
+        assertThat(assessment.getTransactionId()).isEqualTo("block");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1_000);
+        assertThat(unaryCalls).hasValue(2);
+    }
+
+    private void start(FraudDetectionServiceGrpc.FraudDetectionServiceImplBase service, FraudDetectionClientSettings settings)
+        throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).addService(service).build().start();
+        InProcessChannelBuilder channel = InProcessChannelBuilder.forName(name);
+        if (settings.isHedgingEnabled()) {
+            channel.enableRetry().defaultServiceConfig(ChannelPool.hedgingConfig(settings));
+        }
+        ManagedChannel built = channel.build();
+        pool = new ChannelPool(List.of(built));
+        client = new FraudDetectionClient(settings, pool);
+    }
+
+    private static FraudDetectionClientSettings settings(int maxInFlight, boolean hedging) {
+        FraudDetectionClientSettings settings = new FraudDetectionClientSettings();
+        settings.setBatchingEnabled(true);
+        settings.setBatchMaxInFlight(maxInFlight);
+        settings.setHedgingEnabled(hedging);
+        settings.setHedgingDelayMillis(20);
+        settings.setDeadlineMillis(5_000);
+        return settings;
+    }
+
+    private static TransactionRequest request(String transactionId) {
+        return TransactionRequest.newBuilder().setTransactionId(transactionId).setAccountId("acct-1").build();
+    }
+
+    private static RiskAssessment approve(TransactionRequest request) {
+        return RiskAssessment.newBuilder()
+            .setTransactionId(request.getTransactionId())
+            .setDecision(Decision.APPROVE)
+            .build();
+    }
+
+    private static final class FakeTicker extends Deadline.Ticker {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long nanoTime() {
+            return nanos.get();
+        }
+
+        void advance(long delta) {
+            nanos.addAndGet(delta);
+        }
+    }
+
+    // The first "block" call waits for the test to release it; a hedge of it answers at once.
+    private class UnaryOnlyService extends FraudDetectionServiceGrpc.FraudDetectionServiceImplBase {
+
+        private final AtomicInteger blockCalls = new AtomicInteger();
+
+        @Override
+        public void evaluateTransaction(TransactionRequest request, StreamObserver<RiskAssessment> responseObserver) {
+            unaryCalls.incrementAndGet();
+            if (request.getTransactionId().equals("block") && blockCalls.getAndIncrement() == 0) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            responseObserver.onNext(approve(request));
+            responseObserver.onCompleted();
+        }
+    }
+
+    private class BatchingService extends UnaryOnlyService {
+
+        @Override
+        public void evaluateTransactionBatch(TransactionBatch batch, StreamObserver<RiskAssessmentBatch> responseObserver) {
+            batchSizes.add(batch.getTransactionsCount());
+            RiskAssessmentBatch.Builder response = RiskAssessmentBatch.newBuilder();
+            for (TransactionRequest request : batch.getTransactionsList()) {
+                response.addAssessments(approve(request));
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+    }
+}
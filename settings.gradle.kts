@@ -1 +1,3 @@
-rootProject.name = "fintech-fraud-detection"
\ No newline at end of file
+rootProject.name = "fintech-fraud-detection"
+
+include("client")
@@ -0,0 +1,220 @@
+package org.fintech.tools;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+
+// Open-loop load: request i is due at start + i / RATE regardless of how earlier calls went, and its
+// latency is measured from that due time rather than from when it was actually sent. A stalled
+// server therefore shows up as latency on every request it delayed instead of silently lowering
+// the offered rate (coordinated omission).
+public final class GrpcLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private GrpcLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String target = envString("TARGET", "localhost:9090");
+        int rate = envInt("RATE", 1_000);
+        int channelCount = envInt("CHANNELS", 8);
+        int seconds = envInt("DURATION_SECONDS", 30);
+        int warmupSeconds = envInt("WARMUP_SECONDS", 5);
+        int maxInFlight = envInt("MAX_IN_FLIGHT", 10_000);
+        int deadlineMillis = envInt("DEADLINE_MILLIS", 1_000);
+        int accounts = envInt("ACCOUNTS", 10_000);
+        int maxAmount = envInt("MAX_AMOUNT", 12_000);
+
+        List<ManagedChannel> channels = new ArrayList<>(channelCount);
+        List<FraudDetectionServiceGrpc.FraudDetectionServiceStub> stubs = new ArrayList<>(channelCount);
+        for (int i = 0; i < channelCount; i++) {
+            ManagedChannel channel = ManagedChannelBuilder.forTarget(target).usePlaintext().build();
+            channels.add(channel);
+            stubs.add(FraudDetectionServiceGrpc.newStub(channel));
+        }
+
+        Run run = new Run(stubs, rate, maxInFlight, deadlineMillis, accounts, maxAmount);
+        try {
+            System.out.printf("target=%s rate=%d channels=%d duration_s=%d warmup_s=%d%n",
+                target, rate, channelCount, seconds, warmupSeconds);
+            run.drive(warmupSeconds, false);
+            Histogram total = run.drive(seconds, true);
+
+            System.out.printf("requests=%d ok=%d errors=%d achieved_rps=%.1f%n",
+                total.getTotalCount(), run.ok.sum(), run.errorCount(), run.ok.sum() / (double) seconds);
+            System.out.printf("latency_ms p50=%.3f p90=%.3f p99=%.3f p99.9=%.3f max=%.3f%n",
+                millis(total.getValueAtPercentile(50)),
+                millis(total.getValueAtPercentile(90)),
+                millis(total.getValueAtPercentile(99)),
+                millis(total.getValueAtPercentile(99.9)),
+                millis(total.getMaxValue()));
+            run.errors.forEach((code, count) -> System.out.printf("error status=%s count=%d%n", code, count.sum()));
+        } finally {
+            for (ManagedChannel channel : channels) {
+                channel.shutdownNow();
+            }
+        }
+    }
+
+    private static final class Run {
+
+        private final List<FraudDetectionServiceGrpc.FraudDetectionServiceStub> stubs;
+        private final long intervalNanos;
+        private final Semaphore inFlight;
+        private final int maxInFlight;
+        private final long deadlineMillis;
+        private final int accounts;
+        private final int maxAmount;
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final Map<Status.Code, LongAdder> errors = new ConcurrentHashMap<>();
+        private long sequence;
+
+        Run(
+            List<FraudDetectionServiceGrpc.FraudDetectionServiceStub> stubs,
+            int rate,
+            int maxInFlight,
+            long deadlineMillis,
+            int accounts,
+            int maxAmount
+        ) {
+            this.stubs = stubs;
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+            this.maxInFlight = Math.max(1, maxInFlight);
+            this.inFlight = new Semaphore(this.maxInFlight);
+            this.deadlineMillis = deadlineMillis;
+            this.accounts = Math.max(1, accounts);
+            this.maxAmount = Math.max(1, maxAmount);
+        }
+
+        // Issues requests on the fixed schedule for `seconds` and prints one line per second. The
+        // MAX_IN_FLIGHT cap only bounds client memory; time spent waiting on it still counts as
+        // latency because it is charged from the due time.
+        Histogram drive(int seconds, boolean report) throws InterruptedException {
+            recorder.reset();
+            ok.reset();
+            errors.clear();
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            Histogram interval = null;
+            long start = System.nanoTime();
+            long end = start + TimeUnit.SECONDS.toNanos(seconds);
+            long nextReport = start + TimeUnit.SECONDS.toNanos(1);
+            long due = start;
+            int second = 0;
+            while (due < end) {
+                long now = System.nanoTime();
+                if (now >= nextReport) {
+                    interval = recorder.getIntervalHistogram(interval);
+                    total.add(interval);
+                    if (report) {
+                        printInterval(++second, interval);
+                    }
+                    nextReport += TimeUnit.SECONDS.toNanos(1);
+                }
+                if (now < due) {
+                    LockSupport.parkNanos(Math.min(due - now, nextReport - now));
+                    continue;
+                }
+                inFlight.acquire();
+                send(due);
+                due += intervalNanos;
+            }
+            awaitQuiet(deadlineMillis);
+            total.add(recorder.getIntervalHistogram(interval));
+            return total;
+        }
+
+        private void awaitQuiet(long deadlineMillis) throws InterruptedException {
+            if (inFlight.tryAcquire(maxInFlight, deadlineMillis + 1_000, TimeUnit.MILLISECONDS)) {
+                inFlight.release(maxInFlight);
+            }
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        private void send(long dueNanos) {
+            long id = sequence++;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            TransactionRequest request = TransactionRequest.newBuilder()
+                .setTransactionId("load-" + id)
+                .setAccountId("acct-" + random.nextInt(accounts))
+                .setAmount(random.nextInt(maxAmount) + random.nextDouble())
+                .setMerchant("merchant-" + random.nextInt(100))
+                .setCurrency("USD")
+                .build();
+            stubs.get((int) (id % stubs.size()))
+                .withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS)
+                .evaluateTransaction(request, new StreamObserver<>() {
+                    @Override
+                    public void onNext(RiskAssessment value) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        errors.computeIfAbsent(Status.fromThrowable(t).getCode(), code -> new LongAdder()).increment();
+                        complete(dueNanos);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        ok.increment();
+                        complete(dueNanos);
+                    }
+                });
+        }
+
+        private void complete(long dueNanos) {
+            recorder.recordValue(Math.min(HIGHEST_TRACKABLE_NANOS, System.nanoTime() - dueNanos));
+            inFlight.release();
+        }
+
+        private void printInterval(int second, Histogram interval) {
+            System.out.printf("t=%ds completed=%d p50_ms=%.3f p99_ms=%.3f max_ms=%.3f in_flight=%d%n",
+                second,
+                interval.getTotalCount(),
+                millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)),
+                millis(interval.getMaxValue()),
+                maxInFlight - inFlight.availablePermits());
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String envString(String key, String defaultValue) {
+        String value = System.getenv(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static int envInt(String key, int defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+}
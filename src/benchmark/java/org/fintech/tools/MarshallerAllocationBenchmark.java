@@ -0,0 +1,196 @@
+package org.fintech.tools;
+
+import io.grpc.Detachable;
+import io.grpc.Drainable;
+import io.grpc.HasByteBuffer;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import org.fintech.grpc.PooledProtoMarshaller;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.Reason;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+
+public final class MarshallerAllocationBenchmark {
+
+    private MarshallerAllocationBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int iterations = envInt("ITERATIONS", 2_000_000);
+        int warmup = envInt("WARMUP", 500_000);
+
+        TransactionRequest request = TransactionRequest.newBuilder()
+            .setTransactionId("tx-000123456")
+            .setAccountId("acct-000987654")
+            .setAmount(1234.56)
+            .setMerchant("ACME Online Store")
+            .setCurrency("USD")
+            .setTimestamp("2026-01-06T16:06:34+08:00")
+            .build();
+        RiskAssessment response = RiskAssessment.newBuilder()
+            .setTransactionId("tx-000123456")
+            .setRiskScore(0.1)
+            .setDecision(Decision.APPROVE)
+            .setReason(Reason.LOW_RISK_AMOUNT)
+            .build();
+        ByteBuffer wire = ByteBuffer.allocateDirect(request.getSerializedSize());
+        wire.put(request.toByteArray()).flip();
+
+        MethodDescriptor.Marshaller<TransactionRequest> stockRequests =
+            ProtoUtils.marshaller(TransactionRequest.getDefaultInstance());
+        MethodDescriptor.Marshaller<RiskAssessment> stockResponses =
+            ProtoUtils.marshaller(RiskAssessment.getDefaultInstance());
+        MethodDescriptor.Marshaller<TransactionRequest> pooledRequests =
+            new PooledProtoMarshaller<>(TransactionRequest.getDefaultInstance());
+        MethodDescriptor.Marshaller<RiskAssessment> pooledResponses =
+            new PooledProtoMarshaller<>(RiskAssessment.getDefaultInstance());
+
+        // Stands in for the pooled direct buffer the transport frames responses into.
+        SinkOutputStream sink = new SinkOutputStream(4096);
+
+        report("parse", "stock", iterations, warmup, () -> stockRequests.parse(new TransportStream(wire)));
+        report("parse", "pooled", iterations, warmup, () -> pooledRequests.parse(new TransportStream(wire)));
+        report("serialize", "stock", iterations, warmup, () -> drain(stockResponses.stream(response), sink));
+        report("serialize", "pooled", iterations, warmup, () -> drain(pooledResponses.stream(response), sink));
+    }
+
+    private static Object drain(InputStream stream, SinkOutputStream sink) throws IOException {
+        sink.reset();
+        ((Drainable) stream).drainTo(sink);
+        return stream;
+    }
+
+    private static void report(String phase, String marshaller, int iterations, int warmup, Operation operation)
+        throws IOException {
+        long checksum = 0;
+        for (int i = 0; i < warmup; i++) {
+            checksum += operation.run().hashCode();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += operation.run().hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("phase=%s marshaller=%s bytes_per_call=%.1f ns_per_call=%.1f checksum=%d%n",
+            phase, marshaller, (double) allocated / iterations, (double) elapsed / iterations, checksum);
+    }
+
+    private static int envInt(String key, int defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run() throws IOException;
+    }
+
+    // Mimics the stream gRPC hands a server marshaller: a KnownLength view over a transport buffer
+    // that can be detached and exposed as ByteBuffers without copying.
+    private static final class TransportStream extends InputStream implements KnownLength, HasByteBuffer, Detachable {
+        private ByteBuffer buffer;
+        private int mark;
+
+        TransportStream(ByteBuffer source) {
+            this.buffer = source.duplicate();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int step = (int) Math.min(count, buffer.remaining());
+            buffer.position(buffer.position() + step);
+            return step;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int limit) {
+            mark = buffer.position();
+        }
+
+        @Override
+        public void reset() {
+            buffer.position(mark);
+        }
+
+        @Override
+        public boolean byteBufferSupported() {
+            return true;
+        }
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer.hasRemaining() ? buffer.slice() : null;
+        }
+
+        @Override
+        public InputStream detach() {
+            TransportStream detached = new TransportStream(buffer);
+            buffer = buffer.slice(0, 0);
+            return detached;
+        }
+    }
+
+    private static final class SinkOutputStream extends OutputStream {
+        private final ByteBuffer target;
+
+        SinkOutputStream(int capacity) {
+            this.target = ByteBuffer.allocateDirect(capacity);
+        }
+
+        void reset() {
+            target.clear();
+        }
+
+        @Override
+        public void write(int value) {
+            target.put((byte) value);
+        }
+
+        @Override
+        public void write(byte[] source, int offset, int length) {
+            target.put(source, offset, length);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.fintech.tools;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.fintech.FraudDetectionApplication;
+import org.fintech.proto.v1.TransactionRequest;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+// Seeds the LocalStack transaction queue, then starts the application once per processing executor
+// type and times how long the consumer takes to process the backlog. Each message does a blocking
+// outbox put and an SQS delete, so the platform pool is bounded by `sqs.processing-threads` while
+// the virtual executor is bounded by `sqs.max-in-flight`. Requires the localstack compose stack.
+public final class SqsProcessingBenchmark {
+
+    private static final int SEND_BATCH_SIZE = 10;
+
+    private SqsProcessingBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String endpoint = envString("ENDPOINT", "http://localhost:4566");
+        String region = envString("REGION", "us-east-1");
+        String queueUrl = envString("QUEUE_URL", endpoint + "/queue/" + region + "/000000000000/fintech-transactions");
+        int messages = envInt("MESSAGES", 2_000);
+        String modes = envString("MODES", "platform,virtual");
+        int processingThreads = envInt("PROCESSING_THREADS", 4);
+        int maxInFlight = envInt("MAX_IN_FLIGHT", 256);
+        int pollers = envInt("POLLERS", 4);
+        int timeoutSeconds = envInt("TIMEOUT_SECONDS", 300);
+
+        try (SqsClient sqs = SqsClient.builder()
+            .endpointOverride(URI.create(endpoint))
+            .region(Region.of(region))
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+            .build()) {
+            System.out.printf("queue=%s messages=%d processing_threads=%d max_in_flight=%d pollers=%d%n",
+                queueUrl, messages, processingThreads, maxInFlight, pollers);
+            long sequence = System.currentTimeMillis();
+            for (String mode : modes.split(",")) {
+                String type = mode.trim();
+                if (type.isEmpty()) {
+                    continue;
+                }
+                sequence = seed(sqs, queueUrl, messages, sequence);
+                run(type, messages, processingThreads, maxInFlight, pollers, timeoutSeconds);
+            }
+        }
+    }
+
+    // Fresh transaction ids per run so the outbox writes are real inserts rather than overwrites
+    // of the previous mode's rows.
+    private static long seed(SqsClient sqs, String queueUrl, int messages, long sequence) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(SEND_BATCH_SIZE);
+        for (int i = 0; i < messages; i++) {
+            TransactionRequest request = TransactionRequest.newBuilder()
+                .setTransactionId("bench-" + sequence++)
+                .setAccountId("acct-" + random.nextInt(10_000))
+                .setAmount(random.nextInt(12_000) + random.nextDouble())
+                .setMerchant("merchant-" + random.nextInt(100))
+                .setCurrency("USD")
+                .build();
+            entries.add(SendMessageBatchRequestEntry.builder()
+                .id(Integer.toString(entries.size()))
+                .messageBody(Base64.getEncoder().encodeToString(request.toByteArray()))
+                .build());
+            if (entries.size() == SEND_BATCH_SIZE || i == messages - 1) {
+                sqs.sendMessageBatch(builder -> builder.queueUrl(queueUrl).entries(entries));
+                entries.clear();
+            }
+        }
+        return sequence;
+    }
+
+    private static void run(
+        String type,
+        int messages,
+        int processingThreads,
+        int maxInFlight,
+        int pollers,
+        int timeoutSeconds
+    ) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FraudDetectionApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("localstack")
+            .properties(
+                "grpc.server.port=-1",
+                "sqs.processing-executor-type=" + type,
+                "sqs.processing-threads=" + processingThreads,
+                "sqs.max-in-flight=" + maxInFlight,
+                "sqs.poller-threads=" + pollers
+            )
+            .run()) {
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            Counter success = registry.counter("sqs.process.success");
+            Counter failure = registry.counter("sqs.process.failure");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            // The clock starts at the first processed message so context startup is not measured.
+            while (success.count() + failure.count() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            long start = System.nanoTime();
+            while (success.count() + failure.count() < messages && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            long processed = (long) (success.count() + failure.count());
+            System.out.printf("executor=%s processed=%d failed=%d seconds=%.2f throughput_msgs_per_s=%.1f%s%n",
+                type,
+                processed,
+                (long) failure.count(),
+                seconds,
+                processed / Math.max(seconds, 0.001),
+                processed < messages ? " timed_out=true" : "");
+        }
+    }
+
+    private static String envString(String key, String defaultValue) {
+        String value = System.getenv(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static int envInt(String key, int defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+}
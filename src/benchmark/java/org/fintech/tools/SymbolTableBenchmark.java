@@ -0,0 +1,98 @@
+package org.fintech.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.fintech.state.SymbolTable;
+
+public final class SymbolTableBenchmark {
+
+    private SymbolTableBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int symbolCount = envInt("SYMBOLS", 1_000_000);
+        int capacity = envInt("CAPACITY", symbolCount);
+        int threads = envInt("THREADS", Runtime.getRuntime().availableProcessors());
+        long lookupsPerThread = envInt("LOOKUPS_PER_THREAD", 5_000_000);
+
+        String[] keys = new String[symbolCount];
+        for (int i = 0; i < symbolCount; i++) {
+            keys[i] = "acct-" + i;
+        }
+
+        long heapBefore = usedHeapAfterGc();
+        SymbolTable table = new SymbolTable("benchmark", capacity);
+        long internStart = System.nanoTime();
+        for (String key : keys) {
+            table.intern(key);
+        }
+        long internNanos = System.nanoTime() - internStart;
+        long heapAfter = usedHeapAfterGc();
+
+        String[] probes = new String[symbolCount];
+        for (int i = 0; i < symbolCount; i++) {
+            // Fresh instances so lookups pay for hashCode/equals like request-parsed strings do.
+            probes[i] = new String(keys[i].toCharArray());
+        }
+
+        LongAdder checksum = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sum = 0;
+                try {
+                    start.await();
+                    for (long i = 0; i < lookupsPerThread; i++) {
+                        sum += table.intern(probes[random.nextInt(symbolCount)]);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    checksum.add(sum);
+                    done.countDown();
+                }
+            }, "symbol-bench-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        long lookupStart = System.nanoTime();
+        start.countDown();
+        done.await();
+        long lookupNanos = System.nanoTime() - lookupStart;
+
+        long totalLookups = lookupsPerThread * threads;
+        System.out.printf("symbols=%d capacity=%d size=%d evictions=%d%n",
+            symbolCount, capacity, table.size(), table.evictionCount());
+        System.out.printf("intern_ns_per_symbol=%.1f%n", (double) internNanos / symbolCount);
+        System.out.printf("table_bytes_per_symbol=%.1f%n", (double) (heapAfter - heapBefore) / table.size());
+        System.out.printf("lookup_threads=%d lookups=%d lookups_per_sec=%.0f checksum=%d%n",
+            threads, totalLookups, totalLookups / (lookupNanos / 1_000_000_000.0), checksum.sum());
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static int envInt(String key, int defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.fintech.tools;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.fintech.config.EpollServerTransport;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.Reason;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+
+// Drives a trivial EvaluateTransaction service over loopback with many client connections, once on
+// the default NIO transport and once on epoll with SO_REUSEPORT listeners, so only the transport
+// differs between the two runs.
+public final class TransportThroughputBenchmark {
+
+    private TransportThroughputBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = envInt("CONNECTIONS", 256);
+        int concurrency = envInt("CONCURRENCY_PER_CONNECTION", 4);
+        int listeners = envInt("LISTENERS", Runtime.getRuntime().availableProcessors());
+        int workerThreads = envInt("WORKER_THREADS", 0);
+        int seconds = envInt("DURATION_SECONDS", 15);
+        int warmupSeconds = envInt("WARMUP_SECONDS", 5);
+
+        run("nio", null, connections, concurrency, seconds, warmupSeconds);
+        EpollServerTransport epoll = new EpollServerTransport(listeners, 0, workerThreads);
+        try {
+            if (epoll.isActive()) {
+                run("epoll", epoll, connections, concurrency, seconds, warmupSeconds);
+            } else {
+                System.out.println("transport=epoll skipped=native_epoll_unavailable");
+            }
+        } finally {
+            epoll.close();
+        }
+    }
+
+    private static void run(
+        String name,
+        EpollServerTransport transport,
+        int connections,
+        int concurrency,
+        int seconds,
+        int warmupSeconds
+    ) throws Exception {
+        int port = freePort();
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+        NettyServerBuilder builder = NettyServerBuilder.forAddress(address).addService(new FixedService());
+        if (transport != null) {
+            transport.configure(builder, address);
+        }
+        Server server = builder.build().start();
+        List<ManagedChannel> channels = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                channels.add(NettyChannelBuilder.forAddress(address).usePlaintext().build());
+            }
+            drive(channels, concurrency, warmupSeconds);
+            LongAdder completed = drive(channels, concurrency, seconds);
+            System.out.printf("transport=%s listeners=%d connections=%d in_flight=%d calls=%d calls_per_sec=%.0f%n",
+                name, server.getListenSockets().size(), connections, connections * concurrency,
+                completed.sum(), completed.sum() / (double) seconds);
+        } finally {
+            for (ManagedChannel channel : channels) {
+                channel.shutdownNow();
+            }
+            server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // Closed loop: every connection keeps `concurrency` calls outstanding and issues the next call
+    // from the completion callback until the deadline passes.
+    private static LongAdder drive(List<ManagedChannel> channels, int concurrency, int seconds)
+        throws InterruptedException {
+        TransactionRequest request = TransactionRequest.newBuilder()
+            .setTransactionId("tx-1")
+            .setAccountId("acct-1")
+            .setAmount(42.0)
+            .setMerchant("ACME")
+            .setCurrency("USD")
+            .build();
+        LongAdder completed = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch drained = new CountDownLatch(channels.size() * concurrency);
+        for (ManagedChannel channel : channels) {
+            FraudDetectionServiceGrpc.FraudDetectionServiceStub stub = FraudDetectionServiceGrpc.newStub(channel);
+            for (int i = 0; i < concurrency; i++) {
+                new Caller(stub, request, completed, running, drained).next();
+            }
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        drained.await(10, TimeUnit.SECONDS);
+        return completed;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static int envInt(String key, int defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    private record Caller(
+        FraudDetectionServiceGrpc.FraudDetectionServiceStub stub,
+        TransactionRequest request,
+        LongAdder completed,
+        AtomicBoolean running,
+        CountDownLatch drained
+    ) implements StreamObserver<RiskAssessment> {
+
+        void next() {
+            if (running.get()) {
+                stub.evaluateTransaction(request, this);
+            } else {
+                drained.countDown();
+            }
+        }
+
+        @Override
+        public void onNext(RiskAssessment value) {
+            completed.increment();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            next();
+        }
+
+        @Override
+        public void onCompleted() {
+            next();
+        }
+    }
+
+    private static final class FixedService extends FraudDetectionServiceGrpc.FraudDetectionServiceImplBase {
+
+        private static final RiskAssessment ASSESSMENT = RiskAssessment.newBuilder()
+            .setTransactionId("tx-1")
+            .setRiskScore(0.1)
+            .setDecision(Decision.APPROVE)
+            .setReason(Reason.LOW_RISK_AMOUNT)
+            .build();
+
+        @Override
+        public void evaluateTransaction(TransactionRequest request, StreamObserver<RiskAssessment> responseObserver) {
+            responseObserver.onNext(ASSESSMENT);
+            responseObserver.onCompleted();
+        }
+    }
+}
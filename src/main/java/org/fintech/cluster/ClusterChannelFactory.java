@@ -0,0 +1,9 @@
+package org.fintech.cluster;
+
+import io.grpc.ManagedChannel;
+
+@FunctionalInterface
+public interface ClusterChannelFactory {
+
+    ManagedChannel create(ClusterNode node);
+}
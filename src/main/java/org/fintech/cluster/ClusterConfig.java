@@ -0,0 +1,47 @@
+package org.fintech.cluster;
+
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+@ConditionalOnProperty(prefix = "cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    ClusterChannelFactory clusterChannelFactory() {
+        return node -> ManagedChannelBuilder.forAddress(node.host(), node.port())
+            .usePlaintext()
+            .build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    ClusterMembership clusterMembership(ClusterProperties properties, MeterRegistry meterRegistry) {
+        if (!StringUtils.hasText(properties.getPeerToken())) {
+            throw new IllegalStateException("cluster.peer-token must be set when cluster.enabled=true");
+        }
+        ClusterMembership membership = new ClusterMembership(properties);
+        Gauge.builder("cluster.members", membership, m -> m.ring().nodes().size()).register(meterRegistry);
+        return membership;
+    }
+
+    @Bean(destroyMethod = "close")
+    ClusterRouter clusterRouter(
+        ClusterMembership membership,
+        ClusterProperties properties,
+        ClusterChannelFactory channelFactory,
+        MeterRegistry meterRegistry
+    ) {
+        ClusterRouter router = new ClusterRouter(membership, properties, channelFactory, meterRegistry);
+        Gauge.builder("cluster.members.down", router, ClusterRouter::downCount).register(meterRegistry);
+        return router;
+    }
+}
@@ -0,0 +1,105 @@
+package org.fintech.cluster;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final ClusterProperties properties;
+    private final ClusterNode self;
+    private volatile ConsistentHashRing ring;
+    private ScheduledExecutorService refresher;
+
+    public ClusterMembership(ClusterProperties properties) {
+        this.properties = properties;
+        this.self = ClusterNode.parse(properties.getSelf());
+        this.ring = buildRing(staticMembers());
+    }
+
+    public void start() {
+        if (!StringUtils.hasText(properties.getDnsName())) {
+            log.info("event=cluster_membership mode=static self={} members={}", self.id(), ring.nodes().size());
+            return;
+        }
+        refresh();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-membership");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1000, properties.getRefreshIntervalMillis());
+        refresher.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public ClusterNode self() {
+        return self;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    // Resolves the headless Service to the current pod IPs. A failed lookup keeps the previous
+    // ring so a DNS blip does not collapse ownership onto this pod.
+    void refresh() {
+        Set<ClusterNode> members = staticMembers();
+        try {
+            for (InetAddress address : InetAddress.getAllByName(properties.getDnsName())) {
+                members.add(ClusterNode.parse(address.getHostAddress() + ":" + properties.getPort()));
+            }
+        } catch (UnknownHostException ex) {
+            log.warn("event=cluster_membership_refresh_failed dns={} error={}", properties.getDnsName(), ex.getMessage());
+            return;
+        }
+        if (!sameMembers(members, ring.nodes())) {
+            ring = buildRing(members);
+            log.info("event=cluster_membership_changed self={} members={}", self.id(), ring.nodes().size());
+        }
+    }
+
+    private Set<ClusterNode> staticMembers() {
+        // Sorted by id so every pod builds the ring from the same member order.
+        Set<ClusterNode> members = new TreeSet<>(Comparator.comparing(ClusterNode::id));
+        members.add(self);
+        for (String member : properties.getMembers()) {
+            if (StringUtils.hasText(member)) {
+                members.add(ClusterNode.parse(member));
+            }
+        }
+        return members;
+    }
+
+    private ConsistentHashRing buildRing(Set<ClusterNode> members) {
+        return new ConsistentHashRing(members, properties.getVirtualNodes());
+    }
+
+    private static boolean sameMembers(Set<ClusterNode> members, List<ClusterNode> current) {
+        if (members.size() != current.size()) {
+            return false;
+        }
+        for (ClusterNode node : current) {
+            if (!members.contains(node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
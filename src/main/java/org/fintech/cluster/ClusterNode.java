@@ -0,0 +1,20 @@
+package org.fintech.cluster;
+
+public record ClusterNode(String id, String host, int port) {
+
+    public static ClusterNode parse(String address) {
+        String trimmed = address == null ? "" : address.trim();
+        int separator = trimmed.lastIndexOf(':');
+        if (separator <= 0 || separator == trimmed.length() - 1) {
+            throw new IllegalArgumentException("Cluster member must be host:port: " + address);
+        }
+        String host = trimmed.substring(0, separator);
+        int port;
+        try {
+            port = Integer.parseInt(trimmed.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Cluster member must be host:port: " + address, ex);
+        }
+        return new ClusterNode(trimmed, host, port);
+    }
+}
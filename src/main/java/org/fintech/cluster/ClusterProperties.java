@@ -0,0 +1,109 @@
+package org.fintech.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;
+    private String self = "127.0.0.1:9090";
+    private List<String> members = new ArrayList<>();
+    private String dnsName = "";
+    private int port = 9090;
+    private int virtualNodes = 128;
+    private int replication = 2;
+    private long forwardTimeoutMillis = 250;
+    private long downCooldownMillis = 5000;
+    private long refreshIntervalMillis = 10000;
+    private String peerToken = "";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPeerToken() {
+        return peerToken;
+    }
+
+    public void setPeerToken(String peerToken) {
+        this.peerToken = peerToken;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public void setSelf(String self) {
+        this.self = self;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<String> members) {
+        this.members = members;
+    }
+
+    public String getDnsName() {
+        return dnsName;
+    }
+
+    public void setDnsName(String dnsName) {
+        this.dnsName = dnsName;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public int getReplication() {
+        return replication;
+    }
+
+    public void setReplication(int replication) {
+        this.replication = replication;
+    }
+
+    public long getForwardTimeoutMillis() {
+        return forwardTimeoutMillis;
+    }
+
+    public void setForwardTimeoutMillis(long forwardTimeoutMillis) {
+        this.forwardTimeoutMillis = forwardTimeoutMillis;
+    }
+
+    public long getDownCooldownMillis() {
+        return downCooldownMillis;
+    }
+
+    public void setDownCooldownMillis(long downCooldownMillis) {
+        this.downCooldownMillis = downCooldownMillis;
+    }
+
+    public long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+
+    public void setRefreshIntervalMillis(long refreshIntervalMillis) {
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+}
@@ -0,0 +1,157 @@
+package org.fintech.cluster;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.fintech.proto.v1.FraudDetectionPeerServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.fintech.rules.TransactionView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ClusterRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRouter.class);
+
+    private final ClusterMembership membership;
+    private final ClusterProperties properties;
+    private final ClusterChannelFactory channelFactory;
+    private final Map<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+    private final Map<String, Long> downUntilNanos = new ConcurrentHashMap<>();
+    private final Counter localCounter;
+    private final Counter forwardedCounter;
+    private final Counter fallbackCounter;
+    private final Timer forwardTimer;
+    private final ClientInterceptor peerToken;
+
+    public ClusterRouter(
+        ClusterMembership membership,
+        ClusterProperties properties,
+        ClusterChannelFactory channelFactory,
+        MeterRegistry meterRegistry
+    ) {
+        this.membership = membership;
+        this.properties = properties;
+        this.channelFactory = channelFactory;
+        this.localCounter = meterRegistry.counter("cluster.requests", "route", "local");
+        this.forwardedCounter = meterRegistry.counter("cluster.requests", "route", "forwarded");
+        this.fallbackCounter = meterRegistry.counter("cluster.requests", "route", "fallback");
+        this.forwardTimer = meterRegistry.timer("cluster.forward.latency");
+        this.peerToken = PeerTokenInterceptor.attach(properties.getPeerToken());
+    }
+
+    // Returns the member that should evaluate this request, or null when this pod should do it:
+    // either it owns the account or every preferred owner ahead of it is marked down.
+    public ClusterNode route(TransactionRequest request) {
+        ClusterNode self = membership.self();
+        List<ClusterNode> owners = membership.ring().owners(
+            TransactionView.of(request).accountIdHash(),
+            properties.getReplication()
+        );
+        for (ClusterNode owner : owners) {
+            if (owner.equals(self)) {
+                break;
+            }
+            if (!isDown(owner)) {
+                return owner;
+            }
+        }
+        localCounter.increment();
+        return null;
+    }
+
+    public ClusterNode ownerOf(String accountId) {
+        TransactionView view = TransactionView.of(TransactionRequest.newBuilder().setAccountId(accountId).build());
+        return membership.ring().primary(view.accountIdHash());
+    }
+
+    // Completes exceptionally on any peer failure so the caller can evaluate locally. Only
+    // transport-level failures mark the peer down; the cooldown keeps later requests from paying
+    // the forward timeout again while it restarts.
+    public CompletableFuture<RiskAssessment> forward(ClusterNode owner, TransactionRequest request) {
+        CompletableFuture<RiskAssessment> future = new CompletableFuture<>();
+        long start = System.nanoTime();
+        FraudDetectionPeerServiceGrpc.newStub(channel(owner))
+            .withInterceptors(peerToken)
+            .withDeadlineAfter(properties.getForwardTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .evaluateForwarded(request, new StreamObserver<>() {
+                private RiskAssessment response;
+
+                @Override
+                public void onNext(RiskAssessment value) {
+                    response = value;
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    Status status = Status.fromThrowable(error);
+                    if (status.getCode() == Status.Code.UNAVAILABLE
+                        || status.getCode() == Status.Code.DEADLINE_EXCEEDED) {
+                        markDown(owner, status);
+                    }
+                    fallbackCounter.increment();
+                    future.completeExceptionally(error);
+                }
+
+                @Override
+                public void onCompleted() {
+                    forwardTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    forwardedCounter.increment();
+                    future.complete(response);
+                }
+            });
+        return future;
+    }
+
+    public int downCount() {
+        long now = System.nanoTime();
+        int count = 0;
+        for (Long until : downUntilNanos.values()) {
+            if (until - now > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public void close() {
+        for (ManagedChannel channel : channels.values()) {
+            channel.shutdownNow();
+        }
+        channels.clear();
+    }
+
+    private ManagedChannel channel(ClusterNode node) {
+        return channels.computeIfAbsent(node.id(), id -> channelFactory.create(node));
+    }
+
+    private boolean isDown(ClusterNode node) {
+        Long until = downUntilNanos.get(node.id());
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        downUntilNanos.remove(node.id(), until);
+        return false;
+    }
+
+    private void markDown(ClusterNode node, Status status) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getDownCooldownMillis());
+        if (downUntilNanos.put(node.id(), until) == null) {
+            log.warn("event=cluster_peer_down peer={} status={} cooldown_ms={}",
+                node.id(), status.getCode(), properties.getDownCooldownMillis());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.fintech.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class ConsistentHashRing {
+
+    private final List<ClusterNode> nodes;
+    private final long[] points;
+    private final ClusterNode[] pointOwners;
+
+    public ConsistentHashRing(Collection<ClusterNode> members, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes per member must be positive: " + virtualNodes);
+        }
+        this.nodes = List.copyOf(new LinkedHashSet<>(members));
+        int total = nodes.size() * virtualNodes;
+        long[] hashes = new long[total];
+        int[] order = new int[total];
+        for (int n = 0; n < nodes.size(); n++) {
+            String id = nodes.get(n).id();
+            for (int v = 0; v < virtualNodes; v++) {
+                int index = n * virtualNodes + v;
+                hashes[index] = hash(id + "#" + v);
+                order[index] = n;
+            }
+        }
+        // Sort positions and carry their owner along; ties resolve by member order, which is stable
+        // for a given member list.
+        Integer[] indices = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, (a, b) -> {
+            int cmp = Long.compare(hashes[a], hashes[b]);
+            return cmp != 0 ? cmp : Integer.compare(order[a], order[b]);
+        });
+        this.points = new long[total];
+        this.pointOwners = new ClusterNode[total];
+        for (int i = 0; i < total; i++) {
+            points[i] = hashes[indices[i]];
+            pointOwners[i] = nodes.get(order[indices[i]]);
+        }
+    }
+
+    public List<ClusterNode> nodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    public ClusterNode primary(int keyHash) {
+        if (points.length == 0) {
+            return null;
+        }
+        return pointOwners[firstPointAtOrAfter(mix64(keyHash))];
+    }
+
+    // Walks clockwise from the key's position and returns the first `replicas` distinct members:
+    // the primary owner followed by its fallbacks, in preference order.
+    public List<ClusterNode> owners(int keyHash, int replicas) {
+        int wanted = Math.min(Math.max(replicas, 1), nodes.size());
+        if (wanted == 0) {
+            return List.of();
+        }
+        Set<ClusterNode> owners = new LinkedHashSet<>(wanted);
+        int start = firstPointAtOrAfter(mix64(keyHash));
+        for (int i = 0; i < points.length && owners.size() < wanted; i++) {
+            owners.add(pointOwners[(start + i) % points.length]);
+        }
+        return new ArrayList<>(owners);
+    }
+
+    private int firstPointAtOrAfter(long position) {
+        int index = Arrays.binarySearch(points, position);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index == points.length ? 0 : index;
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    static long mix64(long value) {
+        long z = value;
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
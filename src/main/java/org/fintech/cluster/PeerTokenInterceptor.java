@@ -0,0 +1,52 @@
+package org.fintech.cluster;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.stub.MetadataUtils;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// The peer service shares the public port, and it evaluates whatever it is sent without routing.
+// Only callers presenting the shared cluster token may use it. With no token configured, every call
+// is refused rather than left open.
+public class PeerTokenInterceptor implements ServerInterceptor {
+
+    public static final Metadata.Key<String> HEADER =
+        Metadata.Key.of("x-cluster-peer-token", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final byte[] expected;
+
+    public PeerTokenInterceptor(String token) {
+        this.expected = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static ClientInterceptor attach(String token) {
+        Metadata headers = new Metadata();
+        if (token != null && !token.isBlank()) {
+            headers.put(HEADER, token);
+        }
+        return MetadataUtils.newAttachHeadersInterceptor(headers);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call,
+        Metadata headers,
+        ServerCallHandler<ReqT, RespT> next
+    ) {
+        String presented = headers.get(HEADER);
+        if (expected == null
+            || presented == null
+            || !MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8))) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Peer evaluation requires a cluster token"),
+                new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return next.startCall(call, headers);
+    }
+}
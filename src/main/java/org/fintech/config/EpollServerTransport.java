@@ -0,0 +1,72 @@
+package org.fintech.config;
+
+import io.grpc.ServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollChannelOption;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollServerSocketChannel;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Switches the shaded Netty server to native epoll and binds `listeners` sockets to the same
+// address with SO_REUSEPORT. Each listener is registered on its own boss event loop, so the kernel
+// load-balances incoming connections across independent accept queues and threads instead of one.
+// Without native epoll (non-Linux, unsupported arch) it leaves the builder on the NIO defaults.
+public class EpollServerTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(EpollServerTransport.class);
+
+    private final int listeners;
+    private final EventLoopGroup bossGroup;
+    private final EventLoopGroup workerGroup;
+
+    public EpollServerTransport(int listeners, int bossThreads, int workerThreads) {
+        this.listeners = Math.max(1, listeners);
+        if (!Epoll.isAvailable()) {
+            log.warn("event=grpc_epoll_unavailable fallback=nio cause={}", String.valueOf(Epoll.unavailabilityCause()));
+            this.bossGroup = null;
+            this.workerGroup = null;
+            return;
+        }
+        int resolvedBoss = bossThreads > 0 ? bossThreads : this.listeners;
+        this.bossGroup = new EpollEventLoopGroup(resolvedBoss, new DefaultThreadFactory("grpc-epoll-boss", true));
+        // 0 lets Netty pick its default of twice the available processors.
+        this.workerGroup = new EpollEventLoopGroup(
+            Math.max(0, workerThreads),
+            new DefaultThreadFactory("grpc-epoll-worker", true)
+        );
+    }
+
+    public boolean isActive() {
+        return bossGroup != null;
+    }
+
+    public void configure(ServerBuilder<?> serverBuilder, InetSocketAddress listenAddress) {
+        if (!isActive() || !(serverBuilder instanceof NettyServerBuilder netty)) {
+            return;
+        }
+        netty.bossEventLoopGroup(bossGroup)
+            .workerEventLoopGroup(workerGroup)
+            .channelType(EpollServerSocketChannel.class);
+        if (listeners > 1) {
+            netty.withOption(EpollChannelOption.SO_REUSEPORT, true);
+            // The builder already holds one listen address (the configured grpc.server address).
+            for (int i = 1; i < listeners; i++) {
+                netty.addListenAddress(listenAddress);
+            }
+        }
+        log.info("event=grpc_epoll_enabled listeners={} address={}", listeners, listenAddress);
+    }
+
+    public void close() {
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+            workerGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+        }
+    }
+}
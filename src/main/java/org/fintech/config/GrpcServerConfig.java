@@ -1,5 +1,10 @@
 package org.fintech.config;
 
+import io.grpc.ServerCallExecutorSupplier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -10,22 +15,54 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.fintech.grpc.BatchEvaluator;
+import org.fintech.grpc.ClientQuotaProperties;
+import org.fintech.grpc.ConcurrencyLimitInterceptor;
+import org.fintech.grpc.DecisionBroadcaster;
+import org.fintech.grpc.DecisionCache;
+import org.fintech.grpc.GrpcEvaluationProperties;
+import org.fintech.grpc.MicroBatcher;
+import org.fintech.metrics.VirtualThreadPinningMonitor;
+import org.fintech.proto.v1.FraudDetectionPeerServiceGrpc;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.rules.RuleEngine;
+import org.fintech.shard.ShardedRuleEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({GrpcEvaluationProperties.class, ClientQuotaProperties.class})
 public class GrpcServerConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(GrpcServerConfig.class);
+
     @Bean(destroyMethod = "shutdown")
     ExecutorService grpcExecutor(
+        @Value("${grpc.server.executor.type:platform}") String executorType,
+        @Value("${grpc.server.executor.max-concurrency:1000}") int maxConcurrency,
         @Value("${grpc.server.executor.core-threads:0}") int coreThreads,
         @Value("${grpc.server.executor.max-threads:0}") int maxThreads,
         @Value("${grpc.server.executor.keep-alive-seconds:60}") long keepAliveSeconds,
         @Value("${grpc.server.executor.queue-type:array}") String queueType,
         @Value("${grpc.server.executor.queue-capacity:0}") int queueCapacity,
-        @Value("${grpc.server.executor.allow-core-timeout:false}") boolean allowCoreTimeout
+        @Value("${grpc.server.executor.allow-core-timeout:false}") boolean allowCoreTimeout,
+        MeterRegistry meterRegistry
     ) {
+        if ("virtual".equalsIgnoreCase(executorType == null ? "" : executorType.trim())) {
+            BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("grpc-vexec-", maxConcurrency);
+            Gauge.builder("grpc.server.executor.active", executor, BoundedVirtualThreadExecutor::active)
+                .register(meterRegistry);
+            Gauge.builder("grpc.server.executor.waiting", executor, BoundedVirtualThreadExecutor::waiting)
+                .register(meterRegistry);
+            return executor;
+        }
+
         int fallbackSize = Math.max(2, Runtime.getRuntime().availableProcessors());
         int resolvedCore = coreThreads > 0 ? coreThreads : fallbackSize;
         int resolvedMax = maxThreads > 0 ? maxThreads : resolvedCore;
@@ -46,9 +83,112 @@ public class GrpcServerConfig {
         return executor;
     }
 
+    @Bean(destroyMethod = "close")
+    BatchEvaluator batchEvaluator(GrpcEvaluationProperties properties, MeterRegistry meterRegistry) {
+        return new BatchEvaluator(
+            properties.getBatchParallelism(),
+            properties.getBatchParallelThreshold(),
+            properties.getBatchChunkSize(),
+            meterRegistry
+        );
+    }
+
     @Bean
-    GrpcServerConfigurer grpcServerConfigurer(ExecutorService grpcExecutor) {
-        return serverBuilder -> serverBuilder.executor(grpcExecutor);
+    @ConditionalOnProperty(prefix = "fraud.grpc", name = "cache-enabled", havingValue = "true", matchIfMissing = true)
+    DecisionCache decisionCache(GrpcEvaluationProperties properties, MeterRegistry meterRegistry) {
+        return new DecisionCache(properties.getCacheMaxEntries(), properties.getCacheTtlMillis(), meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "fraud.grpc", name = "watch-enabled", havingValue = "true", matchIfMissing = true)
+    DecisionBroadcaster decisionBroadcaster(GrpcEvaluationProperties properties, MeterRegistry meterRegistry) {
+        return new DecisionBroadcaster(
+            properties.getWatchRingSize(),
+            properties.getWatchMaxSubscribers(),
+            properties.isWatchDisconnectLagging(),
+            meterRegistry
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "fraud.grpc", name = "micro-batch-enabled", havingValue = "true")
+    MicroBatcher microBatcher(RuleEngine ruleEngine, GrpcEvaluationProperties properties, MeterRegistry meterRegistry) {
+        return new MicroBatcher(
+            ruleEngine::evaluateBatch,
+            properties.getMicroBatchMaxSize(),
+            properties.getMicroBatchMaxLingerMicros(),
+            properties.getMicroBatchMaxLeaders(),
+            meterRegistry
+        );
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "grpc.server.executor", name = "type", havingValue = "virtual")
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        @Value("${grpc.server.executor.pinned-threshold-millis:20}") long pinnedThresholdMillis,
+        MeterRegistry meterRegistry
+    ) {
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(pinnedThresholdMillis));
+    }
+
+    @Bean
+    GrpcServerConfigurer grpcServerConfigurer(
+        ExecutorService grpcExecutor,
+        RuleEngine ruleEngine,
+        ObjectProvider<ShardedRuleEngine> shardedEngineProvider,
+        ObjectProvider<MicroBatcher> microBatcherProvider,
+        ObjectProvider<ConcurrencyLimitInterceptor> limiterProvider,
+        @Value("${grpc.server.executor.inline-evaluation:false}") boolean inlineEvaluation
+    ) {
+        Set<String> inlineMethods = inlineEvaluation
+            ? inlineMethods(ruleEngine, shardedEngineProvider, microBatcherProvider)
+            : Set.of();
+        ConcurrencyLimitInterceptor limiter = limiterProvider.getIfAvailable();
+        if (inlineMethods.isEmpty() && limiter == null) {
+            return serverBuilder -> serverBuilder.executor(grpcExecutor);
+        }
+        // Executor selection happens on the transport thread, which is where inline calls stay and
+        // where the limiter sheds calls before they reach the executor queue.
+        ServerCallExecutorSupplier supplier = new InlineCallExecutorSupplier(grpcExecutor, inlineMethods);
+        if (limiter == null) {
+            return serverBuilder -> serverBuilder.directExecutor().callExecutor(supplier);
+        }
+        ServerCallExecutorSupplier limitedSupplier = limiter.keepShedCallsInline(supplier);
+        return serverBuilder -> serverBuilder
+            .directExecutor()
+            .callExecutor(limitedSupplier)
+            .addStreamTracerFactory(limiter);
+    }
+
+    private static Set<String> inlineMethods(
+        RuleEngine ruleEngine,
+        ObjectProvider<ShardedRuleEngine> shardedEngineProvider,
+        ObjectProvider<MicroBatcher> microBatcherProvider
+    ) {
+        if (ruleEngine.isBlocking()) {
+            log.warn("event=grpc_inline_evaluation_disabled reason=blocking_rules rules={}",
+                ruleEngine.blockingRules().stream().map(rule -> rule.getClass().getSimpleName()).toList());
+            return Set.of();
+        }
+        if (shardedEngineProvider.getIfAvailable() != null) {
+            log.warn("event=grpc_inline_evaluation_disabled reason=sharded_engine");
+            return Set.of();
+        }
+        // Micro-batch followers park until their leader finishes, which must not happen on an event loop.
+        if (microBatcherProvider.getIfAvailable() != null) {
+            log.warn("event=grpc_inline_evaluation_disabled reason=micro_batching");
+            return Set.of();
+        }
+        // The decision cache needs no check: these methods take its async path, which hands duplicates
+        // of an in-flight transaction_id a future instead of parking the thread.
+        // Batch evaluation waits on helper threads, so it stays offloaded with everything else.
+        Set<String> inlineMethods = Set.of(
+            FraudDetectionServiceGrpc.getEvaluateTransactionMethod().getFullMethodName(),
+            FraudDetectionServiceGrpc.getEvaluateTransactionsMethod().getFullMethodName(),
+            FraudDetectionPeerServiceGrpc.getEvaluateForwardedMethod().getFullMethodName()
+        );
+        log.info("event=grpc_inline_evaluation_enabled methods={}", inlineMethods);
+        return inlineMethods;
     }
 
     private static ThreadFactory namedThreadFactory(String prefix) {
@@ -0,0 +1,32 @@
+package org.fintech.config;
+
+import java.net.InetSocketAddress;
+import net.devh.boot.grpc.server.config.GrpcServerProperties;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "grpc.server.transport", name = "type", havingValue = "epoll")
+public class GrpcTransportConfig {
+
+    @Bean(destroyMethod = "close")
+    EpollServerTransport epollServerTransport(
+        @Value("${grpc.server.transport.listeners:1}") int listeners,
+        @Value("${grpc.server.transport.boss-threads:0}") int bossThreads,
+        @Value("${grpc.server.transport.worker-threads:0}") int workerThreads
+    ) {
+        return new EpollServerTransport(listeners, bossThreads, workerThreads);
+    }
+
+    @Bean
+    GrpcServerConfigurer epollServerConfigurer(EpollServerTransport transport, GrpcServerProperties serverProperties) {
+        String address = serverProperties.getAddress();
+        InetSocketAddress listenAddress = address == null || address.isBlank() || "*".equals(address)
+            ? new InetSocketAddress(serverProperties.getPort())
+            : new InetSocketAddress(address, serverProperties.getPort());
+        return serverBuilder -> transport.configure(serverBuilder, listenAddress);
+    }
+}
@@ -0,0 +1,29 @@
+package org.fintech.config;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallExecutorSupplier;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+// Used with a direct server executor: calls to the listed methods return null and stay on the
+// transport thread that received them, everything else is moved to the offload executor before the
+// first message is delivered.
+public class InlineCallExecutorSupplier implements ServerCallExecutorSupplier {
+
+    private final Executor offloadExecutor;
+    private final Set<String> inlineMethods;
+
+    public InlineCallExecutorSupplier(Executor offloadExecutor, Set<String> inlineMethods) {
+        this.offloadExecutor = offloadExecutor;
+        this.inlineMethods = Set.copyOf(inlineMethods);
+    }
+
+    @Override
+    public <ReqT, RespT> Executor getExecutor(ServerCall<ReqT, RespT> call, Metadata metadata) {
+        if (inlineMethods.contains(call.getMethodDescriptor().getFullMethodName())) {
+            return null;
+        }
+        return offloadExecutor;
+    }
+}
@@ -0,0 +1,106 @@
+package org.fintech.grpc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Vegas-style limit: the ratio between the lowest latency seen (no queueing) and the latency of
+// each completed call estimates how many calls are queued behind the ones doing work. The limit
+// grows while that estimate stays small and shrinks once it exceeds a few calls, so the server
+// settles near the concurrency where latency starts to climb instead of at the executor's queue
+// capacity.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private long noLoadRttNanos = Long.MAX_VALUE;
+    private long samplesUntilProbe;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limiter bounds: min=" + minLimit + " max=" + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.samplesUntilProbe = nextProbe();
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // `dropped` marks calls that failed because the server was overloaded (deadline exceeded,
+    // resource exhausted); they shrink the limit regardless of the latency sample.
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), inFlightAtCompletion, dropped);
+    }
+
+    // Returns the slot of a call that was turned away before it ran; it carries no latency sample.
+    public void abandon() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion, boolean dropped) {
+        // Periodically forget the baseline so a permanent latency shift (new rules, slower
+        // hardware) is learned instead of being read as queueing forever.
+        if (--samplesUntilProbe <= 0) {
+            samplesUntilProbe = nextProbe();
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        if (rttNanos < noLoadRttNanos) {
+            noLoadRttNanos = rttNanos;
+        }
+
+        double current = estimatedLimit;
+        double log = Math.max(1.0, Math.log10(current));
+        double next;
+        if (dropped) {
+            next = current - log;
+        } else {
+            // Under light load the latency says nothing about the limit; only probe upwards while
+            // at least half the limit is in use.
+            if (inFlightAtCompletion * 2 < current) {
+                return;
+            }
+            double queued = Math.ceil(current * (1.0 - (double) noLoadRttNanos / rttNanos));
+            if (queued <= log) {
+                next = current + 6 * log;
+            } else if (queued < 3 * log) {
+                next = current + log;
+            } else if (queued > 6 * log) {
+                next = current - log;
+            } else {
+                return;
+            }
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    private long nextProbe() {
+        return (long) PROBE_MULTIPLIER * Math.max(1, limit);
+    }
+}
@@ -0,0 +1,102 @@
+package org.fintech.grpc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+
+public class BatchEvaluator {
+
+    private final int parallelism;
+    private final int parallelThreshold;
+    private final int chunkSize;
+    private final ExecutorService helpers;
+    private final DistributionSummary batchSize;
+
+    public BatchEvaluator(int parallelism, int parallelThreshold, int chunkSize, MeterRegistry meterRegistry) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        this.chunkSize = Math.max(1, chunkSize);
+        AtomicInteger index = new AtomicInteger(1);
+        this.helpers = Executors.newFixedThreadPool(Math.max(1, this.parallelism - 1), runnable -> {
+            Thread thread = new Thread(runnable, "grpc-batch-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSize = DistributionSummary.builder("fraud.grpc.batch.size").register(meterRegistry);
+    }
+
+    // Small batches run inline on the calling thread. Large ones are cut into chunks that the caller
+    // and up to parallelism-1 helpers claim from a shared counter. The caller waits only for chunks a
+    // helper has actually started, so a busy helper pool degrades to inline evaluation instead of
+    // leaving the gRPC thread blocked behind queued work.
+    public List<RiskAssessment> evaluate(
+        List<TransactionRequest> requests,
+        Function<TransactionRequest, RiskAssessment> assess
+    ) {
+        int size = requests.size();
+        batchSize.record(size);
+        RiskAssessment[] results = new RiskAssessment[size];
+        if (size < parallelThreshold || parallelism <= 1) {
+            for (int i = 0; i < size; i++) {
+                results[i] = assess.apply(requests.get(i));
+            }
+            return Arrays.asList(results);
+        }
+
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        CountDownLatch finished = new CountDownLatch(chunks);
+        Runnable worker = () -> {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                try {
+                    if (failure.get() == null) {
+                        int from = chunk * chunkSize;
+                        int to = Math.min(size, from + chunkSize);
+                        for (int i = from; i < to; i++) {
+                            results[i] = assess.apply(requests.get(i));
+                        }
+                    }
+                } catch (RuntimeException ex) {
+                    failure.compareAndSet(null, ex);
+                } finally {
+                    finished.countDown();
+                }
+            }
+        };
+        int helperCount = Math.min(parallelism - 1, chunks - 1);
+        for (int i = 0; i < helperCount; i++) {
+            try {
+                helpers.execute(worker);
+            } catch (RejectedExecutionException ex) {
+                break;
+            }
+        }
+        worker.run();
+        try {
+            finished.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batch evaluation", ex);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return Arrays.asList(results);
+    }
+
+    public void close() {
+        helpers.shutdownNow();
+    }
+}
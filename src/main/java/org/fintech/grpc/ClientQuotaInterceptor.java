@@ -0,0 +1,110 @@
+package org.fintech.grpc;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.fintech.proto.v1.FraudDetectionPeerServiceGrpc;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+
+// Runs ahead of the concurrency limiter so a throttled caller never occupies a limiter slot.
+@GrpcGlobalServerInterceptor
+@Order(50)
+@ConditionalOnProperty(prefix = "grpc.quota", name = "enabled", havingValue = "true")
+public class ClientQuotaInterceptor implements ServerInterceptor {
+
+    private final ClientQuotas quotas;
+    private final Metadata.Key<String> clientHeader;
+
+    public ClientQuotaInterceptor(ClientQuotaProperties properties, MeterRegistry meterRegistry) {
+        this(new ClientQuotas(properties, meterRegistry), properties.getHeader(), meterRegistry);
+    }
+
+    ClientQuotaInterceptor(ClientQuotas quotas, String header, MeterRegistry meterRegistry) {
+        this.quotas = quotas;
+        this.clientHeader = Metadata.Key.of(header, Metadata.ASCII_STRING_MARSHALLER);
+        Gauge.builder("grpc.server.quota.clients", quotas, ClientQuotas::trackedClients).register(meterRegistry);
+    }
+
+    // Every inbound message costs one token, so a stream is held to the same rate as unary calls. A
+    // unary call pays up front and is closed before the rest of the chain starts it, so the limiter
+    // hands its slot back without reading the rejection as overload.
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call,
+        Metadata headers,
+        ServerCallHandler<ReqT, RespT> next
+    ) {
+        // Forwarded calls already passed the quota on the pod that received them, carry no client id
+        // and are token-authenticated; charging them to the forwarding pod's address would throttle
+        // cluster routing exactly when it is busiest.
+        if (FraudDetectionPeerServiceGrpc.SERVICE_NAME.equals(call.getMethodDescriptor().getServiceName())) {
+            return next.startCall(call, headers);
+        }
+        String clientId = clientId(call, headers);
+        if (call.getMethodDescriptor().getType().clientSendsOneMessage()) {
+            if (!quotas.tryAcquire(clientId)) {
+                reject(call, clientId);
+                return new ServerCall.Listener<>() {
+                };
+            }
+            return next.startCall(call, headers);
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+            private boolean throttled;
+
+            @Override
+            public void onMessage(ReqT message) {
+                if (throttled) {
+                    return;
+                }
+                if (!quotas.tryAcquire(clientId)) {
+                    throttled = true;
+                    reject(call, clientId);
+                    return;
+                }
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onHalfClose() {
+                if (!throttled) {
+                    super.onHalfClose();
+                }
+            }
+        };
+    }
+
+    private static void reject(ServerCall<?, ?> call, String clientId) {
+        call.close(Status.RESOURCE_EXHAUSTED.withDescription("Client quota exceeded for " + clientId),
+            new Metadata());
+    }
+
+    // Only configured client ids are trusted on their own. Any other header value is folded into the
+    // caller's address, so rotating the header does not mint fresh buckets.
+    private String clientId(ServerCall<?, ?> call, Metadata headers) {
+        String header = headers.get(clientHeader);
+        if (header != null && !header.isBlank() && quotas.isConfigured(header)) {
+            return header;
+        }
+        return peerHost(call);
+    }
+
+    // Host only: the port changes with every connection from the same caller.
+    private static String peerHost(ServerCall<?, ?> call) {
+        SocketAddress remote = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+        if (remote instanceof InetSocketAddress inet) {
+            return inet.getAddress() != null ? inet.getAddress().getHostAddress() : inet.getHostString();
+        }
+        return remote != null ? remote.toString() : "unknown";
+    }
+}
@@ -0,0 +1,95 @@
+package org.fintech.grpc;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "grpc.quota")
+public class ClientQuotaProperties {
+
+    private boolean enabled = false;
+    private String header = "x-client-id";
+    private double rate = 500;
+    private int burst = 100;
+    private int maxClients = 10_000;
+    private long idleEvictMillis = 60_000;
+    private Map<String, Limit> clients = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public long getIdleEvictMillis() {
+        return idleEvictMillis;
+    }
+
+    public void setIdleEvictMillis(long idleEvictMillis) {
+        this.idleEvictMillis = idleEvictMillis;
+    }
+
+    public Map<String, Limit> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, Limit> clients) {
+        this.clients = clients;
+    }
+
+    public static class Limit {
+
+        private double rate;
+        private int burst;
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+}
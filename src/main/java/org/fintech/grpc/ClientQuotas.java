@@ -0,0 +1,118 @@
+package org.fintech.grpc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// One token bucket per caller, kept as a GCRA "theoretical arrival time" so admitting a call is a
+// single CAS on the caller's own AtomicLong and callers never contend with each other. The number of
+// tracked callers is capped; once full, idle callers are dropped and any remaining newcomers share
+// one overflow bucket. Only callers listed under `clients` get their own throttled counter; every
+// other caller is counted under `other`, so evicted or made-up ids never leave meters behind.
+public class ClientQuotas {
+
+    static final String OVERFLOW_CLIENT = "other";
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ClientQuotaProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final long idleNanos;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    public ClientQuotas(ClientQuotaProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    ClientQuotas(ClientQuotaProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getIdleEvictMillis()));
+        this.lastSweep.set(clock.getAsLong());
+    }
+
+    public boolean tryAcquire(String clientId) {
+        long now = clock.getAsLong();
+        Bucket bucket = bucketFor(clientId, now);
+        if (bucket.tryAcquire(now)) {
+            return true;
+        }
+        bucket.throttled.increment();
+        return false;
+    }
+
+    public boolean isConfigured(String clientId) {
+        return properties.getClients().containsKey(clientId);
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    private Bucket bucketFor(String clientId, long now) {
+        Bucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= Math.max(1, properties.getMaxClients())) {
+            sweepIdle(now);
+            if (buckets.size() >= properties.getMaxClients()) {
+                clientId = OVERFLOW_CLIENT;
+            }
+        }
+        return buckets.computeIfAbsent(clientId, id -> newBucket(id, now));
+    }
+
+    private Bucket newBucket(String clientId, long now) {
+        ClientQuotaProperties.Limit limit = properties.getClients().get(clientId);
+        double rate = limit != null && limit.getRate() > 0 ? limit.getRate() : properties.getRate();
+        int burst = limit != null && limit.getBurst() > 0 ? limit.getBurst() : properties.getBurst();
+        String tag = isConfigured(clientId) ? clientId : OVERFLOW_CLIENT;
+        Counter throttled = meterRegistry.counter("grpc.server.quota.throttled", "client", tag);
+        return new Bucket(rate, burst, throttled, now);
+    }
+
+    // At most one sweep per second, so a flood of new callers does not turn every miss into a scan.
+    private void sweepIdle(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> !OVERFLOW_CLIENT.equals(entry.getKey())
+            && now - entry.getValue().theoreticalArrival.get() > idleNanos);
+    }
+
+    private static final class Bucket {
+
+        private final long emissionNanos;
+        private final long toleranceNanos;
+        private final AtomicLong theoreticalArrival;
+        private final Counter throttled;
+
+        private Bucket(double rate, int burst, Counter throttled, long now) {
+            this.emissionNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(rate, 1e-6)));
+            this.toleranceNanos = emissionNanos * Math.max(1, burst);
+            this.theoreticalArrival = new AtomicLong(now);
+            this.throttled = throttled;
+        }
+
+        // Admits the call if it fits in the burst allowance ahead of the steady rate.
+        private boolean tryAcquire(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long next = Math.max(tat, now) + emissionNanos;
+                if (next - now > toleranceNanos) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
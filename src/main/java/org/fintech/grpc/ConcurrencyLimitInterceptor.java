@@ -0,0 +1,167 @@
+package org.fintech.grpc;
+
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallExecutorSupplier;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerStreamTracer;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.fintech.proto.v1.FraudDetectionPeerServiceGrpc;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+
+// Interceptors run on the server executor, after a call has already waited in its queue, so
+// admission happens earlier: the stream tracer takes a limiter slot on the transport thread when the
+// stream is created and records the decision in the call's Context. The call executor supplier keeps
+// shed calls on the transport thread, where this interceptor closes them with RESOURCE_EXHAUSTED
+// without ever touching the executor queue. Latency samples run from stream creation to close, so
+// queue wait counts towards the limit.
+@GrpcGlobalServerInterceptor
+@Order(100)
+@ConditionalOnProperty(prefix = "grpc.limiter", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitInterceptor extends ServerStreamTracer.Factory implements ServerInterceptor {
+
+    private static final Context.Key<Admission> ADMISSION = Context.key("grpc-limiter-admission");
+    private static final ServerStreamTracer UNLIMITED = new ServerStreamTracer() {
+    };
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter shedCounter;
+    private final Set<String> limitedMethods;
+
+    public ConcurrencyLimitInterceptor(
+        @Value("${grpc.limiter.initial-limit:20}") int initialLimit,
+        @Value("${grpc.limiter.min-limit:4}") int minLimit,
+        @Value("${grpc.limiter.max-limit:1000}") int maxLimit,
+        MeterRegistry meterRegistry
+    ) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+        this.shedCounter = meterRegistry.counter("grpc.server.limiter.shed");
+        this.limitedMethods = unaryMethods(
+            FraudDetectionServiceGrpc.getServiceDescriptor(),
+            FraudDetectionPeerServiceGrpc.getServiceDescriptor()
+        );
+        Gauge.builder("grpc.server.limiter.limit", limiter, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("grpc.server.limiter.in_flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+            .register(meterRegistry);
+    }
+
+    // Only single-transaction unary calls are limited: a stream holds its slot for its whole lifetime
+    // and its duration is not a latency sample, a batch of thousands of transactions would read as
+    // queueing to the estimator, and health checks must keep answering under overload.
+    @Override
+    public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+        if (!limitedMethods.contains(fullMethodName)) {
+            return UNLIMITED;
+        }
+        boolean admitted = limiter.tryAcquire();
+        if (!admitted) {
+            shedCounter.increment();
+        }
+        return new Admission(admitted);
+    }
+
+    // Wraps the supplier that picks each call's executor. Shed calls get null, which keeps them on the
+    // transport thread; the server must therefore run with a direct default executor.
+    public ServerCallExecutorSupplier keepShedCallsInline(ServerCallExecutorSupplier next) {
+        return new ServerCallExecutorSupplier() {
+            @Override
+            public <ReqT, RespT> Executor getExecutor(ServerCall<ReqT, RespT> call, Metadata metadata) {
+                Admission admission = ADMISSION.get();
+                if (admission != null && !admission.admitted) {
+                    return null;
+                }
+                return next.getExecutor(call, metadata);
+            }
+        };
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call,
+        Metadata headers,
+        ServerCallHandler<ReqT, RespT> next
+    ) {
+        Admission admission = ADMISSION.get();
+        if (admission == null) {
+            return next.startCall(call, headers);
+        }
+        if (admission.admitted) {
+            admission.started = true;
+            return next.startCall(call, headers);
+        }
+        call.close(Status.RESOURCE_EXHAUSTED.withDescription("Server concurrency limit reached"), new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+
+    AdaptiveConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    private static Set<String> unaryMethods(ServiceDescriptor... services) {
+        Set<String> methods = new HashSet<>();
+        for (ServiceDescriptor service : services) {
+            for (MethodDescriptor<?, ?> method : service.getMethods()) {
+                if (method.getType() == MethodDescriptor.MethodType.UNARY) {
+                    methods.add(method.getFullMethodName());
+                }
+            }
+        }
+        methods.remove(FraudDetectionServiceGrpc.getEvaluateTransactionBatchMethod().getFullMethodName());
+        return Set.copyOf(methods);
+    }
+
+    private static boolean isOverload(Status status) {
+        return status.getCode() == Status.Code.RESOURCE_EXHAUSTED || isExpired(status);
+    }
+
+    private static boolean isExpired(Status status) {
+        return status.getCode() == Status.Code.DEADLINE_EXCEEDED;
+    }
+
+    private final class Admission extends ServerStreamTracer {
+        private final boolean admitted;
+        private final long createdNanos = System.nanoTime();
+        private volatile boolean started;
+
+        Admission(boolean admitted) {
+            this.admitted = admitted;
+        }
+
+        @Override
+        public Context filterContext(Context context) {
+            return context.withValue(ADMISSION, this);
+        }
+
+        // Called exactly once per stream, whether it completed, failed or was cancelled. A call that
+        // expired while queued is an overload signal like any other, but one an earlier interceptor
+        // turned away (a quota, say) never ran, and one the client cancelled (a hedge that lost, a
+        // caller that gave up) says nothing about this server's latency, so both give their slot
+        // back without touching the limit.
+        @Override
+        public void streamClosed(Status status) {
+            if (!admitted) {
+                return;
+            }
+            if (status.getCode() != Status.Code.CANCELLED && (started || isExpired(status))) {
+                limiter.release(System.nanoTime() - createdNanos, isOverload(status));
+            } else {
+                limiter.abandon();
+            }
+        }
+    }
+}
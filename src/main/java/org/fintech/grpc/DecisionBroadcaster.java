@@ -0,0 +1,233 @@
+package org.fintech.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.DecisionEvent;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.WatchDecisionsRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Fans decisions out to WatchDecisions subscribers. Evaluating threads only claim a sequence and
+// store one immutable event in a ring; they never touch a subscriber. A single dispatcher thread
+// gives every subscriber its own cursor into the same ring and writes while the subscriber's
+// transport is ready. A subscriber that falls more than a ring behind skips ahead and is told how
+// many decisions it missed, or is disconnected, so a slow reader never slows evaluation.
+public class DecisionBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionBroadcaster.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    // Events written to one subscriber per pass, so a fast reader cannot starve the others.
+    private static final int MAX_EVENTS_PER_PASS = 256;
+
+    private final AtomicReferenceArray<DecisionEvent> ring;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean signalled = new AtomicBoolean();
+    private final int maxSubscribers;
+    private final boolean disconnectLagging;
+    private final Counter published;
+    private final Counter delivered;
+    private final Counter lagged;
+    private volatile boolean running = true;
+    private Thread dispatcher;
+
+    public DecisionBroadcaster(int ringSize, int maxSubscribers, boolean disconnectLagging, MeterRegistry meterRegistry) {
+        int capacity = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxSubscribers = Math.max(1, maxSubscribers);
+        this.disconnectLagging = disconnectLagging;
+        this.published = meterRegistry.counter("fraud.grpc.watch.published");
+        this.delivered = meterRegistry.counter("fraud.grpc.watch.delivered");
+        this.lagged = meterRegistry.counter("fraud.grpc.watch.lagged");
+        Gauge.builder("fraud.grpc.watch.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    public void start() {
+        dispatcher = new Thread(this::run, "grpc-watch-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    // Called on every evaluation; with nobody subscribed it costs one emptiness check.
+    public void publish(String accountId, RiskAssessment assessment) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long sequence = next.getAndIncrement();
+        ring.set(index(sequence), DecisionEvent.newBuilder()
+            .setSequence(sequence)
+            .setAccountId(accountId)
+            .setAssessment(assessment)
+            .build());
+        published.increment();
+        wake();
+    }
+
+    // Must run inside the RPC method so the handlers are installed before the call starts.
+    public void subscribe(WatchDecisionsRequest request, ServerCallStreamObserver<DecisionEvent> observer) {
+        if (!running) {
+            observer.onError(Status.UNAVAILABLE.withDescription("Server is shutting down").asRuntimeException());
+            return;
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            observer.onError(Status.RESOURCE_EXHAUSTED
+                .withDescription("Decision watch is at its limit of " + maxSubscribers + " subscribers")
+                .asRuntimeException());
+            return;
+        }
+        Subscriber subscriber = new Subscriber(request, observer, next.get());
+        observer.setOnCancelHandler(() -> {
+            subscriber.cancelled = true;
+            wake();
+        });
+        observer.setOnReadyHandler(this::wake);
+        subscribers.add(subscriber);
+        wake();
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Stops the dispatcher, then completes the remaining streams from this thread; the dispatcher
+    // is gone by then, so nothing else writes to them.
+    public void close() {
+        running = false;
+        if (dispatcher != null) {
+            LockSupport.unpark(dispatcher);
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscribers.remove(subscriber);
+            if (!subscriber.cancelled) {
+                subscriber.observer.onCompleted();
+            }
+        }
+    }
+
+    private void wake() {
+        if (signalled.compareAndSet(false, true) && dispatcher != null) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            signalled.set(false);
+            boolean more = false;
+            for (Subscriber subscriber : subscribers) {
+                try {
+                    more |= drain(subscriber);
+                } catch (RuntimeException ex) {
+                    subscribers.remove(subscriber);
+                    log.warn("event=grpc_watch_subscriber_failed", ex);
+                }
+            }
+            if (!more && !signalled.get()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Returns true when the subscriber still has events and a ready transport.
+    private boolean drain(Subscriber subscriber) {
+        if (subscriber.cancelled) {
+            subscribers.remove(subscriber);
+            return false;
+        }
+        int written = 0;
+        while (subscriber.observer.isReady()) {
+            if (written == MAX_EVENTS_PER_PASS) {
+                return true;
+            }
+            long position = subscriber.position;
+            DecisionEvent event = ring.get(index(position));
+            // Not published yet: either nothing new, or a producer is between claim and store.
+            if (event == null || event.getSequence() < position) {
+                return false;
+            }
+            if (event.getSequence() > position) {
+                if (!skipAhead(subscriber, position)) {
+                    return false;
+                }
+                continue;
+            }
+            subscriber.position = position + 1;
+            if (!subscriber.matches(event)) {
+                continue;
+            }
+            DecisionEvent outgoing = subscriber.missed == 0
+                ? event
+                : event.toBuilder().setMissed(subscriber.missed).build();
+            subscriber.missed = 0;
+            subscriber.observer.onNext(outgoing);
+            delivered.increment();
+            written++;
+        }
+        return false;
+    }
+
+    // The subscriber's next event was overwritten. Resume at the oldest event still in the ring.
+    private boolean skipAhead(Subscriber subscriber, long position) {
+        long resume = Math.max(position + 1, next.get() - ring.length());
+        lagged.increment();
+        if (disconnectLagging) {
+            subscribers.remove(subscriber);
+            subscriber.observer.onError(Status.RESOURCE_EXHAUSTED
+                .withDescription("Subscriber fell " + (resume - position) + " decisions behind")
+                .asRuntimeException());
+            return false;
+        }
+        subscriber.missed += resume - position;
+        subscriber.position = resume;
+        return true;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private static final class Subscriber {
+
+        private final ServerCallStreamObserver<DecisionEvent> observer;
+        private final Set<Decision> decisions;
+        private final Set<String> accountIds;
+        // Dispatcher-thread state.
+        private long position;
+        private long missed;
+        private volatile boolean cancelled;
+
+        private Subscriber(WatchDecisionsRequest request, ServerCallStreamObserver<DecisionEvent> observer, long position) {
+            this.observer = observer;
+            this.decisions = request.getDecisionsCount() == 0
+                ? EnumSet.allOf(Decision.class)
+                : EnumSet.copyOf(request.getDecisionsList());
+            this.accountIds = Set.copyOf(request.getAccountIdsList());
+            this.position = position;
+        }
+
+        private boolean matches(DecisionEvent event) {
+            return decisions.contains(event.getAssessment().getDecision())
+                && (accountIds.isEmpty() || accountIds.contains(event.getAccountId()));
+        }
+    }
+}
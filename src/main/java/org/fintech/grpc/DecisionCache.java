@@ -0,0 +1,216 @@
+package org.fintech.grpc;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+
+// Remembers the serialized assessment per transaction_id so client retries get the original
+// decision back without another evaluation. Concurrent duplicates share the first caller's
+// in-progress evaluation instead of racing it. Each entry also keeps a fingerprint of the request's
+// fields: a request that reuses a transaction_id with different content is not a retry, so it is
+// evaluated on its own and its decision replaces the cached one. Callers that must not block, such
+// as inline evaluation on a transport thread, use the async variant and get a duplicate's answer as
+// a future. Every entry has the same TTL, so insertion order is also expiry order: a FIFO of entries
+// doubles as the expiry sweep and the capacity eviction order. Only one thread sweeps at a time and
+// the others skip it, so a miss never waits on a lock; the cache can briefly run a few entries over
+// its bound instead.
+public class DecisionCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter conflicts;
+    private final Counter evictions;
+
+    public DecisionCache(int maxEntries, long ttlMillis, MeterRegistry meterRegistry) {
+        this(maxEntries, ttlMillis, meterRegistry, System::nanoTime);
+    }
+
+    DecisionCache(int maxEntries, long ttlMillis, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, ttlMillis));
+        this.clock = clock;
+        this.hits = meterRegistry.counter("fraud.grpc.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("fraud.grpc.cache.requests", "result", "miss");
+        this.coalesced = meterRegistry.counter("fraud.grpc.cache.requests", "result", "coalesced");
+        this.conflicts = meterRegistry.counter("fraud.grpc.cache.requests", "result", "conflict");
+        this.evictions = meterRegistry.counter("fraud.grpc.cache.evictions");
+        Gauge.builder("fraud.grpc.cache.size", entries, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    // 64-bit FNV-1a over the request's fields, read in place rather than serialized, so a miss costs
+    // no allocation. transaction_id is the cache key and is left out; a new TransactionRequest field
+    // must be added here or requests differing only in it will be treated as retries.
+    public static long fingerprint(TransactionRequest request) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, request.getAccountId());
+        hash = mix(hash, Double.doubleToLongBits(request.getAmount()));
+        hash = mix(hash, request.getMerchant());
+        hash = mix(hash, request.getCurrency());
+        return mix(hash, request.getTimestamp());
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        // Length as a separator, so "ab"+"c" and "a"+"bc" differ.
+        return mix(hash, value.length());
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public RiskAssessment getOrEvaluate(String transactionId, long fingerprint, Supplier<RiskAssessment> evaluator) {
+        try {
+            return getOrEvaluateAsync(transactionId, fingerprint, evaluator).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    // Never blocks the caller: a miss is evaluated on the calling thread and returned completed, while
+    // a duplicate of a transaction_id still being evaluated gets a future that the first caller
+    // completes. Safe to call from an event loop. Failures come back as a failed future.
+    public CompletableFuture<RiskAssessment> getOrEvaluateAsync(
+        String transactionId,
+        long fingerprint,
+        Supplier<RiskAssessment> evaluator
+    ) {
+        if (transactionId == null || transactionId.isEmpty()) {
+            return evaluate(null, evaluator);
+        }
+        long now = clock.getAsLong();
+        while (true) {
+            Entry existing = entries.get(transactionId);
+            boolean conflict = false;
+            if (existing != null && !existing.isExpired(now)) {
+                if (existing.fingerprint == fingerprint) {
+                    return await(existing);
+                }
+                conflict = true;
+            }
+            Entry created = new Entry(transactionId, fingerprint, now + ttlNanos);
+            boolean won = existing == null
+                ? entries.putIfAbsent(transactionId, created) == null
+                : entries.replace(transactionId, existing, created);
+            if (won) {
+                (conflict ? conflicts : misses).increment();
+                insertionOrder.add(created);
+                evictExpiredAndOverflow(now);
+                return evaluate(created, evaluator);
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private CompletableFuture<RiskAssessment> evaluate(Entry entry, Supplier<RiskAssessment> evaluator) {
+        RiskAssessment assessment;
+        try {
+            assessment = evaluator.get();
+        } catch (Throwable ex) {
+            // Failures are not cached: waiters see the error and the next retry evaluates afresh. Errors
+            // are caught too, or the entry would stay pending and block its waiters until it expired.
+            if (entry != null) {
+                entries.remove(entry.transactionId, entry);
+                entry.result.completeExceptionally(ex);
+            }
+            return CompletableFuture.failedFuture(ex);
+        }
+        if (entry != null) {
+            entry.result.complete(assessment.toByteArray());
+        }
+        return CompletableFuture.completedFuture(assessment);
+    }
+
+    // Waiters run on the thread that completes the entry, so parsing stays cheap and never blocks.
+    private CompletableFuture<RiskAssessment> await(Entry entry) {
+        if (entry.result.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+        }
+        return entry.result.thenApply(DecisionCache::parse);
+    }
+
+    private static RiskAssessment parse(byte[] serialized) {
+        try {
+            return RiskAssessment.parseFrom(serialized);
+        } catch (InvalidProtocolBufferException ex) {
+            throw new IllegalStateException("Cached assessment is not a valid RiskAssessment", ex);
+        }
+    }
+
+    // Misses only. The check up front keeps the usual case lock-free; a thread that finds another
+    // one sweeping leaves the work to it. The lock keeps peek and poll on the same node.
+    private void evictExpiredAndOverflow(long now) {
+        if (!needsSweep(now) || !sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            while (needsSweep(now)) {
+                Entry oldest = insertionOrder.poll();
+                // Entries already replaced or removed leave a stale node behind; dropping it is enough.
+                if (entries.remove(oldest.transactionId, oldest)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private boolean needsSweep(long now) {
+        Entry oldest = insertionOrder.peek();
+        return oldest != null && (oldest.isExpired(now) || entries.size() > maxEntries);
+    }
+
+    private static final class Entry {
+
+        private final String transactionId;
+        private final long fingerprint;
+        private final long expiresAtNanos;
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+
+        private Entry(String transactionId, long fingerprint, long expiresAtNanos) {
+            this.transactionId = transactionId;
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -1,34 +1,225 @@
 package org.fintech.grpc;
 
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.fintech.cluster.ClusterNode;
+import org.fintech.cluster.ClusterRouter;
+import org.fintech.outbox.DecisionWriteBehind;
+import org.fintech.proto.v1.DecisionEvent;
 import org.fintech.proto.v1.FraudDetectionServiceGrpc;
 import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.RiskAssessmentBatch;
+import org.fintech.proto.v1.TransactionBatch;
 import org.fintech.proto.v1.TransactionRequest;
+import org.fintech.proto.v1.WatchDecisionsRequest;
 import org.fintech.rules.RuleEngine;
 import org.fintech.rules.RuleResult;
+import org.fintech.rules.TransactionView;
+import org.fintech.shard.ShardedRuleEngine;
+import org.springframework.beans.factory.ObjectProvider;
 
 @GrpcService
 public class FraudDetectionGrpcService extends FraudDetectionServiceGrpc.FraudDetectionServiceImplBase {
 
     private final RuleEngine ruleEngine;
+    private final GrpcEvaluationProperties properties;
+    private final BatchEvaluator batchEvaluator;
+    private final ShardedRuleEngine shardedEngine;
+    private final ClusterRouter clusterRouter;
+    private final DecisionWriteBehind decisionWriter;
+    private final DecisionCache decisionCache;
+    private final MicroBatcher microBatcher;
+    private final DecisionBroadcaster decisionBroadcaster;
 
-    public FraudDetectionGrpcService(RuleEngine ruleEngine) {
+    public FraudDetectionGrpcService(
+        RuleEngine ruleEngine,
+        GrpcEvaluationProperties properties,
+        BatchEvaluator batchEvaluator,
+        ObjectProvider<ShardedRuleEngine> shardedEngineProvider,
+        ObjectProvider<ClusterRouter> clusterRouterProvider,
+        ObjectProvider<DecisionWriteBehind> decisionWriterProvider,
+        ObjectProvider<DecisionCache> decisionCacheProvider,
+        ObjectProvider<MicroBatcher> microBatcherProvider,
+        ObjectProvider<DecisionBroadcaster> decisionBroadcasterProvider
+    ) {
         this.ruleEngine = ruleEngine;
+        this.properties = properties;
+        this.batchEvaluator = batchEvaluator;
+        this.shardedEngine = shardedEngineProvider.getIfAvailable();
+        this.clusterRouter = clusterRouterProvider.getIfAvailable();
+        this.decisionWriter = decisionWriterProvider.getIfAvailable();
+        this.decisionCache = decisionCacheProvider.getIfAvailable();
+        this.microBatcher = microBatcherProvider.getIfAvailable();
+        this.decisionBroadcaster = decisionBroadcasterProvider.getIfAvailable();
+    }
+
+    @Override
+    public ServerServiceDefinition bindService() {
+        return withMarshallers(super.bindService());
+    }
+
+    ServerServiceDefinition withMarshallers(ServerServiceDefinition definition) {
+        return properties.isPooledMarshallers() ? PooledProtoMarshaller.rebind(definition) : definition;
     }
 
     @Override
     public void evaluateTransaction(TransactionRequest request, StreamObserver<RiskAssessment> responseObserver) {
-        RuleResult result = ruleEngine.evaluate(request);
+        ClusterNode owner = clusterRouter != null ? clusterRouter.route(request) : null;
+        if (owner == null) {
+            evaluateLocally(request, responseObserver);
+            return;
+        }
+        clusterRouter.forward(owner, request).whenComplete((response, error) -> {
+            if (error != null) {
+                evaluateLocally(request, responseObserver);
+                return;
+            }
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        });
+    }
 
-        RiskAssessment response = RiskAssessment.newBuilder()
+    // Messages are evaluated inline on the call's serialized callback thread, so a stream costs one
+    // executor handoff per batch of delivered messages rather than one per transaction.
+    @Override
+    public StreamObserver<TransactionRequest> evaluateTransactions(StreamObserver<RiskAssessment> responseObserver) {
+        return new TransactionEvaluationStream(
+            this,
+            clusterRouter,
+            (ServerCallStreamObserver<RiskAssessment>) responseObserver,
+            properties.getStreamRequestWindow()
+        );
+    }
+
+    // Batches are evaluated on the receiving pod even when cluster routing is enabled; a batch may
+    // span many owners and splitting it would bring back the per-transaction hops it avoids.
+    @Override
+    public void evaluateTransactionBatch(
+        TransactionBatch batch,
+        StreamObserver<RiskAssessmentBatch> responseObserver
+    ) {
+        if (batch.getTransactionsCount() > properties.getBatchMaxSize()) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                .withDescription("Batch of " + batch.getTransactionsCount()
+                    + " transactions exceeds limit " + properties.getBatchMaxSize())
+                .asRuntimeException());
+            return;
+        }
+        List<RiskAssessment> assessments;
+        try {
+            assessments = batchEvaluator.evaluate(batch.getTransactionsList(), this::assess);
+        } catch (RejectedExecutionException ex) {
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                .withDescription(ex.getMessage())
+                .asRuntimeException());
+            return;
+        }
+
+        responseObserver.onNext(RiskAssessmentBatch.newBuilder().addAllAssessments(assessments).build());
+        responseObserver.onCompleted();
+    }
+
+    // Subscribers only see decisions made by this replica, over gRPC or from SQS; with cluster routing
+    // they watch every pod.
+    @Override
+    public void watchDecisions(WatchDecisionsRequest request, StreamObserver<DecisionEvent> responseObserver) {
+        if (decisionBroadcaster == null) {
+            responseObserver.onError(Status.UNIMPLEMENTED
+                .withDescription("Decision watch is disabled")
+                .asRuntimeException());
+            return;
+        }
+        decisionBroadcaster.subscribe(request, (ServerCallStreamObserver<DecisionEvent>) responseObserver);
+    }
+
+    // Unary entry point, for direct and forwarded calls alike. Only these calls are micro-batched:
+    // stream and batch messages are already evaluated back to back on one thread.
+    public void evaluateLocally(TransactionRequest request, StreamObserver<RiskAssessment> responseObserver) {
+        assessAsync(request, microBatcher != null).whenComplete((response, error) -> {
+            if (error != null) {
+                responseObserver.onError(failureStatus(error).asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        });
+    }
+
+    // Every local evaluation funnels through here. Retries of a cached transaction_id get the original
+    // answer, and only the evaluation that produced it is persisted and broadcast, by the replica that
+    // made it; a forwarding replica only relays the owner's answer.
+    RiskAssessment assess(TransactionRequest request) {
+        if (decisionCache != null) {
+            return decisionCache.getOrEvaluate(
+                request.getTransactionId(),
+                DecisionCache.fingerprint(request),
+                () -> decide(request, false)
+            );
+        }
+        return decide(request, false);
+    }
+
+    // For unary calls and streams, which may run inline on a transport thread: a duplicate of a
+    // transaction_id still being evaluated is answered when that evaluation finishes instead of
+    // parking the thread until then.
+    CompletableFuture<RiskAssessment> assessAsync(TransactionRequest request) {
+        return assessAsync(request, false);
+    }
+
+    private CompletableFuture<RiskAssessment> assessAsync(TransactionRequest request, boolean coalesce) {
+        if (decisionCache != null) {
+            return decisionCache.getOrEvaluateAsync(
+                request.getTransactionId(),
+                DecisionCache.fingerprint(request),
+                () -> decide(request, coalesce)
+            );
+        }
+        try {
+            return CompletableFuture.completedFuture(decide(request, coalesce));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    static Status failureStatus(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            return Status.RESOURCE_EXHAUSTED.withDescription(cause.getMessage());
+        }
+        return Status.fromThrowable(cause);
+    }
+
+    private RiskAssessment decide(TransactionRequest request, boolean coalesce) {
+        RuleResult result = evaluate(request, coalesce);
+        RiskAssessment assessment = RiskAssessment.newBuilder()
             .setTransactionId(request.getTransactionId())
             .setRiskScore(result.riskScore())
             .setDecision(result.decision())
             .setReason(result.reason())
             .build();
+        if (decisionWriter != null) {
+            decisionWriter.offer(assessment);
+        }
+        if (decisionBroadcaster != null) {
+            decisionBroadcaster.publish(request.getAccountId(), assessment);
+        }
+        return assessment;
+    }
 
-        responseObserver.onNext(response);
-        responseObserver.onCompleted();
+    private RuleResult evaluate(TransactionRequest request, boolean coalesce) {
+        if (shardedEngine != null) {
+            return shardedEngine.evaluate(TransactionView.of(request));
+        }
+        if (coalesce) {
+            return microBatcher.evaluate(request);
+        }
+        return ruleEngine.evaluate(request);
     }
 }
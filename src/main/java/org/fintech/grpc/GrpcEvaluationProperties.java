@@ -0,0 +1,161 @@
+package org.fintech.grpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fraud.grpc")
+public class GrpcEvaluationProperties {
+
+    private int streamRequestWindow = 64;
+    private int batchMaxSize = 10_000;
+    private int batchParallelThreshold = 64;
+    private int batchChunkSize = 32;
+    private int batchParallelism = 0;
+    private boolean pooledMarshallers = true;
+    private boolean cacheEnabled = true;
+    private int cacheMaxEntries = 100_000;
+    private long cacheTtlMillis = 300_000;
+    private boolean microBatchEnabled = false;
+    private int microBatchMaxSize = 16;
+    private long microBatchMaxLingerMicros = 50;
+    private int microBatchMaxLeaders = 0;
+    private boolean watchEnabled = true;
+    private int watchRingSize = 8_192;
+    private int watchMaxSubscribers = 512;
+    private boolean watchDisconnectLagging = false;
+
+    public int getStreamRequestWindow() {
+        return streamRequestWindow;
+    }
+
+    public void setStreamRequestWindow(int streamRequestWindow) {
+        this.streamRequestWindow = streamRequestWindow;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public int getBatchParallelThreshold() {
+        return batchParallelThreshold;
+    }
+
+    public void setBatchParallelThreshold(int batchParallelThreshold) {
+        this.batchParallelThreshold = batchParallelThreshold;
+    }
+
+    public int getBatchChunkSize() {
+        return batchChunkSize;
+    }
+
+    public void setBatchChunkSize(int batchChunkSize) {
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+
+    public boolean isPooledMarshallers() {
+        return pooledMarshallers;
+    }
+
+    public void setPooledMarshallers(boolean pooledMarshallers) {
+        this.pooledMarshallers = pooledMarshallers;
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public long getCacheTtlMillis() {
+        return cacheTtlMillis;
+    }
+
+    public void setCacheTtlMillis(long cacheTtlMillis) {
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    public boolean isMicroBatchEnabled() {
+        return microBatchEnabled;
+    }
+
+    public void setMicroBatchEnabled(boolean microBatchEnabled) {
+        this.microBatchEnabled = microBatchEnabled;
+    }
+
+    public int getMicroBatchMaxSize() {
+        return microBatchMaxSize;
+    }
+
+    public void setMicroBatchMaxSize(int microBatchMaxSize) {
+        this.microBatchMaxSize = microBatchMaxSize;
+    }
+
+    public long getMicroBatchMaxLingerMicros() {
+        return microBatchMaxLingerMicros;
+    }
+
+    public void setMicroBatchMaxLingerMicros(long microBatchMaxLingerMicros) {
+        this.microBatchMaxLingerMicros = microBatchMaxLingerMicros;
+    }
+
+    public int getMicroBatchMaxLeaders() {
+        return microBatchMaxLeaders;
+    }
+
+    public void setMicroBatchMaxLeaders(int microBatchMaxLeaders) {
+        this.microBatchMaxLeaders = microBatchMaxLeaders;
+    }
+
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    public void setWatchEnabled(boolean watchEnabled) {
+        this.watchEnabled = watchEnabled;
+    }
+
+    public int getWatchRingSize() {
+        return watchRingSize;
+    }
+
+    public void setWatchRingSize(int watchRingSize) {
+        this.watchRingSize = watchRingSize;
+    }
+
+    public int getWatchMaxSubscribers() {
+        return watchMaxSubscribers;
+    }
+
+    public void setWatchMaxSubscribers(int watchMaxSubscribers) {
+        this.watchMaxSubscribers = watchMaxSubscribers;
+    }
+
+    public boolean isWatchDisconnectLagging() {
+        return watchDisconnectLagging;
+    }
+
+    public void setWatchDisconnectLagging(boolean watchDisconnectLagging) {
+        this.watchDisconnectLagging = watchDisconnectLagging;
+    }
+}
@@ -0,0 +1,183 @@
+package org.fintech.grpc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import org.fintech.proto.v1.TransactionRequest;
+import org.fintech.rules.RuleResult;
+
+// Coalesces concurrent unary evaluations without a dedicated thread. Each caller queues its request
+// and then either becomes one of up to `maxLeaders` leaders or parks. A leader spins for the current
+// linger (a few microseconds) to let more requests arrive, drains up to `maxBatchSize`, evaluates
+// them in one call and wakes their owners. Callers that arrive while every leader is busy queue up
+// and are picked up by the next drain, so batches form under load even with no linger at all.
+public class MicroBatcher {
+
+    // Followers re-check periodically in case they queued just after the last leader's final drain.
+    // Re-checks fall when the max linger runs out, so a stranded follower waits no longer than a
+    // batched one would; the floor keeps a zero linger from turning the wait into a spin.
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final Function<List<TransactionRequest>, List<RuleResult>> evaluator;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final int maxLeaders;
+    private final Queue<Slot> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger leaders = new AtomicInteger();
+    private final DistributionSummary batchSize;
+    private final Timer linger;
+    private volatile long lingerNanos;
+
+    public MicroBatcher(
+        Function<List<TransactionRequest>, List<RuleResult>> evaluator,
+        int maxBatchSize,
+        long maxLingerMicros,
+        int maxLeaders,
+        MeterRegistry meterRegistry
+    ) {
+        this.evaluator = evaluator;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxLingerNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxLingerMicros));
+        this.maxLeaders = maxLeaders > 0 ? maxLeaders : Runtime.getRuntime().availableProcessors();
+        this.lingerNanos = maxLingerNanos / 2;
+        this.batchSize = DistributionSummary.builder("fraud.grpc.microbatch.size").register(meterRegistry);
+        this.linger = meterRegistry.timer("fraud.grpc.microbatch.linger");
+        Gauge.builder("fraud.grpc.microbatch.linger.target", this, batcher -> batcher.lingerNanos / 1_000.0)
+            .baseUnit("microseconds")
+            .register(meterRegistry);
+    }
+
+    public RuleResult evaluate(TransactionRequest request) {
+        long queuedAt = System.nanoTime();
+        Slot slot = new Slot(request, Thread.currentThread());
+        pending.add(slot);
+        pendingCount.incrementAndGet();
+        while (!slot.done) {
+            if (tryLead()) {
+                try {
+                    lead();
+                } finally {
+                    leaders.decrementAndGet();
+                }
+            } else {
+                LockSupport.parkNanos(this, followerParkNanos(System.nanoTime() - queuedAt));
+            }
+        }
+        if (slot.error != null) {
+            throw slot.error;
+        }
+        return slot.result;
+    }
+
+    long followerParkNanos(long waitedNanos) {
+        if (maxLingerNanos <= MIN_PARK_NANOS) {
+            return MIN_PARK_NANOS;
+        }
+        long remaining = maxLingerNanos - waitedNanos % maxLingerNanos;
+        return Math.min(MAX_PARK_NANOS, Math.max(MIN_PARK_NANOS, remaining));
+    }
+
+    long lingerNanos() {
+        return lingerNanos;
+    }
+
+    int pending() {
+        return pendingCount.get();
+    }
+
+    private boolean tryLead() {
+        while (true) {
+            int current = leaders.get();
+            if (current >= maxLeaders) {
+                return false;
+            }
+            if (leaders.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void lead() {
+        long start = System.nanoTime();
+        long deadline = start + lingerNanos;
+        while (pendingCount.get() < maxBatchSize && System.nanoTime() - deadline < 0) {
+            Thread.onSpinWait();
+        }
+        List<Slot> batch = new ArrayList<>(maxBatchSize);
+        while (batch.size() < maxBatchSize) {
+            Slot slot = pending.poll();
+            if (slot == null) {
+                break;
+            }
+            pendingCount.decrementAndGet();
+            batch.add(slot);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        linger.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSize.record(batch.size());
+        adapt(batch.size());
+
+        List<TransactionRequest> requests = new ArrayList<>(batch.size());
+        for (Slot slot : batch) {
+            requests.add(slot.request);
+        }
+        try {
+            List<RuleResult> results = evaluator.apply(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result = results.get(i);
+            }
+        } catch (RuntimeException ex) {
+            for (Slot slot : batch) {
+                slot.error = ex;
+            }
+        }
+        Thread self = Thread.currentThread();
+        for (Slot slot : batch) {
+            slot.done = true;
+            if (slot.owner != self) {
+                LockSupport.unpark(slot.owner);
+            }
+        }
+    }
+
+    // A full batch did not need the wait and a lone request got nothing from it, so both shrink the
+    // linger; a partial batch means more requests were close behind, so it grows toward the cap.
+    private void adapt(int size) {
+        long current = lingerNanos;
+        long next;
+        if (size >= maxBatchSize || size <= 1) {
+            next = current / 2;
+        } else {
+            next = Math.min(maxLingerNanos, current + Math.max(current / 4, 1_000));
+        }
+        lingerNanos = next;
+    }
+
+    private static final class Slot {
+
+        private final TransactionRequest request;
+        private final Thread owner;
+        private RuleResult result;
+        private RuntimeException error;
+        // Written last by the leader, so a caller that sees it also sees result and error.
+        private volatile boolean done;
+
+        private Slot(TransactionRequest request, Thread owner) {
+            this.request = request;
+            this.owner = owner;
+        }
+    }
+}
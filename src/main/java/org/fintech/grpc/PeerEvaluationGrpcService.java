@@ -0,0 +1,37 @@
+package org.fintech.grpc;
+
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.fintech.cluster.ClusterProperties;
+import org.fintech.cluster.PeerTokenInterceptor;
+import org.fintech.proto.v1.FraudDetectionPeerServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+@GrpcService
+@ConditionalOnProperty(prefix = "cluster", name = "enabled", havingValue = "true")
+public class PeerEvaluationGrpcService extends FraudDetectionPeerServiceGrpc.FraudDetectionPeerServiceImplBase {
+
+    private final FraudDetectionGrpcService fraudDetectionService;
+    private final PeerTokenInterceptor peerToken;
+
+    public PeerEvaluationGrpcService(FraudDetectionGrpcService fraudDetectionService, ClusterProperties properties) {
+        this.fraudDetectionService = fraudDetectionService;
+        this.peerToken = new PeerTokenInterceptor(properties.getPeerToken());
+    }
+
+    @Override
+    public ServerServiceDefinition bindService() {
+        return ServerInterceptors.intercept(fraudDetectionService.withMarshallers(super.bindService()), peerToken);
+    }
+
+    // Forwarded requests are always evaluated here, even if this pod's ring disagrees about the
+    // owner, so a membership change can never bounce a request between pods.
+    @Override
+    public void evaluateForwarded(TransactionRequest request, StreamObserver<RiskAssessment> responseObserver) {
+        fraudDetectionService.evaluateLocally(request, responseObserver);
+    }
+}
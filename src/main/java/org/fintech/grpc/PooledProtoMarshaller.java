@@ -0,0 +1,246 @@
+package org.fintech.grpc;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import io.grpc.Detachable;
+import io.grpc.Drainable;
+import io.grpc.HasByteBuffer;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces grpc-protobuf's marshaller on the server's hot messages.
+// - Parsing: when the transport hands over a Detachable stream backed by its own (usually pooled
+//   direct) buffers, the message is decoded straight from those ByteBuffers instead of being copied
+//   into a heap array first. Our messages only carry strings and scalars, which the parser copies
+//   out, so the transport buffers are released as soon as parsing finishes.
+// - Serializing: the stock stream allocates a CodedOutputStream buffer per message when gRPC drains
+//   it into its pooled transport buffer; this one serializes into a reused per-thread scratch array
+//   and writes that in one call.
+public final class PooledProtoMarshaller<T extends MessageLite> implements MethodDescriptor.PrototypeMarshaller<T> {
+
+    private static final int MAX_POOLED_BYTES = 64 * 1024;
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[1024]);
+
+    private final T prototype;
+    private final Parser<T> parser;
+
+    @SuppressWarnings("unchecked")
+    public PooledProtoMarshaller(T prototype) {
+        this.prototype = prototype;
+        this.parser = (Parser<T>) prototype.getParserForType();
+    }
+
+    // Rebuilds a bound service so every protobuf request/response marshaller is pooled; handlers,
+    // method names and the schema descriptor are unchanged.
+    public static ServerServiceDefinition rebind(ServerServiceDefinition definition) {
+        ServiceDescriptor original = definition.getServiceDescriptor();
+        ServiceDescriptor.Builder descriptor = ServiceDescriptor.newBuilder(original.getName())
+            .setSchemaDescriptor(original.getSchemaDescriptor());
+        List<ServerMethodDefinition<?, ?>> methods = new ArrayList<>();
+        for (ServerMethodDefinition<?, ?> method : definition.getMethods()) {
+            ServerMethodDefinition<?, ?> rebound = withPooledMarshallers(method);
+            descriptor.addMethod(rebound.getMethodDescriptor());
+            methods.add(rebound);
+        }
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(descriptor.build());
+        methods.forEach(builder::addMethod);
+        return builder.build();
+    }
+
+    @Override
+    public Class<T> getMessageClass() {
+        @SuppressWarnings("unchecked")
+        Class<T> messageClass = (Class<T>) prototype.getClass();
+        return messageClass;
+    }
+
+    @Override
+    public T getMessagePrototype() {
+        return prototype;
+    }
+
+    @Override
+    public InputStream stream(T value) {
+        return new MessageStream(value);
+    }
+
+    @Override
+    public T parse(InputStream stream) {
+        try {
+            if (stream instanceof Detachable && stream instanceof HasByteBuffer
+                && ((HasByteBuffer) stream).byteBufferSupported()) {
+                T message = parseDetached((Detachable) stream);
+                if (message != null) {
+                    return message;
+                }
+            }
+            if (stream instanceof KnownLength) {
+                int size = stream.available();
+                if (size == 0) {
+                    return prototype;
+                }
+                if (size > 0 && size <= MAX_POOLED_BYTES && !Thread.currentThread().isVirtual()) {
+                    byte[] buffer = scratch(size);
+                    int read = 0;
+                    while (read < size) {
+                        int count = stream.read(buffer, read, size - read);
+                        if (count == -1) {
+                            break;
+                        }
+                        read += count;
+                    }
+                    if (read == size) {
+                        return parse(CodedInputStream.newInstance(buffer, 0, size));
+                    }
+                    throw new IOException("Expected " + size + " bytes but read " + read);
+                }
+            }
+            return parse(CodedInputStream.newInstance(stream));
+        } catch (IOException ex) {
+            throw Status.INTERNAL.withDescription("Invalid protobuf byte sequence").withCause(ex).asRuntimeException();
+        }
+    }
+
+    private T parseDetached(Detachable source) throws IOException {
+        InputStream detached = source.detach();
+        try {
+            if (!detached.markSupported()) {
+                return parse(CodedInputStream.newInstance(detached));
+            }
+            // mark() keeps already-consumed transport buffers alive until close(), so every
+            // ByteBuffer collected here stays valid while the parser walks them.
+            detached.mark(Integer.MAX_VALUE);
+            List<ByteBuffer> buffers = new ArrayList<>(2);
+            while (detached.available() > 0) {
+                ByteBuffer buffer = ((HasByteBuffer) detached).getByteBuffer();
+                if (buffer == null || !buffer.hasRemaining()) {
+                    break;
+                }
+                buffers.add(buffer);
+                detached.skip(buffer.remaining());
+            }
+            if (detached.available() > 0) {
+                detached.reset();
+                return parse(CodedInputStream.newInstance(detached));
+            }
+            if (buffers.isEmpty()) {
+                return prototype;
+            }
+            CodedInputStream input = buffers.size() == 1
+                ? CodedInputStream.newInstance(buffers.get(0))
+                : CodedInputStream.newInstance(buffers);
+            return parse(input);
+        } finally {
+            detached.close();
+        }
+    }
+
+    private T parse(CodedInputStream input) throws InvalidProtocolBufferException {
+        input.setSizeLimit(Integer.MAX_VALUE);
+        T message = parser.parseFrom(input, ExtensionRegistryLite.getEmptyRegistry());
+        input.checkLastTagWas(0);
+        return message;
+    }
+
+    private static byte[] scratch(int size) {
+        byte[] buffer = SCRATCH.get();
+        if (buffer.length < size) {
+            buffer = new byte[Math.max(size, Math.min(MAX_POOLED_BYTES, buffer.length * 2))];
+            SCRATCH.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static <ReqT, RespT> ServerMethodDefinition<ReqT, RespT> withPooledMarshallers(
+        ServerMethodDefinition<ReqT, RespT> method
+    ) {
+        MethodDescriptor<ReqT, RespT> descriptor = method.getMethodDescriptor();
+        MethodDescriptor<ReqT, RespT> rebuilt = descriptor.toBuilder(
+            pooled(descriptor.getRequestMarshaller()),
+            pooled(descriptor.getResponseMarshaller())
+        ).build();
+        return ServerMethodDefinition.create(rebuilt, method.getServerCallHandler());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <M> MethodDescriptor.Marshaller<M> pooled(MethodDescriptor.Marshaller<M> marshaller) {
+        if (marshaller instanceof MethodDescriptor.PrototypeMarshaller<M> prototypeMarshaller
+            && prototypeMarshaller.getMessagePrototype() instanceof MessageLite prototype) {
+            return new PooledProtoMarshaller(prototype);
+        }
+        return marshaller;
+    }
+
+    // gRPC drains outbound messages through drainTo(); read() is only a fallback for transports or
+    // interceptors that consume the stream directly.
+    private static final class MessageStream extends InputStream implements Drainable, KnownLength {
+        private MessageLite message;
+        private ByteArrayInputStream fallback;
+
+        MessageStream(MessageLite message) {
+            this.message = message;
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            if (message == null) {
+                return fallback == null ? 0 : (int) fallback.transferTo(target);
+            }
+            int size = message.getSerializedSize();
+            if (size > MAX_POOLED_BYTES || Thread.currentThread().isVirtual()) {
+                message.writeTo(target);
+            } else if (size > 0) {
+                byte[] buffer = scratch(size);
+                CodedOutputStream output = CodedOutputStream.newInstance(buffer, 0, size);
+                message.writeTo(output);
+                output.checkNoSpaceLeft();
+                target.write(buffer, 0, size);
+            }
+            message = null;
+            return size;
+        }
+
+        @Override
+        public int read() {
+            return materialize().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            return materialize().read(buffer, offset, length);
+        }
+
+        @Override
+        public int available() {
+            if (message != null) {
+                return message.getSerializedSize();
+            }
+            return fallback == null ? 0 : fallback.available();
+        }
+
+        private ByteArrayInputStream materialize() {
+            if (message != null) {
+                fallback = new ByteArrayInputStream(message.toByteArray());
+                message = null;
+            } else if (fallback == null) {
+                fallback = new ByteArrayInputStream(new byte[0]);
+            }
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.fintech.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fintech.cluster.ClusterNode;
+import org.fintech.cluster.ClusterRouter;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+
+// Inbound messages are pulled with manual flow control: at most `window` requests are outstanding,
+// and a new one is requested only after a response has been written while the transport still has
+// room. A client that stops reading responses therefore stops being read from, instead of filling
+// server memory with buffered assessments.
+final class TransactionEvaluationStream implements StreamObserver<TransactionRequest> {
+
+    private final FraudDetectionGrpcService service;
+    private final ClusterRouter clusterRouter;
+    private final ServerCallStreamObserver<RiskAssessment> responses;
+    private final Object lock = new Object();
+    // One for the open inbound side plus one per message not yet answered.
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private int owedRequests;
+    private boolean done;
+
+    TransactionEvaluationStream(
+        FraudDetectionGrpcService service,
+        ClusterRouter clusterRouter,
+        ServerCallStreamObserver<RiskAssessment> responses,
+        int window
+    ) {
+        this.service = service;
+        this.clusterRouter = clusterRouter;
+        this.responses = responses;
+        responses.disableAutoRequest();
+        responses.setOnReadyHandler(this::onReady);
+        responses.setOnCancelHandler(() -> {
+            synchronized (lock) {
+                done = true;
+            }
+        });
+        responses.request(Math.max(1, window));
+    }
+
+    @Override
+    public void onNext(TransactionRequest request) {
+        ClusterNode owner = clusterRouter != null ? clusterRouter.route(request) : null;
+        pending.incrementAndGet();
+        if (owner == null) {
+            evaluateLocally(request);
+            return;
+        }
+        clusterRouter.forward(owner, request).whenComplete((response, error) -> {
+            if (error != null) {
+                evaluateLocally(request);
+                return;
+            }
+            emit(response);
+            replenish();
+            finishOne();
+        });
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        synchronized (lock) {
+            done = true;
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        finishOne();
+    }
+
+    // Usually completes before returning. A duplicate of a transaction_id still being evaluated
+    // elsewhere is answered when that evaluation finishes, without holding the stream's thread.
+    private void evaluateLocally(TransactionRequest request) {
+        service.assessAsync(request).whenComplete((response, error) -> {
+            if (error != null) {
+                fail(FraudDetectionGrpcService.failureStatus(error));
+            } else {
+                emit(response);
+            }
+            replenish();
+            finishOne();
+        });
+    }
+
+    private void emit(RiskAssessment response) {
+        synchronized (lock) {
+            if (!done) {
+                responses.onNext(response);
+            }
+        }
+    }
+
+    private void replenish() {
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            if (responses.isReady()) {
+                responses.request(1);
+            } else {
+                owedRequests++;
+            }
+        }
+    }
+
+    private void onReady() {
+        synchronized (lock) {
+            if (!done && owedRequests > 0) {
+                int owed = owedRequests;
+                owedRequests = 0;
+                responses.request(owed);
+            }
+        }
+    }
+
+    private void finishOne() {
+        if (pending.decrementAndGet() != 0) {
+            return;
+        }
+        synchronized (lock) {
+            if (!done) {
+                done = true;
+                responses.onCompleted();
+            }
+        }
+    }
+
+    private void fail(Status status) {
+        synchronized (lock) {
+            if (!done) {
+                done = true;
+                responses.onError(status.asRuntimeException());
+            }
+        }
+    }
+}
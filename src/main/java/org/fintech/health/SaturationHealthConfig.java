@@ -0,0 +1,69 @@
+package org.fintech.health;
+
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.IntSupplier;
+import org.fintech.config.BoundedVirtualThreadExecutor;
+import org.fintech.metrics.GrpcServerMetrics;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SaturationHealthProperties.class)
+@ConditionalOnProperty(prefix = "grpc.health", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SaturationHealthConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    SaturationHealthMonitor saturationHealthMonitor(
+        HealthStatusManager healthStatusManager,
+        SaturationHealthProperties properties,
+        ExecutorService grpcExecutor,
+        ObjectProvider<GrpcServerMetrics> serverMetricsProvider,
+        MeterRegistry meterRegistry
+    ) {
+        GrpcServerMetrics serverMetrics = serverMetricsProvider.getIfAvailable();
+        IntSupplier inFlight = serverMetrics != null ? serverMetrics::inFlight : () -> 0;
+        return new SaturationHealthMonitor(
+            healthStatusManager,
+            List.of(FraudDetectionServiceGrpc.SERVICE_NAME),
+            properties,
+            queueDepth(grpcExecutor),
+            inFlight,
+            SaturationHealthConfig::gcPauseMillis,
+            meterRegistry
+        );
+    }
+
+    private static IntSupplier queueDepth(ExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return () -> pool.getQueue().size();
+        }
+        if (executor instanceof BoundedVirtualThreadExecutor bounded) {
+            return bounded::waiting;
+        }
+        return () -> 0;
+    }
+
+    // Collectors that report concurrent work ("G1 Concurrent GC", "ZGC Cycles") are skipped; only
+    // stop-the-world time stalls request handling.
+    private static long gcPauseMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String name = collector.getName();
+            if (name.contains("Concurrent") || name.contains("Cycles")) {
+                continue;
+            }
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,142 @@
+package org.fintech.health;
+
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Publishes NOT_SERVING through the standard grpc.health.v1 service while the pod is saturated, so
+// gRPC-aware balancers and the readiness probe stop sending it new work instead of letting it queue.
+// Tripping is immediate; recovery needs every signal under its low watermark for several checks in
+// a row, so a pod hovering at the threshold does not flap in and out of the endpoint list.
+public class SaturationHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(SaturationHealthMonitor.class);
+
+    private final HealthStatusManager healthStatusManager;
+    private final List<String> services;
+    private final SaturationHealthProperties properties;
+    private final IntSupplier queueDepth;
+    private final IntSupplier inFlight;
+    private final LongSupplier gcPauseMillis;
+    private final Counter notServingTransitions;
+    private volatile boolean serving = true;
+    private int healthyChecks;
+    private long lastGcPauseMillis;
+    private ScheduledExecutorService checker;
+
+    public SaturationHealthMonitor(
+        HealthStatusManager healthStatusManager,
+        List<String> services,
+        SaturationHealthProperties properties,
+        IntSupplier queueDepth,
+        IntSupplier inFlight,
+        LongSupplier gcPauseMillis,
+        MeterRegistry meterRegistry
+    ) {
+        this.healthStatusManager = healthStatusManager;
+        this.services = services;
+        this.properties = properties;
+        this.queueDepth = queueDepth;
+        this.inFlight = inFlight;
+        this.gcPauseMillis = gcPauseMillis;
+        this.lastGcPauseMillis = gcPauseMillis.getAsLong();
+        this.notServingTransitions = meterRegistry.counter("grpc.health.not_serving.transitions");
+        Gauge.builder("grpc.health.serving", this, monitor -> monitor.serving ? 1 : 0).register(meterRegistry);
+    }
+
+    public void start() {
+        publish(ServingStatus.SERVING);
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grpc-health-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(100, properties.getCheckIntervalMillis());
+        checker.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void close() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    public boolean isServing() {
+        return serving;
+    }
+
+    void check() {
+        int queued = queueDepth.getAsInt();
+        int calls = inFlight.getAsInt();
+        long gcTotal = gcPauseMillis.getAsLong();
+        long gcPause = gcTotal - lastGcPauseMillis;
+        lastGcPauseMillis = gcTotal;
+
+        if (serving) {
+            String reason = tripReason(queued, calls, gcPause);
+            if (reason != null) {
+                serving = false;
+                healthyChecks = 0;
+                notServingTransitions.increment();
+                publish(ServingStatus.NOT_SERVING);
+                log.warn("event=grpc_health_not_serving reason={} queue_depth={} in_flight={} gc_pause_ms={}",
+                    reason, queued, calls, gcPause);
+            }
+            return;
+        }
+        if (!recovered(queued, calls, gcPause)) {
+            healthyChecks = 0;
+            return;
+        }
+        if (++healthyChecks >= Math.max(1, properties.getRecoveryChecks())) {
+            serving = true;
+            publish(ServingStatus.SERVING);
+            log.info("event=grpc_health_serving queue_depth={} in_flight={} gc_pause_ms={}", queued, calls, gcPause);
+        }
+    }
+
+    private String tripReason(int queued, int calls, long gcPause) {
+        if (above(queued, properties.getQueueDepthHigh())) {
+            return "queue_depth";
+        }
+        if (above(calls, properties.getInFlightHigh())) {
+            return "in_flight";
+        }
+        if (above(gcPause, properties.getGcPauseHighMillis())) {
+            return "gc_pause";
+        }
+        return null;
+    }
+
+    private boolean recovered(int queued, int calls, long gcPause) {
+        return below(queued, properties.getQueueDepthHigh(), properties.getQueueDepthLow())
+            && below(calls, properties.getInFlightHigh(), properties.getInFlightLow())
+            && below(gcPause, properties.getGcPauseHighMillis(), properties.getGcPauseLowMillis());
+    }
+
+    private static boolean above(long value, long high) {
+        return high > 0 && value >= high;
+    }
+
+    private static boolean below(long value, long high, long low) {
+        return high <= 0 || value <= low;
+    }
+
+    private void publish(ServingStatus status) {
+        // The empty service name is the overall server status that probes and balancers ask for.
+        healthStatusManager.setStatus(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, status);
+        for (String service : services) {
+            healthStatusManager.setStatus(service, status);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.fintech.health;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Each signal has a high watermark that flips the pod to NOT_SERVING and a lower one it must drop
+// back under before it serves again. A high watermark of 0 disables that signal.
+@ConfigurationProperties(prefix = "grpc.health")
+public class SaturationHealthProperties {
+
+    private boolean enabled = true;
+    private long checkIntervalMillis = 1000;
+    private int recoveryChecks = 3;
+    private int queueDepthHigh = 768;
+    private int queueDepthLow = 256;
+    private int inFlightHigh = 0;
+    private int inFlightLow = 0;
+    private long gcPauseHighMillis = 250;
+    private long gcPauseLowMillis = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getCheckIntervalMillis() {
+        return checkIntervalMillis;
+    }
+
+    public void setCheckIntervalMillis(long checkIntervalMillis) {
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    public int getRecoveryChecks() {
+        return recoveryChecks;
+    }
+
+    public void setRecoveryChecks(int recoveryChecks) {
+        this.recoveryChecks = recoveryChecks;
+    }
+
+    public int getQueueDepthHigh() {
+        return queueDepthHigh;
+    }
+
+    public void setQueueDepthHigh(int queueDepthHigh) {
+        this.queueDepthHigh = queueDepthHigh;
+    }
+
+    public int getQueueDepthLow() {
+        return queueDepthLow;
+    }
+
+    public void setQueueDepthLow(int queueDepthLow) {
+        this.queueDepthLow = queueDepthLow;
+    }
+
+    public int getInFlightHigh() {
+        return inFlightHigh;
+    }
+
+    public void setInFlightHigh(int inFlightHigh) {
+        this.inFlightHigh = inFlightHigh;
+    }
+
+    public int getInFlightLow() {
+        return inFlightLow;
+    }
+
+    public void setInFlightLow(int inFlightLow) {
+        this.inFlightLow = inFlightLow;
+    }
+
+    public long getGcPauseHighMillis() {
+        return gcPauseHighMillis;
+    }
+
+    public void setGcPauseHighMillis(long gcPauseHighMillis) {
+        this.gcPauseHighMillis = gcPauseHighMillis;
+    }
+
+    public long getGcPauseLowMillis() {
+        return gcPauseLowMillis;
+    }
+
+    public void setGcPauseLowMillis(long gcPauseLowMillis) {
+        this.gcPauseLowMillis = gcPauseLowMillis;
+    }
+}
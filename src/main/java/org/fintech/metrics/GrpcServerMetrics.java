@@ -0,0 +1,228 @@
+package org.fintech.metrics;
+
+import io.grpc.Context;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerStreamTracer;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// A stream tracer sees a call from the moment the transport creates it until it closes, which the
+// interceptor cannot: the gap between stream creation and serverCallStarted is the time spent
+// waiting for the executor. The interceptor adds the time spent inside listener callbacks (the
+// handler), found through the tracer the transport stored in the call's Context.
+//
+// The method tag comes from the request path, which any client can make up, so only the methods of
+// the services passed in get their own meters; every other name is recorded under `unknown`.
+public class GrpcServerMetrics extends ServerStreamTracer.Factory implements ServerInterceptor {
+
+    private static final Context.Key<CallTracer> TRACER = Context.key("grpc-server-metrics-tracer");
+    static final String UNKNOWN_METHOD = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean histograms;
+    private final Map<String, MethodMeters> methods;
+    private final MethodMeters unknownMethod;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public GrpcServerMetrics(MeterRegistry meterRegistry, boolean histograms, Collection<ServiceDescriptor> services) {
+        this.meterRegistry = meterRegistry;
+        this.histograms = histograms;
+        Map<String, MethodMeters> known = new HashMap<>();
+        for (ServiceDescriptor service : services) {
+            for (MethodDescriptor<?, ?> method : service.getMethods()) {
+                known.put(method.getFullMethodName(), new MethodMeters(method.getFullMethodName()));
+            }
+        }
+        this.methods = Map.copyOf(known);
+        this.unknownMethod = new MethodMeters(UNKNOWN_METHOD);
+        Gauge.builder("grpc.server.in_flight.total", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+        return new CallTracer(methods.getOrDefault(fullMethodName, unknownMethod));
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call,
+        Metadata headers,
+        ServerCallHandler<ReqT, RespT> next
+    ) {
+        CallTracer tracer = TRACER.get();
+        if (tracer == null) {
+            return next.startCall(call, headers);
+        }
+        long start = System.nanoTime();
+        ServerCall.Listener<ReqT> delegate;
+        try {
+            delegate = next.startCall(call, headers);
+        } finally {
+            tracer.handlerNanos += System.nanoTime() - start;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(delegate) {
+            @Override
+            public void onMessage(ReqT message) {
+                long begin = System.nanoTime();
+                try {
+                    super.onMessage(message);
+                } finally {
+                    tracer.handlerNanos += System.nanoTime() - begin;
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                long begin = System.nanoTime();
+                try {
+                    super.onHalfClose();
+                } finally {
+                    tracer.handlerNanos += System.nanoTime() - begin;
+                }
+            }
+
+            @Override
+            public void onReady() {
+                long begin = System.nanoTime();
+                try {
+                    super.onReady();
+                } finally {
+                    tracer.handlerNanos += System.nanoTime() - begin;
+                }
+            }
+        };
+    }
+
+    private final class CallTracer extends ServerStreamTracer {
+        private final MethodMeters meters;
+        private final long createdNanos = System.nanoTime();
+        private volatile long startedNanos;
+        // Listener callbacks are serialized per call, so the single writer makes += safe; volatile
+        // publishes the total to the transport thread that closes the stream.
+        private volatile long handlerNanos;
+        private volatile long inboundBytes;
+        private volatile long outboundBytes;
+
+        CallTracer(MethodMeters meters) {
+            this.meters = meters;
+            meters.inFlight.incrementAndGet();
+            inFlight.incrementAndGet();
+        }
+
+        @Override
+        public Context filterContext(Context context) {
+            return context.withValue(TRACER, this);
+        }
+
+        @Override
+        public void serverCallStarted(ServerCallInfo<?, ?> callInfo) {
+            startedNanos = System.nanoTime();
+        }
+
+        @Override
+        public void inboundUncompressedSize(long bytes) {
+            if (bytes > 0) {
+                inboundBytes += bytes;
+            }
+        }
+
+        @Override
+        public void outboundUncompressedSize(long bytes) {
+            if (bytes > 0) {
+                outboundBytes += bytes;
+            }
+        }
+
+        @Override
+        public void streamClosed(Status status) {
+            long now = System.nanoTime();
+            meters.inFlight.decrementAndGet();
+            inFlight.decrementAndGet();
+            StatusMeters statusMeters = meters.forStatus(status.getCode());
+            statusMeters.total.record(now - createdNanos, TimeUnit.NANOSECONDS);
+            // Calls rejected before dispatch (unknown method, shutdown) never start.
+            if (startedNanos != 0) {
+                statusMeters.queueWait.record(startedNanos - createdNanos, TimeUnit.NANOSECONDS);
+                statusMeters.handler.record(handlerNanos, TimeUnit.NANOSECONDS);
+            }
+            statusMeters.requestBytes.record(inboundBytes);
+            statusMeters.responseBytes.record(outboundBytes);
+        }
+    }
+
+    private final class MethodMeters {
+        private final String method;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicReferenceArray<StatusMeters> byStatus =
+            new AtomicReferenceArray<>(Status.Code.values().length);
+
+        MethodMeters(String method) {
+            this.method = method;
+            Gauge.builder("grpc.server.in_flight", inFlight, AtomicInteger::get)
+                .tag("method", method)
+                .register(meterRegistry);
+        }
+
+        StatusMeters forStatus(Status.Code code) {
+            StatusMeters meters = byStatus.get(code.ordinal());
+            if (meters == null) {
+                // Micrometer returns the existing meters if two closes race here.
+                meters = new StatusMeters(method, code);
+                byStatus.compareAndSet(code.ordinal(), null, meters);
+            }
+            return meters;
+        }
+    }
+
+    private final class StatusMeters {
+        private final Timer queueWait;
+        private final Timer handler;
+        private final Timer total;
+        private final DistributionSummary requestBytes;
+        private final DistributionSummary responseBytes;
+
+        StatusMeters(String method, Status.Code code) {
+            String status = code.name();
+            this.queueWait = timer("grpc.server.queue.wait", method, status);
+            this.handler = timer("grpc.server.handler.time", method, status);
+            this.total = timer("grpc.server.call.duration", method, status);
+            this.requestBytes = summary("grpc.server.request.size", method, status);
+            this.responseBytes = summary("grpc.server.response.size", method, status);
+        }
+
+        private Timer timer(String name, String method, String status) {
+            return Timer.builder(name)
+                .tag("method", method)
+                .tag("status", status)
+                .publishPercentileHistogram(histograms)
+                .register(meterRegistry);
+        }
+
+        private DistributionSummary summary(String name, String method, String status) {
+            return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tag("method", method)
+                .tag("status", status)
+                .register(meterRegistry);
+        }
+    }
+}
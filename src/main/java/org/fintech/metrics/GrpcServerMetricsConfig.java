@@ -0,0 +1,38 @@
+package org.fintech.metrics;
+
+import io.grpc.health.v1.HealthGrpc;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.fintech.proto.v1.FraudDetectionPeerServiceGrpc;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+@ConditionalOnProperty(prefix = "grpc.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerMetricsConfig {
+
+    // Outermost interceptor, so handler time covers every other interceptor as well as the service.
+    @GrpcGlobalServerInterceptor
+    @Order(0)
+    GrpcServerMetrics grpcServerMetrics(
+        MeterRegistry meterRegistry,
+        @Value("${grpc.metrics.histograms:true}") boolean histograms
+    ) {
+        return new GrpcServerMetrics(meterRegistry, histograms, List.of(
+            FraudDetectionServiceGrpc.getServiceDescriptor(),
+            FraudDetectionPeerServiceGrpc.getServiceDescriptor(),
+            HealthGrpc.getServiceDescriptor()
+        ));
+    }
+
+    @Bean
+    GrpcServerConfigurer grpcServerMetricsConfigurer(GrpcServerMetrics metrics) {
+        return serverBuilder -> serverBuilder.addStreamTracerFactory(metrics);
+    }
+}
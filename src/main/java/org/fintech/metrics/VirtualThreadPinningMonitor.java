@@ -0,0 +1,30 @@
+package org.fintech.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordingStream;
+
+// Streams the JDK's jdk.VirtualThreadPinned JFR event into a timer. The event fires when a virtual
+// thread blocks while pinned to its carrier (inside synchronized or a native frame) for longer than
+// the threshold. Each such block takes a carrier thread out of the scheduler for that long.
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent blocked while pinned to a carrier thread")
+            .register(meterRegistry);
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold);
+        stream.onEvent(PINNED_EVENT, event -> pinned.record(event.getDuration()));
+        stream.startAsync();
+    }
+
+    public void close() {
+        stream.close();
+    }
+}
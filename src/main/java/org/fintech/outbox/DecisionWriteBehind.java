@@ -0,0 +1,224 @@
+package org.fintech.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.fintech.proto.v1.RiskAssessment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+// Persists gRPC decisions off the request path. Callers only pay for a queue offer; one background
+// thread groups records into conditional batch writes once a batch fills or the oldest record has
+// waited `lingerMillis`. A full buffer drops the record and counts it rather than blocking the call.
+// Records a flush could not write go back into the buffer for up to `maxAttempts` flushes, with a
+// growing pause between them; after that, or if the buffer has no room, each is put on its own
+// synchronously. The decision was already returned to the caller, so it is only given up on once
+// that put fails too. Every write is conditional, so retrying a record that did land is harmless.
+public class DecisionWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionWriteBehind.class);
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long RETRY_BACKOFF_MILLIS = 50;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 1_000;
+
+    private final OutboxRepository repository;
+    private final BlockingQueue<PendingWrite> buffer;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final long drainTimeoutMillis;
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter existing;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer flushLatency;
+    private final DistributionSummary flushSize;
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public DecisionWriteBehind(
+        OutboxRepository repository,
+        int capacity,
+        int batchSize,
+        long lingerMillis,
+        int maxAttempts,
+        long drainTimeoutMillis,
+        MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.drainTimeoutMillis = Math.max(0, drainTimeoutMillis);
+        this.enqueued = meterRegistry.counter("outbox.write_behind.enqueued");
+        this.dropped = meterRegistry.counter("outbox.write_behind.dropped");
+        this.written = meterRegistry.counter("outbox.write_behind.written");
+        this.existing = meterRegistry.counter("outbox.write_behind.existing");
+        this.retried = meterRegistry.counter("outbox.write_behind.retried");
+        this.failed = meterRegistry.counter("outbox.write_behind.failed");
+        this.flushLatency = meterRegistry.timer("outbox.write_behind.flush.latency");
+        this.flushSize = DistributionSummary.builder("outbox.write_behind.flush.size").register(meterRegistry);
+        Gauge.builder("outbox.write_behind.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public void start() {
+        flusher = new Thread(this::run, "outbox-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public boolean offer(RiskAssessment assessment) {
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+        String transactionId = assessment.getTransactionId();
+        String outboxId = StringUtils.hasText(transactionId) ? transactionId : UUID.randomUUID().toString();
+        OutboxRecord record = OutboxRecord.pending(outboxId, null, assessment, System.currentTimeMillis());
+        if (!buffer.offer(new PendingWrite(record, 1))) {
+            dropped.increment();
+            return false;
+        }
+        enqueued.increment();
+        return true;
+    }
+
+    public int buffered() {
+        return buffer.size();
+    }
+
+    // Stops taking new decisions, then gives the flusher up to the drain timeout to empty the buffer.
+    // Runs after the gRPC server has shut down, so no more offers are in flight.
+    public void close() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join(drainTimeoutMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int remaining = buffer.size();
+        if (remaining > 0) {
+            dropped.increment(remaining);
+            log.warn("event=outbox_write_behind_drain_incomplete remaining={}", remaining);
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!batch.isEmpty()) {
+                int retryAttempt = flush(batch);
+                batch.clear();
+                if (retryAttempt > 0) {
+                    backoff(retryAttempt);
+                }
+            }
+        }
+    }
+
+    private void collect(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = buffer.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            // While draining on shutdown there is nothing left to wait for.
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            // Bounded wait so a shutdown is noticed even with a long linger.
+            PendingWrite next = buffer.poll(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    // Returns the highest attempt number re-queued by this flush, or 0 when nothing was.
+    private int flush(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        flushSize.record(batch.size());
+        List<OutboxRecord> records = new ArrayList<>(batch.size());
+        Map<String, Integer> attempts = new HashMap<>();
+        for (PendingWrite write : batch) {
+            records.add(write.record());
+            attempts.merge(write.record().getOutboxId(), write.attempt(), Math::max);
+        }
+        List<OutboxRecord> unwritten;
+        try {
+            OutboxBatchResult result = repository.putBatch(records);
+            written.increment(result.written());
+            existing.increment(result.existing());
+            unwritten = result.unprocessed();
+        } catch (Exception ex) {
+            log.warn("event=outbox_write_behind_flush_failed count={}", batch.size(), ex);
+            unwritten = records;
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        int retryAttempt = 0;
+        for (OutboxRecord record : unwritten) {
+            int attempt = attempts.getOrDefault(record.getOutboxId(), maxAttempts);
+            if (attempt < maxAttempts && buffer.offer(new PendingWrite(record, attempt + 1))) {
+                retried.increment();
+                retryAttempt = Math.max(retryAttempt, attempt);
+            } else {
+                putNow(record, attempt);
+            }
+        }
+        return retryAttempt;
+    }
+
+    private void putNow(OutboxRecord record, int attempts) {
+        try {
+            if (repository.putIfAbsent(record)) {
+                written.increment();
+            } else {
+                existing.increment();
+            }
+        } catch (Exception ex) {
+            failed.increment();
+            log.warn("event=outbox_write_behind_failed outbox_id={} attempts={}",
+                record.getOutboxId(), attempts, ex);
+        }
+    }
+
+    // Pauses the flusher after a flush that re-queued records, so a throttled table gets room to
+    // recover instead of being hit again at once; new decisions keep buffering meanwhile.
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(Math.min(MAX_RETRY_BACKOFF_MILLIS, RETRY_BACKOFF_MILLIS << Math.min(attempt - 1, 10)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PendingWrite(OutboxRecord record, int attempt) {}
+}
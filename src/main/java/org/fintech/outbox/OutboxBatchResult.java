@@ -0,0 +1,7 @@
+package org.fintech.outbox;
+
+import java.util.List;
+
+// `existing` counts records skipped because their outbox_id was already stored or repeated in the
+// batch; `unprocessed` are the records that still failed after retrying.
+public record OutboxBatchResult(int written, int existing, List<OutboxRecord> unprocessed) {}
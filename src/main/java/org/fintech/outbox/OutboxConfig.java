@@ -1,5 +1,6 @@
 package org.fintech.outbox;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.URI;
 import org.fintech.sqs.SqsProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -48,6 +49,24 @@ public class OutboxConfig {
             .build();
     }
 
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "outbox", name = {"enabled", "write-behind-enabled"}, havingValue = "true")
+    DecisionWriteBehind decisionWriteBehind(
+        OutboxRepository repository,
+        OutboxProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        return new DecisionWriteBehind(
+            repository,
+            properties.getWriteBehindCapacity(),
+            properties.getWriteBehindBatchSize(),
+            properties.getWriteBehindLingerMillis(),
+            properties.getWriteBehindMaxAttempts(),
+            properties.getWriteBehindDrainTimeoutMillis(),
+            meterRegistry
+        );
+    }
+
     private static AwsCredentialsProvider resolveCredentials(
         OutboxProperties outboxProperties,
         SqsProperties sqsProperties
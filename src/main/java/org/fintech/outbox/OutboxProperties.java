@@ -18,6 +18,12 @@ public class OutboxProperties {
     private long publishBackoffMillis = 1000;
     private int publishWorkers = 2;
     private long publishClaimLeaseMillis = 5000;
+    private boolean writeBehindEnabled = true;
+    private int writeBehindCapacity = 10000;
+    private int writeBehindBatchSize = 25;
+    private long writeBehindLingerMillis = 20;
+    private int writeBehindMaxAttempts = 3;
+    private long writeBehindDrainTimeoutMillis = 5000;
 
     public boolean isEnabled() {
         return enabled;
@@ -122,4 +128,52 @@ public class OutboxProperties {
     public void setPublishClaimLeaseMillis(long publishClaimLeaseMillis) {
         this.publishClaimLeaseMillis = publishClaimLeaseMillis;
     }
+
+    public boolean isWriteBehindEnabled() {
+        return writeBehindEnabled;
+    }
+
+    public void setWriteBehindEnabled(boolean writeBehindEnabled) {
+        this.writeBehindEnabled = writeBehindEnabled;
+    }
+
+    public int getWriteBehindCapacity() {
+        return writeBehindCapacity;
+    }
+
+    public void setWriteBehindCapacity(int writeBehindCapacity) {
+        this.writeBehindCapacity = writeBehindCapacity;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+        this.writeBehindBatchSize = writeBehindBatchSize;
+    }
+
+    public long getWriteBehindLingerMillis() {
+        return writeBehindLingerMillis;
+    }
+
+    public void setWriteBehindLingerMillis(long writeBehindLingerMillis) {
+        this.writeBehindLingerMillis = writeBehindLingerMillis;
+    }
+
+    public int getWriteBehindMaxAttempts() {
+        return writeBehindMaxAttempts;
+    }
+
+    public void setWriteBehindMaxAttempts(int writeBehindMaxAttempts) {
+        this.writeBehindMaxAttempts = writeBehindMaxAttempts;
+    }
+
+    public long getWriteBehindDrainTimeoutMillis() {
+        return writeBehindDrainTimeoutMillis;
+    }
+
+    public void setWriteBehindDrainTimeoutMillis(long writeBehindDrainTimeoutMillis) {
+        this.writeBehindDrainTimeoutMillis = writeBehindDrainTimeoutMillis;
+    }
 }
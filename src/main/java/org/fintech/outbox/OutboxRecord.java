@@ -1,5 +1,7 @@
 package org.fintech.outbox;
 
+import java.util.Base64;
+import org.fintech.proto.v1.RiskAssessment;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
@@ -23,6 +25,23 @@ public class OutboxRecord {
     private int attempts;
     private String lastError;
 
+    static OutboxRecord pending(String outboxId, String messageId, RiskAssessment assessment, long now) {
+        OutboxRecord record = new OutboxRecord();
+        record.setOutboxId(outboxId);
+        record.setTransactionId(assessment.getTransactionId());
+        record.setMessageId(messageId);
+        record.setStatus(OutboxStatus.PENDING.name());
+        record.setPayloadBase64(Base64.getEncoder().encodeToString(assessment.toByteArray()));
+        record.setDecision(assessment.getDecision().name());
+        record.setReason(assessment.getReason().name());
+        record.setRiskScore(assessment.getRiskScore());
+        record.setCreatedAt(now);
+        record.setUpdatedAt(now);
+        record.setNextAttemptAt(now);
+        record.setAttempts(0);
+        return record;
+    }
+
     @DynamoDbPartitionKey
     @DynamoDbAttribute("outbox_id")
     public String getOutboxId() {
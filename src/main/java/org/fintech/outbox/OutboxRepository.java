@@ -3,6 +3,7 @@ package org.fintech.outbox;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -16,9 +17,12 @@ import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactPutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +30,13 @@ import org.slf4j.LoggerFactory;
 @ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
 public class OutboxRepository {
 
+    // TransactWriteItems takes up to 100 items; smaller transactions limit how much work a single
+    // conflicting record cancels.
+    static final int MAX_TRANSACT_ITEMS = 25;
+    private static final int MAX_CANCELLED_RETRIES = 3;
+    private static final String CONDITION_FAILED = "ConditionalCheckFailed";
+
+    private final DynamoDbEnhancedClient enhancedClient;
     private final DynamoDbTable<OutboxRecord> table;
     private final DynamoDbIndex<OutboxRecord> statusIndex;
     private static final Logger log = LoggerFactory.getLogger(OutboxRepository.class);
@@ -34,6 +45,7 @@ public class OutboxRepository {
         if (!StringUtils.hasText(properties.getTableName())) {
             throw new IllegalStateException("outbox.table-name must be set when outbox.enabled=true");
         }
+        this.enhancedClient = enhancedClient;
         this.table = enhancedClient.table(properties.getTableName(), TableSchema.fromBean(OutboxRecord.class));
         this.statusIndex = table.index("status-index");
     }
@@ -53,6 +65,85 @@ public class OutboxRepository {
         }
     }
 
+    // Each chunk is one TransactWriteItems call whose puts all carry attribute_not_exists, so, as with
+    // putIfAbsent, a decision that is already stored (and possibly PUBLISHED) is never overwritten.
+    // A failed condition cancels the whole transaction; the cancellation reasons name the records
+    // that already exist, and the rest are retried without them. Records repeated within the call
+    // are written once. A chunk that still fails, or whose request fails outright, comes back as
+    // unprocessed for the caller to retry; other chunks are unaffected.
+    public OutboxBatchResult putBatch(List<OutboxRecord> records) {
+        Map<String, OutboxRecord> unique = new LinkedHashMap<>();
+        for (OutboxRecord record : records) {
+            unique.putIfAbsent(record.getOutboxId(), record);
+        }
+        List<OutboxRecord> distinct = new ArrayList<>(unique.values());
+        int written = 0;
+        int existing = records.size() - distinct.size();
+        List<OutboxRecord> failed = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_TRANSACT_ITEMS) {
+            List<OutboxRecord> pending = distinct.subList(from, Math.min(distinct.size(), from + MAX_TRANSACT_ITEMS));
+            boolean backoff = false;
+            for (int attempt = 0; !pending.isEmpty() && attempt <= MAX_CANCELLED_RETRIES; attempt++) {
+                if (backoff) {
+                    sleepBackoff(attempt);
+                }
+                try {
+                    enhancedClient.transactWriteItems(transaction(pending));
+                    written += pending.size();
+                    pending = List.of();
+                } catch (TransactionCanceledException ex) {
+                    List<OutboxRecord> retry = new ArrayList<>(pending.size());
+                    for (int i = 0; i < pending.size(); i++) {
+                        if (CONDITION_FAILED.equals(cancellationCode(ex, i))) {
+                            existing++;
+                        } else {
+                            retry.add(pending.get(i));
+                        }
+                    }
+                    // Dropping existing records is progress; anything else (conflicts, throttling)
+                    // is retried after a pause.
+                    backoff = retry.size() == pending.size();
+                    pending = retry;
+                } catch (RuntimeException ex) {
+                    // Only this chunk is lost; chunks already committed stay counted as written.
+                    log.warn("event=outbox_batch_chunk_failed count={} first_outbox_id={}",
+                        pending.size(), pending.get(0).getOutboxId(), ex);
+                    break;
+                }
+            }
+            failed.addAll(pending);
+        }
+        return new OutboxBatchResult(written, existing, failed);
+    }
+
+    private TransactWriteItemsEnhancedRequest transaction(List<OutboxRecord> records) {
+        TransactWriteItemsEnhancedRequest.Builder request = TransactWriteItemsEnhancedRequest.builder();
+        for (OutboxRecord record : records) {
+            request.addPutItem(table, TransactPutItemEnhancedRequest.builder(OutboxRecord.class)
+                .item(record)
+                .conditionExpression(Expression.builder()
+                    .expression("attribute_not_exists(outbox_id)")
+                    .build())
+                .build());
+        }
+        return request.build();
+    }
+
+    private static String cancellationCode(TransactionCanceledException ex, int index) {
+        if (!ex.hasCancellationReasons() || index >= ex.cancellationReasons().size()) {
+            return null;
+        }
+        return ex.cancellationReasons().get(index).code();
+    }
+
+    private static void sleepBackoff(int attempt) {
+        try {
+            Thread.sleep(25L << attempt);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public List<OutboxRecord> fetchPending(int limit) {
         if (limit <= 0) {
             return List.of();
@@ -4,7 +4,6 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
-import java.util.Base64;
 import java.util.concurrent.TimeUnit;
 import org.fintech.proto.v1.RiskAssessment;
 import org.fintech.sqs.SqsTransactionProcessor;
@@ -35,7 +34,7 @@ public class OutboxWriter {
 
     public OutboxWriteResult write(SqsTransactionProcessor.ProcessedTransaction processed, String messageId) {
         long start = System.nanoTime();
-        String transactionId = processed.request().getTransactionId();
+        String transactionId = processed.transactionId();
         String outboxId = StringUtils.hasText(transactionId) ? transactionId : messageId;
         long now = Instant.now().toEpochMilli();
 
@@ -46,20 +45,8 @@ public class OutboxWriter {
             .setRiskScore(processed.result().riskScore())
             .build();
 
-        OutboxRecord record = new OutboxRecord();
-        record.setOutboxId(outboxId);
-        record.setTransactionId(transactionId);
-        record.setMessageId(messageId);
-        record.setStatus(OutboxStatus.PENDING.name());
-        record.setPayloadBase64(Base64.getEncoder().encodeToString(assessment.toByteArray()));
-        record.setDecision(processed.result().decision().name());
-        record.setReason(processed.result().reason().name());
-        record.setRiskScore(processed.result().riskScore());
-        record.setCreatedAt(now);
-        record.setUpdatedAt(now);
-        record.setNextAttemptAt(now);
+        OutboxRecord record = OutboxRecord.pending(outboxId, messageId, assessment, now);
         log.info("Writing outbox record, outboxId={}, nextAttemptAt={}", outboxId, now);
-        record.setAttempts(0);
 
         try {
             boolean created = repository.putIfAbsent(record);
@@ -20,7 +20,16 @@ public class AmountDenyRule implements TransactionRule {
 
     @Override
     public Optional<RuleResult> apply(TransactionRequest request) {
-        if (request.getAmount() >= denyThreshold) {
+        return evaluate(request.getAmount());
+    }
+
+    @Override
+    public Optional<RuleResult> apply(TransactionView view) {
+        return evaluate(view.amount());
+    }
+
+    private Optional<RuleResult> evaluate(double amount) {
+        if (amount >= denyThreshold) {
             return Optional.of(new RuleResult(Decision.REJECT, Reason.AMOUNT_EXCEEDS_HARD_LIMIT, 0.95));
         }
         return Optional.empty();
@@ -20,7 +20,16 @@ public class AmountReviewRule implements TransactionRule {
 
     @Override
     public Optional<RuleResult> apply(TransactionRequest request) {
-        if (request.getAmount() >= reviewThreshold) {
+        return evaluate(request.getAmount());
+    }
+
+    @Override
+    public Optional<RuleResult> apply(TransactionView view) {
+        return evaluate(view.amount());
+    }
+
+    private Optional<RuleResult> evaluate(double amount) {
+        if (amount >= reviewThreshold) {
             return Optional.of(new RuleResult(Decision.REVIEW, Reason.AMOUNT_REQUIRES_REVIEW, 0.7));
         }
         return Optional.empty();
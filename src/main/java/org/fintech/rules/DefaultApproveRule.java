@@ -22,4 +22,9 @@ public class DefaultApproveRule implements TransactionRule {
     public Optional<RuleResult> apply(TransactionRequest request) {
         return Optional.of(new RuleResult(Decision.APPROVE, Reason.LOW_RISK_AMOUNT, approveRiskScore));
     }
+
+    @Override
+    public Optional<RuleResult> apply(TransactionView view) {
+        return Optional.of(new RuleResult(Decision.APPROVE, Reason.LOW_RISK_AMOUNT, approveRiskScore));
+    }
 }
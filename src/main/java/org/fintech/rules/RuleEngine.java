@@ -15,6 +15,7 @@ public class RuleEngine {
     private final List<TransactionRule> rules;
     private final DefaultApproveRule defaultRule;
     private final Timer evaluateLatency;
+    private final Timer evaluateBatchLatency;
 
     public RuleEngine(List<TransactionRule> rules, DefaultApproveRule defaultRule, MeterRegistry meterRegistry) {
         List<TransactionRule> orderedRules = new ArrayList<>(rules);
@@ -24,21 +25,64 @@ public class RuleEngine {
         this.rules = List.copyOf(orderedRules);
         this.defaultRule = defaultRule;
         this.evaluateLatency = meterRegistry.timer("rules.evaluate.latency");
+        this.evaluateBatchLatency = meterRegistry.timer("rules.evaluate.batch.latency");
+    }
+
+    public boolean isBlocking() {
+        return rules.stream().anyMatch(TransactionRule::isBlocking);
+    }
+
+    public List<TransactionRule> blockingRules() {
+        return rules.stream().filter(TransactionRule::isBlocking).toList();
     }
 
     public RuleResult evaluate(TransactionRequest request) {
+        long start = System.nanoTime();
+        try {
+            return decide(request);
+        } finally {
+            evaluateLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // One timer sample for the whole batch instead of one per transaction.
+    public List<RuleResult> evaluateBatch(List<TransactionRequest> requests) {
+        long start = System.nanoTime();
+        try {
+            List<RuleResult> results = new ArrayList<>(requests.size());
+            for (TransactionRequest request : requests) {
+                results.add(decide(request));
+            }
+            return results;
+        } finally {
+            evaluateBatchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public RuleResult evaluate(TransactionView view) {
         long start = System.nanoTime();
         try {
             for (TransactionRule rule : rules) {
-                Optional<RuleResult> result = rule.apply(request);
+                Optional<RuleResult> result = rule.apply(view);
                 if (result.isPresent()) {
                     return result.get();
                 }
             }
-            return defaultRule.apply(request)
+            return defaultRule.apply(view)
                 .orElseThrow(() -> new IllegalStateException("Default rule did not return a decision"));
         } finally {
             evaluateLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
+
+    private RuleResult decide(TransactionRequest request) {
+        for (TransactionRule rule : rules) {
+            Optional<RuleResult> result = rule.apply(request);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+        return defaultRule.apply(request)
+            .orElseThrow(() -> new IllegalStateException("Default rule did not return a decision"));
+    }
 }
@@ -5,4 +5,14 @@ import org.fintech.proto.v1.TransactionRequest;
 
 public interface TransactionRule {
     Optional<RuleResult> apply(TransactionRequest request);
+
+    default Optional<RuleResult> apply(TransactionView view) {
+        return apply(view.toRequest());
+    }
+
+    // Rules that wait on I/O or locks (remote lookups, caches with loaders) must return true so the
+    // server never evaluates them on a Netty event-loop thread.
+    default boolean isBlocking() {
+        return false;
+    }
 }
@@ -0,0 +1,163 @@
+package org.fintech.rules;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
+import com.google.protobuf.WireFormat;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.fintech.proto.v1.TransactionRequest;
+
+public final class TransactionView {
+
+    private static final int FIELD_SLOTS = 7;
+
+    private final byte[] buffer;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final String[] decoded;
+    private TransactionRequest request;
+
+    private TransactionView(byte[] buffer, TransactionRequest request) {
+        this.buffer = buffer;
+        this.request = request;
+        if (buffer != null) {
+            this.offsets = new int[FIELD_SLOTS];
+            this.lengths = new int[FIELD_SLOTS];
+            this.decoded = new String[FIELD_SLOTS];
+            Arrays.fill(offsets, -1);
+        } else {
+            this.offsets = null;
+            this.lengths = null;
+            this.decoded = null;
+        }
+    }
+
+    public static TransactionView of(TransactionRequest request) {
+        return new TransactionView(null, request);
+    }
+
+    // Records where each field sits in the wire bytes; nothing is decoded until a getter asks.
+    // Later occurrences of a field win, matching protobuf's merge semantics for scalars. String
+    // fields are still checked for valid UTF-8 here, as proto3 parseFrom does, so a malformed payload
+    // is rejected instead of being evaluated under keys with replacement characters.
+    public static TransactionView parse(byte[] payload) throws InvalidProtocolBufferException {
+        TransactionView view = new TransactionView(payload, null);
+        CodedInputStream input = CodedInputStream.newInstance(payload);
+        while (true) {
+            int tag = input.readTag();
+            if (tag == 0) {
+                return view;
+            }
+            int field = WireFormat.getTagFieldNumber(tag);
+            int wireType = WireFormat.getTagWireType(tag);
+            if (isStringField(field) && wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                int length = input.readRawVarint32();
+                int offset = input.getTotalBytesRead();
+                input.skipRawBytes(length);
+                if (!UnsafeByteOperations.unsafeWrap(payload, offset, length).isValidUtf8()) {
+                    throw new InvalidProtocolBufferException("Protocol message had invalid UTF-8.");
+                }
+                view.offsets[field] = offset;
+                view.lengths[field] = length;
+                view.decoded[field] = null;
+            } else if (field == TransactionRequest.AMOUNT_FIELD_NUMBER
+                && wireType == WireFormat.WIRETYPE_FIXED64) {
+                view.offsets[field] = input.getTotalBytesRead();
+                input.skipRawBytes(Long.BYTES);
+            } else if (!input.skipField(tag)) {
+                throw new InvalidProtocolBufferException("Protocol message end-group tag did not match expected tag.");
+            }
+        }
+    }
+
+    public String transactionId() {
+        return request != null ? request.getTransactionId() : string(TransactionRequest.TRANSACTION_ID_FIELD_NUMBER);
+    }
+
+    public String accountId() {
+        return request != null ? request.getAccountId() : string(TransactionRequest.ACCOUNT_ID_FIELD_NUMBER);
+    }
+
+    // Hashes the UTF-8 bytes of account_id without decoding them, identically for wire-backed and
+    // materialized views, so both ingestion paths route an account to the same place.
+    public int accountIdHash() {
+        int hash = 1;
+        if (request != null) {
+            ByteString bytes = request.getAccountIdBytes();
+            for (int i = 0; i < bytes.size(); i++) {
+                hash = 31 * hash + bytes.byteAt(i);
+            }
+            return hash;
+        }
+        int offset = offsets[TransactionRequest.ACCOUNT_ID_FIELD_NUMBER];
+        if (offset < 0) {
+            return hash;
+        }
+        int end = offset + lengths[TransactionRequest.ACCOUNT_ID_FIELD_NUMBER];
+        for (int i = offset; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        return hash;
+    }
+
+    public double amount() {
+        if (request != null) {
+            return request.getAmount();
+        }
+        int offset = offsets[TransactionRequest.AMOUNT_FIELD_NUMBER];
+        if (offset < 0) {
+            return 0.0;
+        }
+        long bits = 0;
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bits = (bits << 8) | (buffer[offset + i] & 0xFFL);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String merchant() {
+        return request != null ? request.getMerchant() : string(TransactionRequest.MERCHANT_FIELD_NUMBER);
+    }
+
+    public String currency() {
+        return request != null ? request.getCurrency() : string(TransactionRequest.CURRENCY_FIELD_NUMBER);
+    }
+
+    public String timestamp() {
+        return request != null ? request.getTimestamp() : string(TransactionRequest.TIMESTAMP_FIELD_NUMBER);
+    }
+
+    public TransactionRequest toRequest() {
+        if (request == null) {
+            request = TransactionRequest.newBuilder()
+                .setTransactionId(transactionId())
+                .setAccountId(accountId())
+                .setAmount(amount())
+                .setMerchant(merchant())
+                .setCurrency(currency())
+                .setTimestamp(timestamp())
+                .build();
+        }
+        return request;
+    }
+
+    private String string(int field) {
+        String value = decoded[field];
+        if (value == null) {
+            int offset = offsets[field];
+            value = offset < 0 ? "" : new String(buffer, offset, lengths[field], StandardCharsets.UTF_8);
+            decoded[field] = value;
+        }
+        return value;
+    }
+
+    private static boolean isStringField(int field) {
+        return field == TransactionRequest.TRANSACTION_ID_FIELD_NUMBER
+            || field == TransactionRequest.ACCOUNT_ID_FIELD_NUMBER
+            || field == TransactionRequest.MERCHANT_FIELD_NUMBER
+            || field == TransactionRequest.CURRENCY_FIELD_NUMBER
+            || field == TransactionRequest.TIMESTAMP_FIELD_NUMBER;
+    }
+}
@@ -0,0 +1,123 @@
+package org.fintech.shard;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.fintech.rules.RuleEngine;
+import org.fintech.rules.RuleResult;
+import org.fintech.rules.TransactionView;
+
+final class EvaluationShard implements Runnable {
+
+    private static final int DRAIN_BATCH = 64;
+    private static final int SPINS_BEFORE_PARK = 200;
+
+    private final int index;
+    private final RuleEngine ruleEngine;
+    private final ShardRingBuffer<Task> ring;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean parked = false;
+
+    EvaluationShard(int index, int ringSize, RuleEngine ruleEngine) {
+        this.index = index;
+        this.ruleEngine = ruleEngine;
+        this.ring = new ShardRingBuffer<>(ringSize, Task::new);
+        this.thread = new Thread(this, "rule-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    boolean offer(TransactionView view, CompletableFuture<RuleResult> completion) {
+        if (!running) {
+            return false;
+        }
+        long sequence = ring.claim();
+        if (sequence < 0) {
+            return false;
+        }
+        Task task = ring.get(sequence);
+        task.view = view;
+        task.completion = completion;
+        ring.publish(sequence);
+        // stop() may have finished its final drain between the running check above and the publish,
+        // leaving nobody to complete this task. If the shard does still reach it, the first completion wins.
+        if (!running) {
+            completion.completeExceptionally(new RejectedExecutionException("Evaluation shard stopped"));
+            return true;
+        }
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    void stop(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int depth() {
+        return ring.size();
+    }
+
+    int index() {
+        return index;
+    }
+
+    @Override
+    public void run() {
+        int idleSpins = 0;
+        while (running || !ring.isEmpty()) {
+            if (ring.drain(this::evaluate, DRAIN_BATCH) > 0) {
+                idleSpins = 0;
+                continue;
+            }
+            if (++idleSpins < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+                continue;
+            }
+            parked = true;
+            if (running && ring.isEmpty()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+            }
+            parked = false;
+            idleSpins = 0;
+        }
+        // Producers that raced with stop() may have published after the final drain.
+        ring.drain(task -> {
+            task.completion.completeExceptionally(new RejectedExecutionException("Evaluation shard stopped"));
+            task.clear();
+        }, Integer.MAX_VALUE);
+    }
+
+    private void evaluate(Task task) {
+        CompletableFuture<RuleResult> completion = task.completion;
+        TransactionView view = task.view;
+        task.clear();
+        try {
+            completion.complete(ruleEngine.evaluate(view));
+        } catch (Throwable ex) {
+            completion.completeExceptionally(ex);
+        }
+    }
+
+    static final class Task {
+        private TransactionView view;
+        private CompletableFuture<RuleResult> completion;
+
+        private void clear() {
+            view = null;
+            completion = null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.fintech.shard;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Bounded multi-producer/single-consumer ring with preallocated entries. Producers claim a
+// sequence with one CAS, fill the entry in place and publish it through the per-slot sequence,
+// so the hot path allocates nothing and takes no locks.
+final class ShardRingBuffer<E> {
+
+    private final Object[] entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    private long head;
+
+    ShardRingBuffer(int requestedCapacity, Supplier<E> factory) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.entries = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = factory.get();
+            sequences.set(i, i);
+        }
+    }
+
+    long claim() {
+        long position = tail.get();
+        while (true) {
+            long sequence = sequences.get((int) (position & mask));
+            long difference = sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E get(long sequence) {
+        return (E) entries[(int) (sequence & mask)];
+    }
+
+    // Volatile store so a producer's subsequent check of the consumer's parked flag cannot be
+    // reordered ahead of the publish.
+    void publish(long sequence) {
+        sequences.set((int) (sequence & mask), sequence + 1);
+    }
+
+    // Consumer side; must only be called from the owning shard thread.
+    @SuppressWarnings("unchecked")
+    int drain(Consumer<E> handler, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            handler.accept((E) entries[index]);
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    // Approximate when called off the consumer thread; used for the depth gauge only.
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
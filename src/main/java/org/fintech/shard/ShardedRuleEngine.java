@@ -0,0 +1,135 @@
+package org.fintech.shard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.fintech.rules.RuleEngine;
+import org.fintech.rules.RuleResult;
+import org.fintech.rules.TransactionView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "fraud.engine", name = "mode", havingValue = "sharded")
+public class ShardedRuleEngine implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedRuleEngine.class);
+
+    private final EvaluationShard[] shards;
+    private final int ringSize;
+    private final long evaluateTimeoutMillis;
+    private final Counter rejected;
+    private volatile boolean running = false;
+
+    public ShardedRuleEngine(
+        RuleEngine ruleEngine,
+        @Value("${fraud.engine.shards:0}") int shardCount,
+        @Value("${fraud.engine.ring-size:1024}") int ringSize,
+        @Value("${fraud.engine.evaluate-timeout-millis:2000}") long evaluateTimeoutMillis,
+        MeterRegistry meterRegistry
+    ) {
+        int resolvedShards = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new EvaluationShard[resolvedShards];
+        this.ringSize = Math.max(2, ringSize);
+        this.evaluateTimeoutMillis = Math.max(1, evaluateTimeoutMillis);
+        for (int i = 0; i < resolvedShards; i++) {
+            EvaluationShard shard = new EvaluationShard(i, this.ringSize, ruleEngine);
+            shards[i] = shard;
+            Gauge.builder("fraud.engine.shard.depth", shard, EvaluationShard::depth)
+                .tag("shard", Integer.toString(i))
+                .register(meterRegistry);
+        }
+        this.rejected = meterRegistry.counter("fraud.engine.shard.rejected");
+    }
+
+    // Every transaction for an account lands on the same single-threaded shard, so rule state keyed
+    // by account is only ever touched by one thread and needs no synchronization.
+    public CompletableFuture<RuleResult> submit(TransactionView view) {
+        CompletableFuture<RuleResult> completion = new CompletableFuture<>();
+        if (!shardFor(view).offer(view, completion)) {
+            rejected.increment();
+            completion.completeExceptionally(new RejectedExecutionException("Evaluation shard queue is full"));
+        }
+        return completion;
+    }
+
+    // Bounded wait so a wedged or stopping shard fails the caller instead of hanging its thread.
+    public RuleResult evaluate(TransactionView view) {
+        try {
+            return submit(view).get(evaluateTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new RejectedExecutionException(
+                "Evaluation shard did not answer within " + evaluateTimeoutMillis + "ms");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted waiting for evaluation shard");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    int shardIndex(TransactionView view) {
+        int hash = view.accountIdHash();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return Math.floorMod(hash, shards.length);
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        for (EvaluationShard shard : shards) {
+            shard.start();
+        }
+        running = true;
+        log.info("event=sharded_engine_started shards={} ring_size={}", shards.length, ringSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (EvaluationShard shard : shards) {
+            shard.stop(5000);
+        }
+        log.info("event=sharded_engine_stopped shards={}", shards.length);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Start before and stop after the gRPC server and SQS consumer that submit to the shards.
+        return Integer.MAX_VALUE - 30;
+    }
+
+    private EvaluationShard shardFor(TransactionView view) {
+        return shards[shardIndex(view)];
+    }
+}
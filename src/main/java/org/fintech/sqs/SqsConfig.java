@@ -1,5 +1,7 @@
 package org.fintech.sqs;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.URI;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -10,6 +12,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.fintech.config.BoundedVirtualThreadExecutor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -18,7 +21,11 @@ import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.SqsClientBuilder;
 
@@ -29,12 +36,7 @@ public class SqsConfig {
     @Bean
     @ConditionalOnProperty(prefix = "sqs", name = "enabled", havingValue = "true")
     SqsClient sqsClient(SqsProperties properties) {
-        if (!StringUtils.hasText(properties.getQueueUrl())) {
-            throw new IllegalStateException("sqs.queue-url must be set when sqs.enabled=true");
-        }
-        if (!StringUtils.hasText(properties.getRegion())) {
-            throw new IllegalStateException("sqs.region must be set when sqs.enabled=true");
-        }
+        validate(properties);
 
         SqsClientBuilder builder = SqsClient.builder()
             .region(Region.of(properties.getRegion()))
@@ -47,9 +49,60 @@ public class SqsConfig {
         return builder.build();
     }
 
+    // Receives only. Each outstanding long-poll holds one HTTP connection, so the pool is sized to
+    // the receive concurrency while a couple of event-loop threads serve all of them.
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "sqs", name = {"enabled", "async-receive-enabled"}, havingValue = "true")
+    SqsAsyncClient sqsAsyncClient(SqsProperties properties) {
+        validate(properties);
+
+        SqsAsyncClientBuilder builder = SqsAsyncClient.builder()
+            .region(Region.of(properties.getRegion()))
+            .credentialsProvider(resolveCredentials(properties))
+            .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(Math.max(1, properties.getAsyncReceiveConcurrency()) + 8)
+                .eventLoopGroupBuilder(SdkEventLoopGroup.builder()
+                    .numberOfThreads(Math.max(1, properties.getAsyncEventLoopThreads()))));
+
+        if (StringUtils.hasText(properties.getEndpointOverride())) {
+            builder.endpointOverride(URI.create(properties.getEndpointOverride()));
+        }
+
+        return builder.build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "sqs", name = {"enabled", "delete-batch-enabled"}, havingValue = "true")
+    SqsDeleteBatcher sqsDeleteBatcher(SqsClient sqsClient, SqsProperties properties, MeterRegistry meterRegistry) {
+        return new SqsDeleteBatcher(
+            sqsClient,
+            properties.getQueueUrl(),
+            properties.getDeleteBatchCapacity(),
+            properties.getDeleteBatchLingerMillis(),
+            properties.getDeleteBatchMaxAttempts(),
+            properties.getDeleteBatchDrainTimeoutMillis(),
+            meterRegistry
+        );
+    }
+
     @Bean(destroyMethod = "shutdown")
     @ConditionalOnProperty(prefix = "sqs", name = "enabled", havingValue = "true")
-    ExecutorService sqsProcessingExecutor(SqsProperties properties) {
+    ExecutorService sqsProcessingExecutor(SqsProperties properties, MeterRegistry meterRegistry) {
+        // One virtual thread per message: the DynamoDB put and SQS delete block only their own
+        // message, so throughput follows the in-flight budget instead of the pool size.
+        String executorType = properties.getProcessingExecutorType();
+        if ("virtual".equalsIgnoreCase(executorType == null ? "" : executorType.trim())) {
+            BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(
+                "sqs-vworker-",
+                SqsTransactionConsumer.resolveMaxInFlight(properties)
+            );
+            Gauge.builder("sqs.processing.active", executor, BoundedVirtualThreadExecutor::active)
+                .register(meterRegistry);
+            Gauge.builder("sqs.processing.waiting", executor, BoundedVirtualThreadExecutor::waiting)
+                .register(meterRegistry);
+            return executor;
+        }
+
         int threads = Math.max(1, properties.getProcessingThreads());
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
             threads,
@@ -68,6 +121,10 @@ public class SqsConfig {
     @ConditionalOnProperty(prefix = "sqs", name = "enabled", havingValue = "true")
     ExecutorService sqsPollerExecutor(SqsProperties properties) {
         int threads = Math.max(1, properties.getPollerThreads());
+        // Scaled poll loops come and go on this pool, so it has to fit the largest size they reach.
+        if (properties.isPollerScalingEnabled()) {
+            threads = Math.max(threads, properties.getPollerMaxThreads());
+        }
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
             threads,
             threads,
@@ -80,6 +137,15 @@ public class SqsConfig {
         return executor;
     }
 
+    private static void validate(SqsProperties properties) {
+        if (!StringUtils.hasText(properties.getQueueUrl())) {
+            throw new IllegalStateException("sqs.queue-url must be set when sqs.enabled=true");
+        }
+        if (!StringUtils.hasText(properties.getRegion())) {
+            throw new IllegalStateException("sqs.region must be set when sqs.enabled=true");
+        }
+    }
+
     private static ThreadFactory namedThreadFactory(String prefix) {
         AtomicInteger index = new AtomicInteger(1);
         return runnable -> {
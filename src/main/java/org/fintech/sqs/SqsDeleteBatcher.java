@@ -0,0 +1,217 @@
+package org.fintech.sqs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+// Collects receipt handles from every worker and deletes them with DeleteMessageBatch, flushing at
+// the SQS limit of 10 entries or once the oldest handle has waited `lingerMillis`. Workers only pay
+// for a queue offer. Entries SQS rejects on its side are retried in a later batch; sender faults
+// such as an expired receipt handle are not. A delete that never succeeds is harmless: the message
+// becomes visible again and reprocessing is idempotent through the outbox.
+public class SqsDeleteBatcher {
+
+    static final int MAX_BATCH_SIZE = 10;
+
+    private static final Logger log = LoggerFactory.getLogger(SqsDeleteBatcher.class);
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final SqsClient sqsClient;
+    private final String queueUrl;
+    private final BlockingQueue<PendingDelete> pending;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final long drainTimeoutMillis;
+    private final Counter deleted;
+    private final Counter failed;
+    private final Counter retried;
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public SqsDeleteBatcher(
+        SqsClient sqsClient,
+        String queueUrl,
+        int capacity,
+        long lingerMillis,
+        int maxAttempts,
+        long drainTimeoutMillis,
+        MeterRegistry meterRegistry
+    ) {
+        this.sqsClient = sqsClient;
+        this.queueUrl = queueUrl;
+        this.pending = new LinkedBlockingQueue<>(Math.max(1, capacity));
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.drainTimeoutMillis = Math.max(0, drainTimeoutMillis);
+        this.deleted = meterRegistry.counter("sqs.delete.success");
+        this.failed = meterRegistry.counter("sqs.delete.failure");
+        this.retried = meterRegistry.counter("sqs.delete.retried");
+        this.batchSize = DistributionSummary.builder("sqs.delete.batch.size").register(meterRegistry);
+        this.batchLatency = meterRegistry.timer("sqs.delete.batch.latency");
+        Gauge.builder("sqs.delete.pending", pending, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public void start() {
+        flusher = new Thread(this::run, "sqs-delete-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Falls back to a synchronous DeleteMessage when the buffer is full or shutting down, so a
+    // processed message is never left undeleted just because the batcher was busy.
+    public void delete(Message message) {
+        if (running && pending.offer(new PendingDelete(message.messageId(), message.receiptHandle(), 1))) {
+            return;
+        }
+        deleteNow(message.messageId(), message.receiptHandle());
+    }
+
+    public int pending() {
+        return pending.size();
+    }
+
+    // Runs after the consumer has stopped polling; gives the flusher the drain timeout to finish.
+    public void close() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join(drainTimeoutMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int remaining = pending.size();
+        if (remaining > 0) {
+            log.warn("event=sqs_delete_drain_incomplete remaining={} queue_url={}", remaining, queueUrl);
+        }
+    }
+
+    private void run() {
+        List<PendingDelete> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !pending.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingDelete> batch) throws InterruptedException {
+        PendingDelete first = pending.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < MAX_BATCH_SIZE) {
+            pending.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= MAX_BATCH_SIZE || remaining <= 0 || !running) {
+                return;
+            }
+            PendingDelete next = pending.poll(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void flush(List<PendingDelete> batch) {
+        // Entry ids only need to be unique within one request; the batch index is enough.
+        Map<String, PendingDelete> byId = new HashMap<>();
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String id = Integer.toString(i);
+            PendingDelete delete = batch.get(i);
+            byId.put(id, delete);
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                .id(id)
+                .receiptHandle(delete.receiptHandle())
+                .build());
+        }
+        batchSize.record(batch.size());
+        long start = System.nanoTime();
+        DeleteMessageBatchResponse response;
+        try {
+            response = sqsClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build());
+        } catch (Exception ex) {
+            log.warn("event=sqs_delete_batch_failed count={} queue_url={}", batch.size(), queueUrl, ex);
+            for (PendingDelete delete : batch) {
+                retryOrFail(delete, "request_failed");
+            }
+            return;
+        } finally {
+            batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        deleted.increment(response.successful().size());
+        for (BatchResultErrorEntry error : response.failed()) {
+            PendingDelete delete = byId.get(error.id());
+            if (delete == null) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(error.senderFault())) {
+                failed.increment();
+                log.warn("event=sqs_delete_rejected message_id={} code={} queue_url={}",
+                    delete.messageId(), error.code(), queueUrl);
+            } else {
+                retryOrFail(delete, error.code());
+            }
+        }
+    }
+
+    private void retryOrFail(PendingDelete delete, String reason) {
+        if (delete.attempt() < maxAttempts
+            && pending.offer(new PendingDelete(delete.messageId(), delete.receiptHandle(), delete.attempt() + 1))) {
+            retried.increment();
+            return;
+        }
+        failed.increment();
+        log.warn("event=sqs_delete_failed message_id={} attempts={} reason={} queue_url={}",
+            delete.messageId(), delete.attempt(), reason, queueUrl);
+    }
+
+    private void deleteNow(String messageId, String receiptHandle) {
+        try {
+            sqsClient.deleteMessage(DeleteMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .receiptHandle(receiptHandle)
+                .build());
+            deleted.increment();
+        } catch (Exception ex) {
+            failed.increment();
+            log.warn("event=sqs_delete_failed message_id={} queue_url={}", messageId, queueUrl, ex);
+        }
+    }
+
+    private record PendingDelete(String messageId, String receiptHandle, int attempt) {}
+}
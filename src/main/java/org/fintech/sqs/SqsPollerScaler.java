@@ -0,0 +1,159 @@
+package org.fintech.sqs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+// Sizes the consumer's poll loops from the queue backlog and from how many receives came back empty.
+// Growing is immediate and jumps straight to one poller per `poller-scale-up-backlog` messages, since
+// a backlog only gets worse while under-polled. Shrinking is one poller at a time and only after
+// `poller-scale-down-checks` checks in a row were mostly empty with the backlog under half the grow
+// threshold, so a queue hovering at the edge does not flap between sizes.
+public class SqsPollerScaler {
+
+    private static final Logger log = LoggerFactory.getLogger(SqsPollerScaler.class);
+
+    private final SqsClient sqsClient;
+    private final String queueUrl;
+    private final int minPollers;
+    private final int maxPollers;
+    private final long intervalMillis;
+    private final long scaleUpBacklog;
+    private final double scaleDownEmptyRatio;
+    private final int scaleDownChecks;
+    private final IntSupplier pollers;
+    private final IntConsumer resize;
+    private final BooleanSupplier saturated;
+    private final LongAdder receives = new LongAdder();
+    private final LongAdder emptyReceives = new LongAdder();
+    private final Counter scaledUp;
+    private final Counter scaledDown;
+    private final Counter sampleFailures;
+    private volatile long backlog = -1;
+    private int idleChecks;
+    private ScheduledExecutorService checker;
+
+    public SqsPollerScaler(
+        SqsClient sqsClient,
+        SqsProperties properties,
+        IntSupplier pollers,
+        IntConsumer resize,
+        BooleanSupplier saturated,
+        MeterRegistry meterRegistry
+    ) {
+        this.sqsClient = sqsClient;
+        this.queueUrl = properties.getQueueUrl();
+        this.minPollers = Math.max(1, properties.getPollerMinThreads());
+        this.maxPollers = Math.max(minPollers, properties.getPollerMaxThreads());
+        this.intervalMillis = Math.max(100, properties.getPollerScalingIntervalMillis());
+        this.scaleUpBacklog = Math.max(1, properties.getPollerScaleUpBacklog());
+        this.scaleDownEmptyRatio = properties.getPollerScaleDownEmptyRatio();
+        this.scaleDownChecks = Math.max(1, properties.getPollerScaleDownChecks());
+        this.pollers = pollers;
+        this.resize = resize;
+        this.saturated = saturated;
+        this.scaledUp = meterRegistry.counter("sqs.pollers.scaled", "direction", "up");
+        this.scaledDown = meterRegistry.counter("sqs.pollers.scaled", "direction", "down");
+        this.sampleFailures = meterRegistry.counter("sqs.pollers.sample.failure");
+        Gauge.builder("sqs.queue.backlog", this, scaler -> scaler.backlog).register(meterRegistry);
+    }
+
+    public void start() {
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sqs-poller-scaler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void close() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    public int clamp(int requested) {
+        return Math.min(maxPollers, Math.max(minPollers, requested));
+    }
+
+    public void recordReceive(int messages) {
+        receives.increment();
+        if (messages == 0) {
+            emptyReceives.increment();
+        }
+    }
+
+    void check() {
+        long total = receives.sumThenReset();
+        long empty = emptyReceives.sumThenReset();
+        long depth;
+        try {
+            depth = approximateBacklog();
+        } catch (Exception ex) {
+            sampleFailures.increment();
+            log.warn("event=sqs_poller_sample_failed queue_url={}", queueUrl, ex);
+            return;
+        }
+        backlog = depth;
+        double emptyRatio = total == 0 ? 0.0 : empty / (double) total;
+        int current = pollers.getAsInt();
+
+        // More pollers cannot help while the in-flight budget is what holds them back.
+        long wanted = Math.min(maxPollers, (depth + scaleUpBacklog - 1) / scaleUpBacklog);
+        if (wanted > current && !saturated.getAsBoolean()) {
+            idleChecks = 0;
+            scaledUp.increment();
+            resize.accept((int) wanted);
+            log.info("event=sqs_pollers_scaled direction=up from={} to={} backlog={} empty_ratio={}",
+                current, wanted, depth, emptyRatio);
+            return;
+        }
+
+        if (current <= minPollers) {
+            idleChecks = 0;
+            return;
+        }
+        // An interval with no finished receives (long polls still waiting) says nothing about the
+        // empty ratio: it neither extends nor breaks the streak unless the queue is empty outright.
+        if (total == 0 && depth > 0) {
+            return;
+        }
+        boolean idle = (total == 0 || emptyRatio >= scaleDownEmptyRatio)
+            && depth * 2 < (long) current * scaleUpBacklog;
+        if (!idle) {
+            idleChecks = 0;
+            return;
+        }
+        if (++idleChecks >= scaleDownChecks) {
+            idleChecks = 0;
+            scaledDown.increment();
+            resize.accept(current - 1);
+            log.info("event=sqs_pollers_scaled direction=down from={} to={} backlog={} empty_ratio={}",
+                current, current - 1, depth, emptyRatio);
+        }
+    }
+
+    private long approximateBacklog() {
+        GetQueueAttributesRequest request = GetQueueAttributesRequest.builder()
+            .queueUrl(queueUrl)
+            .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES)
+            .build();
+        String value = sqsClient.getQueueAttributes(request)
+            .attributes()
+            .get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+}
@@ -19,6 +19,14 @@ public class SqsProperties {
     private int pollerQueueCapacity = 0;
     private long pollerKeepAliveSeconds = 60;
     private boolean pollerAllowCoreTimeout = false;
+    private boolean pollerScalingEnabled = false;
+    private int pollerMinThreads = 1;
+    private int pollerMaxThreads = 8;
+    private long pollerScalingIntervalMillis = 5_000;
+    private long pollerScaleUpBacklog = 100;
+    private double pollerScaleDownEmptyRatio = 0.5;
+    private int pollerScaleDownChecks = 3;
+    private String processingExecutorType = "platform";
     private int processingThreads = 4;
     private String processingQueueType = "array";
     private int processingQueueCapacity = 1000;
@@ -26,6 +34,14 @@ public class SqsProperties {
     private boolean processingAllowCoreTimeout = false;
     private int maxInFlight = 0;
     private long pollerBackoffMillis = 200;
+    private boolean deleteBatchEnabled = true;
+    private long deleteBatchLingerMillis = 20;
+    private int deleteBatchCapacity = 10_000;
+    private int deleteBatchMaxAttempts = 3;
+    private long deleteBatchDrainTimeoutMillis = 5_000;
+    private boolean asyncReceiveEnabled = false;
+    private int asyncReceiveConcurrency = 16;
+    private int asyncEventLoopThreads = 2;
 
     public boolean isEnabled() {
         return enabled;
@@ -139,6 +155,70 @@ public class SqsProperties {
         this.pollerAllowCoreTimeout = pollerAllowCoreTimeout;
     }
 
+    public boolean isPollerScalingEnabled() {
+        return pollerScalingEnabled;
+    }
+
+    public void setPollerScalingEnabled(boolean pollerScalingEnabled) {
+        this.pollerScalingEnabled = pollerScalingEnabled;
+    }
+
+    public int getPollerMinThreads() {
+        return pollerMinThreads;
+    }
+
+    public void setPollerMinThreads(int pollerMinThreads) {
+        this.pollerMinThreads = pollerMinThreads;
+    }
+
+    public int getPollerMaxThreads() {
+        return pollerMaxThreads;
+    }
+
+    public void setPollerMaxThreads(int pollerMaxThreads) {
+        this.pollerMaxThreads = pollerMaxThreads;
+    }
+
+    public long getPollerScalingIntervalMillis() {
+        return pollerScalingIntervalMillis;
+    }
+
+    public void setPollerScalingIntervalMillis(long pollerScalingIntervalMillis) {
+        this.pollerScalingIntervalMillis = pollerScalingIntervalMillis;
+    }
+
+    public long getPollerScaleUpBacklog() {
+        return pollerScaleUpBacklog;
+    }
+
+    public void setPollerScaleUpBacklog(long pollerScaleUpBacklog) {
+        this.pollerScaleUpBacklog = pollerScaleUpBacklog;
+    }
+
+    public double getPollerScaleDownEmptyRatio() {
+        return pollerScaleDownEmptyRatio;
+    }
+
+    public void setPollerScaleDownEmptyRatio(double pollerScaleDownEmptyRatio) {
+        this.pollerScaleDownEmptyRatio = pollerScaleDownEmptyRatio;
+    }
+
+    public int getPollerScaleDownChecks() {
+        return pollerScaleDownChecks;
+    }
+
+    public void setPollerScaleDownChecks(int pollerScaleDownChecks) {
+        this.pollerScaleDownChecks = pollerScaleDownChecks;
+    }
+
+    public String getProcessingExecutorType() {
+        return processingExecutorType;
+    }
+
+    public void setProcessingExecutorType(String processingExecutorType) {
+        this.processingExecutorType = processingExecutorType;
+    }
+
     public int getProcessingThreads() {
         return processingThreads;
     }
@@ -194,4 +274,68 @@ public class SqsProperties {
     public void setPollerBackoffMillis(long pollerBackoffMillis) {
         this.pollerBackoffMillis = pollerBackoffMillis;
     }
+
+    public boolean isDeleteBatchEnabled() {
+        return deleteBatchEnabled;
+    }
+
+    public void setDeleteBatchEnabled(boolean deleteBatchEnabled) {
+        this.deleteBatchEnabled = deleteBatchEnabled;
+    }
+
+    public long getDeleteBatchLingerMillis() {
+        return deleteBatchLingerMillis;
+    }
+
+    public void setDeleteBatchLingerMillis(long deleteBatchLingerMillis) {
+        this.deleteBatchLingerMillis = deleteBatchLingerMillis;
+    }
+
+    public int getDeleteBatchCapacity() {
+        return deleteBatchCapacity;
+    }
+
+    public void setDeleteBatchCapacity(int deleteBatchCapacity) {
+        this.deleteBatchCapacity = deleteBatchCapacity;
+    }
+
+    public int getDeleteBatchMaxAttempts() {
+        return deleteBatchMaxAttempts;
+    }
+
+    public void setDeleteBatchMaxAttempts(int deleteBatchMaxAttempts) {
+        this.deleteBatchMaxAttempts = deleteBatchMaxAttempts;
+    }
+
+    public long getDeleteBatchDrainTimeoutMillis() {
+        return deleteBatchDrainTimeoutMillis;
+    }
+
+    public void setDeleteBatchDrainTimeoutMillis(long deleteBatchDrainTimeoutMillis) {
+        this.deleteBatchDrainTimeoutMillis = deleteBatchDrainTimeoutMillis;
+    }
+
+    public boolean isAsyncReceiveEnabled() {
+        return asyncReceiveEnabled;
+    }
+
+    public void setAsyncReceiveEnabled(boolean asyncReceiveEnabled) {
+        this.asyncReceiveEnabled = asyncReceiveEnabled;
+    }
+
+    public int getAsyncReceiveConcurrency() {
+        return asyncReceiveConcurrency;
+    }
+
+    public void setAsyncReceiveConcurrency(int asyncReceiveConcurrency) {
+        this.asyncReceiveConcurrency = asyncReceiveConcurrency;
+    }
+
+    public int getAsyncEventLoopThreads() {
+        return asyncEventLoopThreads;
+    }
+
+    public void setAsyncEventLoopThreads(int asyncEventLoopThreads) {
+        this.asyncEventLoopThreads = asyncEventLoopThreads;
+    }
 }
@@ -1,8 +1,13 @@
 package org.fintech.sqs;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -19,6 +24,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.SmartLifecycle;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -37,7 +43,16 @@ public class SqsTransactionConsumer implements SmartLifecycle {
     private final ExecutorService processingExecutor;
     private final ExecutorService pollerExecutor;
     private final ObjectProvider<OutboxWriter> outboxWriterProvider;
+    private final SqsDeleteBatcher deleteBatcher;
+    private final SqsAsyncClient asyncClient;
+    private final int asyncReceiveConcurrency;
+    private final AtomicInteger parkedReceivers = new AtomicInteger();
+    private final Set<CompletableFuture<ReceiveMessageResponse>> pendingReceives = ConcurrentHashMap.newKeySet();
+    private volatile ScheduledExecutorService receiveRetryScheduler;
     private final int pollerThreads;
+    private final SqsPollerScaler pollerScaler;
+    private final AtomicInteger activePollers = new AtomicInteger();
+    private volatile int targetPollers;
     private final AtomicInteger inFlight;
     private final int maxInFlight;
     private final Counter pollCount;
@@ -56,6 +71,8 @@ public class SqsTransactionConsumer implements SmartLifecycle {
         @Qualifier("sqsProcessingExecutor") ExecutorService sqsProcessingExecutor,
         @Qualifier("sqsPollerExecutor") ExecutorService sqsPollerExecutor,
         ObjectProvider<OutboxWriter> outboxWriterProvider,
+        ObjectProvider<SqsDeleteBatcher> deleteBatcherProvider,
+        ObjectProvider<SqsAsyncClient> asyncClientProvider,
         MeterRegistry meterRegistry
     ) {
         this.sqsClient = sqsClient;
@@ -65,8 +82,23 @@ public class SqsTransactionConsumer implements SmartLifecycle {
         this.pollerThreads = Math.max(1, properties.getPollerThreads());
         this.pollerExecutor = sqsPollerExecutor;
         this.outboxWriterProvider = outboxWriterProvider;
+        this.deleteBatcher = deleteBatcherProvider.getIfAvailable();
+        this.asyncClient = asyncClientProvider.getIfAvailable();
+        this.asyncReceiveConcurrency = Math.max(1, properties.getAsyncReceiveConcurrency());
         this.inFlight = new AtomicInteger();
         this.maxInFlight = resolveMaxInFlight(properties);
+        // Async mode keeps a fixed number of receives open without threads, so there is nothing to scale.
+        this.pollerScaler = properties.isPollerScalingEnabled() && asyncClient == null
+            ? new SqsPollerScaler(
+                sqsClient,
+                properties,
+                // A start the pool rejected leaves active under target; reporting it lets the next check retry.
+                () -> Math.min(targetPollers, activePollers.get()),
+                this::resizePollers,
+                () -> inFlight.get() >= maxInFlight,
+                meterRegistry
+            )
+            : null;
         this.pollCount = meterRegistry.counter("sqs.poll.count");
         this.pollFailure = meterRegistry.counter("sqs.poll.failure");
         this.pollLatency = meterRegistry.timer("sqs.poll.latency");
@@ -75,6 +107,8 @@ public class SqsTransactionConsumer implements SmartLifecycle {
         this.processFailure = meterRegistry.counter("sqs.process.failure");
         this.processLatency = meterRegistry.timer("sqs.process.latency");
         meterRegistry.gauge("sqs.in_flight", inFlight);
+        meterRegistry.gauge("sqs.receives.outstanding", pendingReceives, Set::size);
+        meterRegistry.gauge("sqs.pollers.active", activePollers);
     }
 
     @Override
@@ -83,14 +117,28 @@ public class SqsTransactionConsumer implements SmartLifecycle {
             return;
         }
         running = true;
-        for (int i = 0; i < pollerThreads; i++) {
-            pollerExecutor.submit(this::pollLoop);
+        if (asyncClient != null) {
+            receiveRetryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "sqs-receive-retry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < asyncReceiveConcurrency; i++) {
+                receiveAsync();
+            }
+        } else if (pollerScaler != null) {
+            resizePollers(pollerScaler.clamp(pollerThreads));
+            pollerScaler.start();
+        } else {
+            resizePollers(pollerThreads);
         }
         log.info(
-            "event=sqs_consumer_started queue_url={} max_in_flight={} poller_threads={} processing_threads={}",
+            "event=sqs_consumer_started queue_url={} receive_mode={} max_in_flight={} receivers={} processing_executor={} processing_threads={}",
             properties.getQueueUrl(),
+            asyncClient != null ? "async" : "sync",
             maxInFlight,
-            pollerThreads,
+            asyncClient != null ? asyncReceiveConcurrency : targetPollers,
+            properties.getProcessingExecutorType(),
             properties.getProcessingThreads()
         );
     }
@@ -98,6 +146,14 @@ public class SqsTransactionConsumer implements SmartLifecycle {
     @Override
     public void stop() {
         running = false;
+        if (pollerScaler != null) {
+            pollerScaler.close();
+        }
+        if (receiveRetryScheduler != null) {
+            receiveRetryScheduler.shutdownNow();
+        }
+        // Abandoned long-polls may still have taken messages; they reappear after the visibility timeout.
+        pendingReceives.forEach(receive -> receive.cancel(true));
         pollerExecutor.shutdownNow();
         processingExecutor.shutdown();
         log.info("event=sqs_consumer_stopped queue_url={}", properties.getQueueUrl());
@@ -113,51 +169,212 @@ public class SqsTransactionConsumer implements SmartLifecycle {
         return Integer.MAX_VALUE;
     }
 
-    private void pollLoop() {
-        while (running && !Thread.currentThread().isInterrupted()) {
-            if (inFlight.get() >= maxInFlight) {
-                sleepBackoff();
-                continue;
+    // Starts poll loops until `target` are running; loops over the target retire themselves once
+    // their current receive returns, so shrinking never abandons a long-poll that may hold messages.
+    private void resizePollers(int target) {
+        targetPollers = target;
+        while (running) {
+            int active = activePollers.get();
+            if (active >= target) {
+                return;
             }
+            if (activePollers.compareAndSet(active, active + 1)) {
+                try {
+                    pollerExecutor.submit(this::pollLoop);
+                } catch (RejectedExecutionException ex) {
+                    activePollers.decrementAndGet();
+                    log.warn("event=sqs_poller_start_rejected queue_url={} active={} target={}",
+                        properties.getQueueUrl(), active, target);
+                    return;
+                }
+            }
+        }
+    }
 
-            ReceiveMessageRequest request = buildReceiveRequest();
-            ReceiveMessageResponse response;
-            long pollStart = System.nanoTime();
-            try {
-                response = sqsClient.receiveMessage(request);
-                pollCount.increment();
-                pollLatency.record(System.nanoTime() - pollStart, TimeUnit.NANOSECONDS);
-            } catch (Exception ex) {
-                pollFailure.increment();
-                log.warn(
-                    "event=sqs_poll_failed queue_url={}",
-                    properties.getQueueUrl(),
-                    ex
-                );
-                sleepBackoff();
-                continue;
+    private boolean retireIfOverTarget() {
+        while (true) {
+            int active = activePollers.get();
+            if (active <= targetPollers) {
+                return false;
+            }
+            if (activePollers.compareAndSet(active, active - 1)) {
+                return true;
             }
+        }
+    }
 
-            List<Message> messages = response.messages();
-            if (messages == null || messages.isEmpty()) {
-                continue;
+    private void pollLoop() {
+        boolean retired = false;
+        try {
+            while (running && !Thread.currentThread().isInterrupted()) {
+                if (retireIfOverTarget()) {
+                    retired = true;
+                    return;
+                }
+                pollOnce();
+            }
+        } finally {
+            if (!retired) {
+                activePollers.decrementAndGet();
             }
-            messagesReceived.increment(messages.size());
+        }
+    }
 
-            for (Message message : messages) {
-                try {
-                    inFlight.incrementAndGet();
-                    processingExecutor.submit(() -> processMessage(message));
-                } catch (RejectedExecutionException ex) {
-                    inFlight.decrementAndGet();
-                    log.warn("event=sqs_processing_queue_full queue_url={}", properties.getQueueUrl());
-                    sleepBackoff();
-                    break;
+    private void pollOnce() {
+        if (inFlight.get() >= maxInFlight) {
+            sleepBackoff();
+            return;
+        }
+
+        ReceiveMessageRequest request = buildReceiveRequest();
+        ReceiveMessageResponse response;
+        long pollStart = System.nanoTime();
+        try {
+            response = sqsClient.receiveMessage(request);
+            pollCount.increment();
+            pollLatency.record(System.nanoTime() - pollStart, TimeUnit.NANOSECONDS);
+        } catch (Exception ex) {
+            pollFailure.increment();
+            log.warn(
+                "event=sqs_poll_failed queue_url={}",
+                properties.getQueueUrl(),
+                ex
+            );
+            sleepBackoff();
+            return;
+        }
+
+        List<Message> messages = response.messages();
+        if (pollerScaler != null) {
+            pollerScaler.recordReceive(messages == null ? 0 : messages.size());
+        }
+        if (!dispatch(messages)) {
+            sleepBackoff();
+        }
+    }
+
+    // Async mode: each call keeps one long-poll outstanding and re-issues it from its own completion,
+    // so `sqs.async-receive-concurrency` receives stay open without a thread parked in any of them.
+    // A receive may return up to its batch size the moment it is issued, with visibility timeouts
+    // already running, so it reserves that many in-flight slots up front and asks for no more than
+    // are free. The reservation is returned once the messages it brought are counted. When the
+    // budget is spent the receiver parks, and the next finished message resumes it.
+    private void receiveAsync() {
+        if (!running) {
+            return;
+        }
+        int reserved = reserveReceiveSlots();
+        if (reserved == 0) {
+            parkedReceivers.incrementAndGet();
+            // A message may have finished between the check and the park; recheck so none is stranded.
+            resumeParkedReceivers();
+            return;
+        }
+        long pollStart = System.nanoTime();
+        CompletableFuture<ReceiveMessageResponse> receive;
+        try {
+            receive = asyncClient.receiveMessage(buildReceiveRequest(reserved));
+        } catch (Exception ex) {
+            releaseReceiveSlots(reserved);
+            onReceiveFailed(ex);
+            return;
+        }
+        pendingReceives.add(receive);
+        receive.whenComplete((response, error) -> {
+            pendingReceives.remove(receive);
+            if (error != null) {
+                releaseReceiveSlots(reserved);
+                if (running) {
+                    onReceiveFailed(error);
                 }
+                return;
+            }
+            pollCount.increment();
+            pollLatency.record(System.nanoTime() - pollStart, TimeUnit.NANOSECONDS);
+            // Dispatch counts the received messages before the reservation is dropped, so the
+            // budget never looks free while they are being handed over.
+            boolean dispatched = dispatch(response.messages());
+            releaseReceiveSlots(reserved);
+            if (dispatched) {
+                receiveAsync();
+            } else {
+                receiveAsyncAfterBackoff();
+            }
+        });
+    }
+
+    private int reserveReceiveSlots() {
+        int maxMessages = maxMessagesPerReceive();
+        while (true) {
+            int current = inFlight.get();
+            int slots = Math.min(maxMessages, maxInFlight - current);
+            if (slots <= 0) {
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + slots)) {
+                return slots;
             }
         }
     }
 
+    private void releaseReceiveSlots(int slots) {
+        inFlight.addAndGet(-slots);
+        resumeParkedReceivers();
+    }
+
+    private void onReceiveFailed(Throwable error) {
+        pollFailure.increment();
+        log.warn("event=sqs_poll_failed queue_url={}", properties.getQueueUrl(), error);
+        receiveAsyncAfterBackoff();
+    }
+
+    // On the consumer's own scheduler, so stop() cancels pending retries with it.
+    private void receiveAsyncAfterBackoff() {
+        ScheduledExecutorService scheduler = receiveRetryScheduler;
+        if (!running || scheduler == null) {
+            return;
+        }
+        long backoffMillis = Math.max(0, properties.getPollerBackoffMillis());
+        try {
+            scheduler.schedule(this::receiveAsync, backoffMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // Stopped between the check and the schedule.
+        }
+    }
+
+    private void resumeParkedReceivers() {
+        while (true) {
+            int parked = parkedReceivers.get();
+            if (parked == 0 || inFlight.get() >= maxInFlight) {
+                return;
+            }
+            if (parkedReceivers.compareAndSet(parked, parked - 1)) {
+                receiveAsync();
+            }
+        }
+    }
+
+    // Returns false if the processing pool rejected a message; the rest of the batch is left to
+    // reappear after the visibility timeout.
+    private boolean dispatch(List<Message> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return true;
+        }
+        messagesReceived.increment(messages.size());
+
+        for (Message message : messages) {
+            try {
+                inFlight.incrementAndGet();
+                processingExecutor.submit(() -> processMessage(message));
+            } catch (RejectedExecutionException ex) {
+                inFlight.decrementAndGet();
+                log.warn("event=sqs_processing_queue_full queue_url={}", properties.getQueueUrl());
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void processMessage(Message message) {
         long start = System.nanoTime();
         try {
@@ -165,7 +382,7 @@ public class SqsTransactionConsumer implements SmartLifecycle {
             RuleResult result = processed.result();
             log.info(
                 "event=sqs_decision transaction_id={} decision={} reason={} risk_score={} message_id={} queue_url={}",
-                processed.request().getTransactionId(),
+                processed.transactionId(),
                 result.decision(),
                 result.reason(),
                 result.riskScore(),
@@ -197,6 +414,9 @@ public class SqsTransactionConsumer implements SmartLifecycle {
         } finally {
             processLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             inFlight.decrementAndGet();
+            if (asyncClient != null) {
+                resumeParkedReceivers();
+            }
         }
     }
 
@@ -211,14 +431,14 @@ public class SqsTransactionConsumer implements SmartLifecycle {
                 "event=outbox_written outbox_id={} status={} transaction_id={}",
                 result.outboxId(),
                 result.created() ? "created" : "duplicate",
-                processed.request().getTransactionId()
+                processed.transactionId()
             );
             return true;
         } catch (Exception ex) {
             log.warn(
                 "event=outbox_write_failed message_id={} transaction_id={}",
                 message.messageId(),
-                processed.request().getTransactionId(),
+                processed.transactionId(),
                 ex
             );
             return false;
@@ -226,6 +446,10 @@ public class SqsTransactionConsumer implements SmartLifecycle {
     }
 
     private void deleteMessage(Message message) {
+        if (deleteBatcher != null) {
+            deleteBatcher.delete(message);
+            return;
+        }
         try {
             sqsClient.deleteMessage(DeleteMessageRequest.builder()
                 .queueUrl(properties.getQueueUrl())
@@ -242,7 +466,14 @@ public class SqsTransactionConsumer implements SmartLifecycle {
     }
 
     private ReceiveMessageRequest buildReceiveRequest() {
-        int maxMessages = Math.min(10, Math.max(1, properties.getMaxMessages()));
+        return buildReceiveRequest(maxMessagesPerReceive());
+    }
+
+    private int maxMessagesPerReceive() {
+        return Math.min(10, Math.max(1, properties.getMaxMessages()));
+    }
+
+    private ReceiveMessageRequest buildReceiveRequest(int maxMessages) {
         int waitTimeSeconds = Math.max(0, Math.min(20, properties.getWaitTimeSeconds()));
         ReceiveMessageRequest.Builder builder = ReceiveMessageRequest.builder()
             .queueUrl(properties.getQueueUrl())
@@ -280,7 +511,7 @@ public class SqsTransactionConsumer implements SmartLifecycle {
         }
     }
 
-    private static int resolveMaxInFlight(SqsProperties properties) {
+    static int resolveMaxInFlight(SqsProperties properties) {
         if (properties.getMaxInFlight() > 0) {
             return properties.getMaxInFlight();
         }
@@ -2,27 +2,50 @@ package org.fintech.sqs;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.Base64;
+import org.fintech.grpc.DecisionBroadcaster;
+import org.fintech.proto.v1.RiskAssessment;
 import org.fintech.proto.v1.TransactionRequest;
 import org.fintech.rules.RuleEngine;
 import org.fintech.rules.RuleResult;
+import org.fintech.rules.TransactionView;
+import org.fintech.shard.ShardedRuleEngine;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 @Component
 public class SqsTransactionProcessor {
 
     private final RuleEngine ruleEngine;
+    private final ShardedRuleEngine shardedEngine;
+    private final DecisionBroadcaster decisionBroadcaster;
 
-    public SqsTransactionProcessor(RuleEngine ruleEngine) {
+    public SqsTransactionProcessor(
+        RuleEngine ruleEngine,
+        ObjectProvider<ShardedRuleEngine> shardedEngineProvider,
+        ObjectProvider<DecisionBroadcaster> decisionBroadcasterProvider
+    ) {
         this.ruleEngine = ruleEngine;
+        this.shardedEngine = shardedEngineProvider.getIfAvailable();
+        this.decisionBroadcaster = decisionBroadcasterProvider.getIfAvailable();
     }
 
+    // Decisions made from the queue go to WatchDecisions subscribers like gRPC ones. A redelivered
+    // message is published again, the same as a retried gRPC call that misses the cache.
     public ProcessedTransaction process(String messageBody) throws InvalidProtocolBufferException {
-        TransactionRequest request = parseMessage(messageBody);
-        RuleResult result = ruleEngine.evaluate(request);
-        return new ProcessedTransaction(request, result);
+        TransactionView view = parseMessage(messageBody);
+        RuleResult result = shardedEngine != null ? shardedEngine.evaluate(view) : ruleEngine.evaluate(view);
+        if (decisionBroadcaster != null) {
+            decisionBroadcaster.publish(view.accountId(), RiskAssessment.newBuilder()
+                .setTransactionId(view.transactionId())
+                .setRiskScore(result.riskScore())
+                .setDecision(result.decision())
+                .setReason(result.reason())
+                .build());
+        }
+        return new ProcessedTransaction(view, result);
     }
 
-    TransactionRequest parseMessage(String messageBody) throws InvalidProtocolBufferException {
+    TransactionView parseMessage(String messageBody) throws InvalidProtocolBufferException {
         if (messageBody == null || messageBody.isBlank()) {
             throw new InvalidProtocolBufferException("SQS message body is empty");
         }
@@ -35,8 +58,21 @@ public class SqsTransactionProcessor {
             wrapped.initCause(ex);
             throw wrapped;
         }
-        return TransactionRequest.parseFrom(payload);
+        return TransactionView.parse(payload);
     }
 
-    public record ProcessedTransaction(TransactionRequest request, RuleResult result) {}
+    public record ProcessedTransaction(TransactionView view, RuleResult result) {
+
+        public ProcessedTransaction(TransactionRequest request, RuleResult result) {
+            this(TransactionView.of(request), result);
+        }
+
+        public TransactionRequest request() {
+            return view.toRequest();
+        }
+
+        public String transactionId() {
+            return view.transactionId();
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package org.fintech.state;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "fraud.state", name = "enabled", havingValue = "true")
+public class AccountStateCheckpointer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountStateCheckpointer.class);
+
+    private final AccountStateStore store;
+    private final AccountStateProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final Timer checkpointLatency;
+    private final Counter checkpointFailure;
+    private volatile boolean running = false;
+
+    public AccountStateCheckpointer(
+        AccountStateStore store,
+        AccountStateProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.store = store;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("account-state-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checkpointLatency = meterRegistry.timer("fraud.state.checkpoint.latency");
+        this.checkpointFailure = meterRegistry.counter("fraud.state.checkpoint.failure");
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        long interval = Math.max(100, properties.getCheckpointIntervalMillis());
+        scheduler.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("event=account_state_checkpointer_started path={} interval_ms={}", properties.getPath(), interval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        checkpoint();
+        log.info("event=account_state_checkpointer_stopped path={}", properties.getPath());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the consumers (Integer.MAX_VALUE) so the final checkpoint sees their last writes.
+        return Integer.MAX_VALUE - 20;
+    }
+
+    private void checkpoint() {
+        long start = System.nanoTime();
+        try {
+            store.checkpoint();
+        } catch (Exception ex) {
+            checkpointFailure.increment();
+            log.warn("event=account_state_checkpoint_failed path={}", properties.getPath(), ex);
+        } finally {
+            checkpointLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.fintech.state;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableConfigurationProperties(AccountStateProperties.class)
+public class AccountStateConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "fraud.state", name = "enabled", havingValue = "true")
+    AccountStateStore accountStateStore(AccountStateProperties properties, MeterRegistry meterRegistry) {
+        if (!StringUtils.hasText(properties.getPath())) {
+            throw new IllegalStateException("fraud.state.path must be set when fraud.state.enabled=true");
+        }
+        AccountStateStore store = AccountStateStore.open(
+            Path.of(properties.getPath()),
+            properties.getSlots(),
+            properties.getFields()
+        );
+        Gauge.builder("fraud.state.occupied", store, AccountStateStore::occupied).register(meterRegistry);
+        Gauge.builder("fraud.state.capacity", store, AccountStateStore::capacity).register(meterRegistry);
+        Gauge.builder("fraud.state.recovered", store, s -> s.recovery().recovered()).register(meterRegistry);
+        Gauge.builder("fraud.state.reset", store, s -> s.recovery().reset()).register(meterRegistry);
+        return store;
+    }
+}
@@ -0,0 +1,53 @@
+package org.fintech.state;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fraud.state")
+public class AccountStateProperties {
+
+    private boolean enabled = false;
+    private String path = "/var/lib/fraud-detection/account-state.dat";
+    private int slots = 1_048_576;
+    private int fields = 8;
+    private long checkpointIntervalMillis = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public void setSlots(int slots) {
+        this.slots = slots;
+    }
+
+    public int getFields() {
+        return fields;
+    }
+
+    public void setFields(int fields) {
+        this.fields = fields;
+    }
+
+    public long getCheckpointIntervalMillis() {
+        return checkpointIntervalMillis;
+    }
+
+    public void setCheckpointIntervalMillis(long checkpointIntervalMillis) {
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+    }
+}
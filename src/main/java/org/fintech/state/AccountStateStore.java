@@ -0,0 +1,347 @@
+package org.fintech.state;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class AccountStateStore implements Closeable {
+
+    public static final int NO_SLOT = -1;
+
+    private static final Logger log = LoggerFactory.getLogger(AccountStateStore.class);
+    private static final VarHandle LONGS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long MAGIC = 0x4644_5354_4154_4531L;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 8;
+    private static final int HEADER_FIELDS = 16;
+    private static final int HEADER_SLOTS = 24;
+    private static final int HEADER_CHECKPOINT_SEQUENCE = 32;
+    private static final int HEADER_CHECKPOINT_MILLIS = 40;
+    private static final int HEADER_CLEAN_SHUTDOWN = 48;
+
+    // Slot layout: key | seqlock version | updated-at | fields... | checksum, all 8-byte aligned longs.
+    private static final int SLOT_KEY = 0;
+    private static final int SLOT_VERSION = 8;
+    private static final int SLOT_UPDATED_AT = 16;
+    private static final int SLOT_FIELDS = 24;
+    private static final int SLOT_OVERHEAD_LONGS = 4;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+    private final int mask;
+    private final int fields;
+    private final int slotBytes;
+    private final AtomicInteger occupied = new AtomicInteger();
+    private final Object checkpointLock = new Object();
+    private RecoveryStats recovery = RecoveryStats.EMPTY;
+    private long checkpointSequence;
+    private boolean closed;
+
+    private AccountStateStore(Path path, MappedByteBuffer buffer, int slots, int fields) {
+        this.path = path;
+        this.buffer = buffer;
+        this.slots = slots;
+        this.mask = slots - 1;
+        this.fields = fields;
+        this.slotBytes = (SLOT_OVERHEAD_LONGS + fields) * Long.BYTES;
+    }
+
+    public static AccountStateStore open(Path path, int requestedSlots, int fields) {
+        if (fields <= 0) {
+            throw new IllegalArgumentException("Account state fields must be positive: " + fields);
+        }
+        int slots = Integer.highestOneBit(Math.max(2, requestedSlots - 1)) << 1;
+        long slotBytes = (long) (SLOT_OVERHEAD_LONGS + fields) * Long.BYTES;
+        long size = HEADER_BYTES + slotBytes * slots;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException(
+                "Account state file would be " + size + " bytes; reduce fraud.state.slots or fraud.state.fields");
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            )) {
+                boolean compatible = isCompatible(channel, size, slots, fields);
+                if (!compatible && channel.size() > 0) {
+                    log.warn("event=account_state_reset path={} reason=geometry_changed slots={} fields={}",
+                        path, slots, fields);
+                    channel.truncate(0);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                AccountStateStore store = new AccountStateStore(path, buffer, slots, fields);
+                if (compatible) {
+                    store.recover();
+                } else {
+                    store.format();
+                }
+                return store;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to map account state file " + path, ex);
+        }
+    }
+
+    public int slotFor(String accountId) {
+        return locate(accountId, true);
+    }
+
+    public int findSlot(String accountId) {
+        return locate(accountId, false);
+    }
+
+    public boolean read(int slot, long[] target) {
+        int base = slotOffset(slot);
+        while (true) {
+            long version = (long) LONGS.getAcquire(buffer, base + SLOT_VERSION);
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int count = Math.min(fields, target.length);
+            for (int i = 0; i < count; i++) {
+                target[i] = buffer.getLong(base + SLOT_FIELDS + i * Long.BYTES);
+            }
+            VarHandle.acquireFence();
+            if ((long) LONGS.getVolatile(buffer, base + SLOT_VERSION) == version) {
+                return version != 0;
+            }
+        }
+    }
+
+    public long updatedAt(int slot) {
+        return buffer.getLong(slotOffset(slot) + SLOT_UPDATED_AT);
+    }
+
+    // Seqlock write: the version is odd while fields are being rewritten, which both serializes
+    // concurrent writers to the slot and lets recovery spot a write torn by a crash.
+    public void write(int slot, long[] values, long updatedAtMillis) {
+        int base = slotOffset(slot);
+        long version;
+        while (true) {
+            version = (long) LONGS.getVolatile(buffer, base + SLOT_VERSION);
+            if ((version & 1) == 0
+                && LONGS.compareAndSet(buffer, base + SLOT_VERSION, version, version + 1)) {
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        buffer.putLong(base + SLOT_UPDATED_AT, updatedAtMillis);
+        int count = Math.min(fields, values.length);
+        for (int i = 0; i < fields; i++) {
+            buffer.putLong(base + SLOT_FIELDS + i * Long.BYTES, i < count ? values[i] : 0L);
+        }
+        long nextVersion = version + 2;
+        buffer.putLong(base + checksumOffset(), checksum(base, nextVersion));
+        LONGS.setRelease(buffer, base + SLOT_VERSION, nextVersion);
+    }
+
+    public void checkpoint() {
+        synchronized (checkpointLock) {
+            if (closed) {
+                return;
+            }
+            buffer.force();
+            checkpointSequence++;
+            buffer.putLong(HEADER_CHECKPOINT_SEQUENCE, checkpointSequence);
+            buffer.putLong(HEADER_CHECKPOINT_MILLIS, System.currentTimeMillis());
+            buffer.force(0, HEADER_BYTES);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (checkpointLock) {
+            if (closed) {
+                return;
+            }
+            checkpoint();
+            buffer.putLong(HEADER_CLEAN_SHUTDOWN, 1L);
+            buffer.force(0, HEADER_BYTES);
+            closed = true;
+        }
+        log.info("event=account_state_closed path={} occupied={} checkpoint_sequence={}",
+            path, occupied.get(), checkpointSequence);
+    }
+
+    public int fields() {
+        return fields;
+    }
+
+    public int capacity() {
+        return slots;
+    }
+
+    public int occupied() {
+        return occupied.get();
+    }
+
+    public RecoveryStats recovery() {
+        return recovery;
+    }
+
+    private void format() {
+        buffer.putLong(HEADER_MAGIC, MAGIC);
+        buffer.putLong(HEADER_VERSION, VERSION);
+        buffer.putLong(HEADER_FIELDS, fields);
+        buffer.putLong(HEADER_SLOTS, slots);
+        buffer.force(0, HEADER_BYTES);
+    }
+
+    private void recover() {
+        long start = System.nanoTime();
+        checkpointSequence = buffer.getLong(HEADER_CHECKPOINT_SEQUENCE);
+        boolean clean = buffer.getLong(HEADER_CLEAN_SHUTDOWN) == 1L;
+        recovery = scan(!clean);
+        buffer.putLong(HEADER_CLEAN_SHUTDOWN, 0L);
+        buffer.force(0, HEADER_BYTES);
+        log.info(
+            "event=account_state_recovered path={} clean_shutdown={} recovered={} reset={} checkpoint_sequence={} duration_ms={}",
+            path,
+            clean,
+            recovery.recovered(),
+            recovery.reset(),
+            checkpointSequence,
+            (System.nanoTime() - start) / 1_000_000
+        );
+    }
+
+    private static boolean isCompatible(FileChannel channel, long size, int slots, int fields) throws IOException {
+        if (channel.size() != size) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                return false;
+            }
+        }
+        return header.getLong(HEADER_MAGIC) == MAGIC
+            && header.getLong(HEADER_VERSION) == VERSION
+            && header.getLong(HEADER_FIELDS) == fields
+            && header.getLong(HEADER_SLOTS) == slots;
+    }
+
+    private RecoveryStats scan(boolean verify) {
+        int recovered = 0;
+        int reset = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            int base = slotOffset(slot);
+            if (buffer.getLong(base + SLOT_KEY) == 0L) {
+                continue;
+            }
+            long version = buffer.getLong(base + SLOT_VERSION);
+            boolean torn = (version & 1) != 0
+                || (verify && version != 0 && buffer.getLong(base + checksumOffset()) != checksum(base, version));
+            if (torn) {
+                // Keep the key so linear-probe chains stay intact; only the torn state is dropped.
+                for (int i = 0; i < fields; i++) {
+                    buffer.putLong(base + SLOT_FIELDS + i * Long.BYTES, 0L);
+                }
+                buffer.putLong(base + SLOT_UPDATED_AT, 0L);
+                buffer.putLong(base + SLOT_VERSION, 0L);
+                buffer.putLong(base + checksumOffset(), 0L);
+                reset++;
+                continue;
+            }
+            recovered++;
+        }
+        occupied.set(recovered + reset);
+        return new RecoveryStats(recovered, reset);
+    }
+
+    private int locate(String accountId, boolean claim) {
+        long key = hashKey(accountId);
+        int index = (int) (key & mask);
+        for (int probe = 0; probe < slots; probe++) {
+            int base = slotOffset(index);
+            long current = (long) LONGS.getAcquire(buffer, base + SLOT_KEY);
+            if (current == key) {
+                return index;
+            }
+            if (current == 0L) {
+                if (!claim) {
+                    return NO_SLOT;
+                }
+                if (LONGS.compareAndSet(buffer, base + SLOT_KEY, 0L, key)) {
+                    occupied.incrementAndGet();
+                    return index;
+                }
+                if ((long) LONGS.getAcquire(buffer, base + SLOT_KEY) == key) {
+                    return index;
+                }
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    private int slotOffset(int slot) {
+        if (slot < 0 || slot >= slots) {
+            throw new IndexOutOfBoundsException("Account state slot out of range: " + slot);
+        }
+        return HEADER_BYTES + slot * slotBytes;
+    }
+
+    private int checksumOffset() {
+        return slotBytes - Long.BYTES;
+    }
+
+    private long checksum(int base, long version) {
+        long hash = mix(buffer.getLong(base + SLOT_KEY) ^ version);
+        hash = mix(hash ^ buffer.getLong(base + SLOT_UPDATED_AT));
+        for (int i = 0; i < fields; i++) {
+            hash = mix(hash ^ buffer.getLong(base + SLOT_FIELDS + i * Long.BYTES));
+        }
+        return hash;
+    }
+
+    // FNV-1a over the UTF-16 code units, finished with a 64-bit mixer. Stable across JVMs, unlike
+    // identity or randomized hashes, so a restarted pod finds the same slots.
+    static long hashKey(String accountId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < accountId.length(); i++) {
+            hash ^= accountId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = mix(hash);
+        return hash == 0L ? 1L : hash;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    public record RecoveryStats(int recovered, int reset) {
+        static final RecoveryStats EMPTY = new RecoveryStats(0, 0);
+    }
+}
@@ -0,0 +1,169 @@
+package org.fintech.state;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+// Maps strings to dense int ids with CLOCK eviction. Every slot carries a generation that eviction
+// bumps before the id is handed to another symbol. The map stores stamped handles (generation in the
+// high half, id in the low half), so a lock-free reader that picked up a handle just before an
+// eviction sees the generation mismatch and retries under the lock instead of returning another
+// symbol's id. Callers that keep an id past the call can hold the stamped handle and check it with
+// `isCurrent` before touching id-indexed state.
+public final class SymbolTable {
+
+    public static final int NO_SYMBOL = -1;
+
+    private final String name;
+    private final int capacity;
+    private final ConcurrentHashMap<String, Long> ids;
+    private final AtomicReferenceArray<String> symbols;
+    // Per slot: generation << 1 | referenced bit.
+    private final AtomicIntegerArray states;
+    private final List<IntConsumer> evictionListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder evictions = new LongAdder();
+    private final Object allocationLock = new Object();
+    private int nextId;
+    private int clockHand;
+
+    public SymbolTable(String name, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Symbol table capacity must be positive: " + capacity);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.ids = new ConcurrentHashMap<>(Math.min(capacity, 1 << 16));
+        this.symbols = new AtomicReferenceArray<>(capacity);
+        this.states = new AtomicIntegerArray(capacity);
+    }
+
+    public int intern(String symbol) {
+        return idOf(internStamped(symbol));
+    }
+
+    public long internStamped(String symbol) {
+        Long existing = ids.get(symbol);
+        if (existing != null && touch(existing)) {
+            return existing;
+        }
+        synchronized (allocationLock) {
+            // Evictions only happen under this lock, so a handle read here is current.
+            existing = ids.get(symbol);
+            if (existing != null && touch(existing)) {
+                return existing;
+            }
+            int id = nextId < capacity ? nextId++ : evictOne();
+            int generation = states.get(id) >>> 1;
+            long stamped = stamp(generation, id);
+            symbols.set(id, symbol);
+            states.set(id, generation << 1 | 1);
+            ids.put(symbol, stamped);
+            return stamped;
+        }
+    }
+
+    public int lookup(String symbol) {
+        Long existing = ids.get(symbol);
+        // A stale handle means the symbol was evicted while we read it.
+        if (existing == null || !touch(existing)) {
+            return NO_SYMBOL;
+        }
+        return idOf(existing);
+    }
+
+    public boolean isCurrent(long stamped) {
+        int id = idOf(stamped);
+        return id >= 0 && id < capacity && states.get(id) >>> 1 == generationOf(stamped);
+    }
+
+    public String symbol(int id) {
+        if (id < 0 || id >= capacity) {
+            return null;
+        }
+        return symbols.get(id);
+    }
+
+    // Listeners run under the allocation lock, before the id is handed to the new symbol, so
+    // id-indexed stores can reset the slot without racing the next owner.
+    public void addEvictionListener(IntConsumer listener) {
+        evictionListeners.add(listener);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public static int idOf(long stamped) {
+        return (int) stamped;
+    }
+
+    static int generationOf(long stamped) {
+        return (int) (stamped >>> 32);
+    }
+
+    private static long stamp(int generation, int id) {
+        return (long) generation << 32 | (id & 0xFFFFFFFFL);
+    }
+
+    // Sets the reference bit only while the slot still has the handle's generation, so a reader
+    // racing an eviction never gives the slot's next owner a second chance it did not earn.
+    private boolean touch(long stamped) {
+        int id = idOf(stamped);
+        int generation = generationOf(stamped);
+        while (true) {
+            int state = states.get(id);
+            if (state >>> 1 != generation) {
+                return false;
+            }
+            // Plain read first so hot symbols do not keep dirtying the shared cache line.
+            if ((state & 1) != 0 || states.compareAndSet(id, state, state | 1)) {
+                return true;
+            }
+        }
+    }
+
+    private int evictOne() {
+        // CLOCK second-chance: a symbol touched since the hand last passed survives one more sweep.
+        while (true) {
+            int candidate = clockHand;
+            clockHand = candidate + 1 == capacity ? 0 : candidate + 1;
+            int state = states.get(candidate);
+            if ((state & 1) != 0) {
+                states.compareAndSet(candidate, state, state & ~1);
+                continue;
+            }
+            int generation = state >>> 1;
+            // Bumping the generation first invalidates every handle a lock-free reader may hold. A
+            // failed CAS means a reader touched the slot in between, which earns it another sweep.
+            if (!states.compareAndSet(candidate, state, (generation + 1) << 1)) {
+                continue;
+            }
+            String evicted = symbols.get(candidate);
+            if (evicted != null) {
+                ids.remove(evicted, stamp(generation, candidate));
+            }
+            symbols.set(candidate, null);
+            evictions.increment();
+            for (IntConsumer listener : evictionListeners) {
+                listener.accept(candidate);
+            }
+            return candidate;
+        }
+    }
+}
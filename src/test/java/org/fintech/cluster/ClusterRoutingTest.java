@@ -0,0 +1,220 @@
+package org.fintech.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.fintech.grpc.BatchEvaluator;
+import org.fintech.grpc.FraudDetectionGrpcService;
+import org.fintech.grpc.GrpcEvaluationProperties;
+import org.fintech.grpc.PeerEvaluationGrpcService;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.FraudDetectionPeerServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.fintech.rules.DefaultApproveRule;
+import org.fintech.rules.RuleEngine;
+import org.fintech.rules.TransactionRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class ClusterRoutingTest {
+
+    private static final List<String> MEMBERS = List.of("node-a:1", "node-b:2", "node-c:3");
+    private static final String PEER_TOKEN = "peer-secret";
+
+    private List<Node> nodes;
+
+    @BeforeEach
+    void startNodes() throws IOException {
+        nodes = List.of(new Node("node-a:1"), new Node("node-b:2"), new Node("node-c:3"));
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(Node::close);
+    }
+
+    @Test
+    void evaluatesEachAccountOnItsOwnerWhicheverNodeReceivesIt() throws Exception {
+        for (int i = 0; i < 60; i++) {
+            String account = "acct-" + i;
+            for (Node entry : nodes) {
+                RiskAssessment response = entry.evaluate(account);
+                assertThat(response.getDecision()).isEqualTo(Decision.APPROVE);
+            }
+            String owner = nodes.get(0).router.ownerOf(account).id();
+            for (Node node : nodes) {
+                assertThat(node.evaluated.contains(account)).as(account + " on " + node.id)
+                    .isEqualTo(node.id.equals(owner));
+            }
+        }
+        assertThat(nodes).allSatisfy(node -> assertThat(node.evaluated).isNotEmpty());
+    }
+
+    @Test
+    void fallsBackWhenTheOwnerIsDown() throws Exception {
+        Node entry = nodes.get(0);
+        Node down = nodes.get(2);
+        down.server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        List<String> ownedByDown = new ArrayList<>();
+        for (int i = 0; ownedByDown.size() < 2; i++) {
+            if (entry.router.ownerOf("acct-" + i).id().equals(down.id)) {
+                ownedByDown.add("acct-" + i);
+            }
+        }
+
+        // The first request pays for discovering the failure and is evaluated by the receiving pod.
+        assertThat(entry.evaluate(ownedByDown.get(0)).getDecision()).isEqualTo(Decision.APPROVE);
+        assertThat(entry.evaluated).contains(ownedByDown.get(0));
+        assertThat(entry.router.downCount()).isEqualTo(1);
+
+        // Later requests skip the cooled-down owner and go straight to the next replica.
+        assertThat(entry.evaluate(ownedByDown.get(1)).getDecision()).isEqualTo(Decision.APPROVE);
+        assertThat(down.evaluated).isEmpty();
+        assertThat(nodes.get(0).evaluated.contains(ownedByDown.get(1))
+            || nodes.get(1).evaluated.contains(ownedByDown.get(1))).isTrue();
+    }
+
+    @Test
+    void peerServiceRejectsCallersWithoutTheClusterToken() {
+        Node target = nodes.get(1);
+        ManagedChannel channel = InProcessChannelBuilder.forName(target.id).directExecutor().build();
+        try {
+            TransactionRequest request = TransactionRequest.newBuilder()
+                .setTransactionId("tx-outsider")
+                .setAccountId("acct-outsider")
+                .setAmount(10.0)
+                .build();
+            FraudDetectionPeerServiceGrpc.FraudDetectionPeerServiceBlockingStub stub =
+                FraudDetectionPeerServiceGrpc.newBlockingStub(channel);
+
+            assertThatThrownBy(() -> stub.evaluateForwarded(request))
+                .isInstanceOf(StatusRuntimeException.class)
+                .satisfies(error -> assertThat(Status.fromThrowable(error).getCode())
+                    .isEqualTo(Status.Code.UNAUTHENTICATED));
+            assertThatThrownBy(() -> stub.withInterceptors(PeerTokenInterceptor.attach("wrong"))
+                .evaluateForwarded(request))
+                .isInstanceOf(StatusRuntimeException.class);
+            assertThat(target.evaluated).isEmpty();
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+
+    private static final class Node implements AutoCloseable {
+        private final String id;
+        private final Set<String> evaluated = ConcurrentHashMap.newKeySet();
+        private final ClusterRouter router;
+        private final FraudDetectionGrpcService service;
+        private final Server server;
+
+        @SuppressWarnings("unchecked")
+        Node(String id) throws IOException {
+            this.id = id;
+            ClusterProperties properties = new ClusterProperties();
+            properties.setSelf(id);
+            properties.setMembers(MEMBERS);
+            properties.setReplication(2);
+            properties.setForwardTimeoutMillis(1000);
+            properties.setDownCooldownMillis(60_000);
+            properties.setPeerToken(PEER_TOKEN);
+            ClusterMembership membership = new ClusterMembership(properties);
+            this.router = new ClusterRouter(
+                membership,
+                properties,
+                node -> InProcessChannelBuilder.forName(node.id()).directExecutor().build(),
+                new SimpleMeterRegistry()
+            );
+
+            TransactionRule recordingRule = request -> {
+                evaluated.add(request.getAccountId());
+                return Optional.empty();
+            };
+            RuleEngine ruleEngine = new RuleEngine(
+                List.of(recordingRule),
+                new DefaultApproveRule(0.1),
+                new SimpleMeterRegistry()
+            );
+            ObjectProvider<ClusterRouter> routerProvider = mock(ObjectProvider.class);
+            when(routerProvider.getIfAvailable()).thenReturn(router);
+            this.service = new FraudDetectionGrpcService(
+                ruleEngine,
+                new GrpcEvaluationProperties(),
+                new BatchEvaluator(1, Integer.MAX_VALUE, 1, new SimpleMeterRegistry()),
+                mock(ObjectProvider.class),
+                routerProvider,
+                mock(ObjectProvider.class),
+                mock(ObjectProvider.class),
+                mock(ObjectProvider.class),
+                mock(ObjectProvider.class)
+            );
+            this.server = InProcessServerBuilder.forName(id)
+                .directExecutor()
+                .addService(new PeerEvaluationGrpcService(service, properties))
+                .build()
+                .start();
+        }
+
+        RiskAssessment evaluate(String account) throws InterruptedException {
+            TransactionRequest request = TransactionRequest.newBuilder()
+                .setTransactionId("tx-" + account)
+                .setAccountId(account)
+                .setAmount(10.0)
+                .setCurrency("USD")
+                .build();
+            CapturingObserver observer = new CapturingObserver();
+            service.evaluateTransaction(request, observer);
+            assertThat(observer.done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(observer.error).isNull();
+            return observer.value;
+        }
+
+        @Override
+        public void close() {
+            router.close();
+            server.shutdownNow();
+        }
+    }
+
+    private static final class CapturingObserver implements StreamObserver<RiskAssessment> {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile RiskAssessment value;
+        private volatile Throwable error;
+
+        @Override
+        public void onNext(RiskAssessment value) {
+            this.value = value;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            done.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            done.countDown();
+        }
+    }
+}
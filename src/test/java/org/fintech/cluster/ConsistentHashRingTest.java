@@ -0,0 +1,76 @@
+package org.fintech.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final List<ClusterNode> NODES = List.of(
+        ClusterNode.parse("10.0.0.1:9090"),
+        ClusterNode.parse("10.0.0.2:9090"),
+        ClusterNode.parse("10.0.0.3:9090"),
+        ClusterNode.parse("10.0.0.4:9090")
+    );
+
+    @Test
+    void ownersAreDistinctAndStartWithThePrimary() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+
+        for (int key = 0; key < 1000; key++) {
+            List<ClusterNode> owners = ring.owners(key, 3);
+            assertThat(owners).hasSize(3).doesNotHaveDuplicates();
+            assertThat(owners.get(0)).isEqualTo(ring.primary(key));
+        }
+        assertThat(ring.owners(42, 10)).hasSize(NODES.size());
+    }
+
+    @Test
+    void spreadsKeysEvenlyAcrossMembers() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<ClusterNode, Integer> counts = new HashMap<>();
+
+        int keys = 100_000;
+        for (int key = 0; key < keys; key++) {
+            counts.merge(ring.primary(("acct-" + key).hashCode()), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(NODES.size());
+        for (int count : counts.values()) {
+            assertThat(count).isBetween(keys / 4 * 7 / 10, keys / 4 * 13 / 10);
+        }
+    }
+
+    @Test
+    void addingAMemberOnlyMovesKeysToIt() {
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 128);
+        List<ClusterNode> grown = new ArrayList<>(NODES);
+        ClusterNode added = ClusterNode.parse("10.0.0.5:9090");
+        grown.add(added);
+        ConsistentHashRing after = new ConsistentHashRing(grown, 128);
+
+        int keys = 50_000;
+        int moved = 0;
+        for (int key = 0; key < keys; key++) {
+            ClusterNode previous = before.primary(key);
+            ClusterNode current = after.primary(key);
+            if (!previous.equals(current)) {
+                assertThat(current).isEqualTo(added);
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(keys / 10, keys * 3 / 10);
+    }
+
+    @Test
+    void emptyRingHasNoOwners() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), 16);
+
+        assertThat(ring.primary(7)).isNull();
+        assertThat(ring.owners(7, 2)).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package org.fintech.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BoundedVirtualThreadExecutorTest {
+
+    @Test
+    void runsTasksOnVirtualThreads() throws Exception {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-vexec-", 4);
+        try {
+            boolean virtual = executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+            assertThat(virtual).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void capsConcurrentTasksAndParksTheRest() throws Exception {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-vexec-", 3);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(10);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try {
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                        finished.countDown();
+                    }
+                });
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (executor.waiting() < 7 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(executor.active()).isEqualTo(3);
+            assertThat(executor.waiting()).isEqualTo(7);
+
+            release.countDown();
+            assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(peak.get()).isEqualTo(3);
+            assertThat(executor.active()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.fintech.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.Test;
+
+class EpollServerTransportTest {
+
+    @Test
+    void bindsReusePortListenersOnTheSameAddress() throws Exception {
+        assumeTrue(Epoll.isAvailable(), "native epoll is not available on this platform");
+        EpollServerTransport transport = new EpollServerTransport(3, 0, 2);
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", freePort());
+        NettyServerBuilder builder = NettyServerBuilder.forAddress(address).addService(new ApprovingService());
+        transport.configure(builder, address);
+        Server server = builder.build().start();
+        ManagedChannel channel = NettyChannelBuilder.forAddress(address).usePlaintext().build();
+        try {
+            assertThat(transport.isActive()).isTrue();
+            assertThat(server.getListenSockets()).hasSize(3);
+            for (int i = 0; i < 5; i++) {
+                RiskAssessment assessment = FraudDetectionServiceGrpc.newBlockingStub(channel)
+                    .evaluateTransaction(TransactionRequest.newBuilder().setTransactionId("tx-" + i).build());
+                assertThat(assessment.getTransactionId()).isEqualTo("tx-" + i);
+            }
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            transport.close();
+        }
+    }
+
+    @Test
+    void leavesNonNettyBuildersUntouched() throws Exception {
+        EpollServerTransport transport = new EpollServerTransport(2, 0, 1);
+        InProcessServerBuilder builder = InProcessServerBuilder.forName("epoll-test").addService(new ApprovingService());
+        try {
+            transport.configure(builder, new InetSocketAddress(0));
+            Server server = builder.build().start();
+            assertThat(server.isShutdown()).isFalse();
+            server.shutdownNow();
+        } finally {
+            transport.close();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static final class ApprovingService extends FraudDetectionServiceGrpc.FraudDetectionServiceImplBase {
+
+        @Override
+        public void evaluateTransaction(TransactionRequest request, StreamObserver<RiskAssessment> responseObserver) {
+            responseObserver.onNext(RiskAssessment.newBuilder()
+                .setTransactionId(request.getTransactionId())
+                .setDecision(Decision.APPROVE)
+                .build());
+            responseObserver.onCompleted();
+        }
+    }
+}
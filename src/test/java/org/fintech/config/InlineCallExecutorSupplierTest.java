@@ -0,0 +1,41 @@
+package org.fintech.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.junit.jupiter.api.Test;
+
+class InlineCallExecutorSupplierTest {
+
+    private final Executor offload = mock(Executor.class);
+    private final InlineCallExecutorSupplier supplier = new InlineCallExecutorSupplier(
+        offload,
+        Set.of(FraudDetectionServiceGrpc.getEvaluateTransactionMethod().getFullMethodName())
+    );
+
+    @Test
+    void keepsInlineMethodsOnTheTransportThread() {
+        assertThat(supplier.getExecutor(callFor(FraudDetectionServiceGrpc.getEvaluateTransactionMethod()), new Metadata()))
+            .isNull();
+    }
+
+    @Test
+    void offloadsEverythingElse() {
+        assertThat(supplier.getExecutor(callFor(FraudDetectionServiceGrpc.getEvaluateTransactionBatchMethod()), new Metadata()))
+            .isSameAs(offload);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ReqT, RespT> ServerCall<ReqT, RespT> callFor(MethodDescriptor<ReqT, RespT> method) {
+        ServerCall<ReqT, RespT> call = mock(ServerCall.class);
+        when(call.getMethodDescriptor()).thenReturn(method);
+        return call;
+    }
+}
@@ -0,0 +1,73 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void rejectsOnceTheLimitIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 200);
+
+        for (int round = 0; round < 20; round++) {
+            saturate(limiter, FAST);
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(40);
+    }
+
+    @Test
+    void shrinksWhenLatencyClimbsUnderLoad() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 1, 1000);
+        saturate(limiter, FAST);
+        int baseline = limiter.limit();
+
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, SLOW);
+        }
+
+        assertThat(limiter.limit()).isLessThan(baseline);
+    }
+
+    @Test
+    void overloadDropsShrinkTheLimitAndRespectTheFloor() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertThat(limiter.limit()).isLessThan(50);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BatchEvaluatorTest {
+
+    private final BatchEvaluator evaluator = new BatchEvaluator(4, 16, 8, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        evaluator.close();
+    }
+
+    @Test
+    void smallBatchesRunOnTheCallingThread() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<RiskAssessment> results = evaluator.evaluate(requests(10), recordingThread(threads));
+
+        assertThat(results).extracting(RiskAssessment::getTransactionId)
+            .containsExactlyElementsOf(ids(10));
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void largeBatchesKeepRequestOrderAcrossWorkers() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Function<TransactionRequest, RiskAssessment> slow = request -> {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return recordingThread(threads).apply(request);
+        };
+
+        List<RiskAssessment> results = evaluator.evaluate(requests(500), slow);
+
+        assertThat(results).extracting(RiskAssessment::getTransactionId)
+            .containsExactlyElementsOf(ids(500));
+        assertThat(threads).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void propagatesTheFirstFailure() {
+        Function<TransactionRequest, RiskAssessment> rejecting = request -> {
+            if (request.getTransactionId().equals("tx-300")) {
+                throw new RejectedExecutionException("shard ring full");
+            }
+            return RiskAssessment.newBuilder().setTransactionId(request.getTransactionId()).build();
+        };
+
+        assertThatThrownBy(() -> evaluator.evaluate(requests(500), rejecting))
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessage("shard ring full");
+    }
+
+    private static Function<TransactionRequest, RiskAssessment> recordingThread(Set<String> threads) {
+        return request -> {
+            threads.add(Thread.currentThread().getName());
+            return RiskAssessment.newBuilder().setTransactionId(request.getTransactionId()).build();
+        };
+    }
+
+    private static List<TransactionRequest> requests(int count) {
+        List<TransactionRequest> requests = new ArrayList<>(count);
+        for (String id : ids(count)) {
+            requests.add(TransactionRequest.newBuilder().setTransactionId(id).build());
+        }
+        return requests;
+    }
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add("tx-" + i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,158 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fintech.proto.v1.FraudDetectionPeerServiceGrpc;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClientQuotaInterceptorTest {
+
+    private final AtomicInteger evaluated = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitInterceptor limiter = new ConcurrencyLimitInterceptor(20, 4, 1000, meterRegistry);
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ClientQuotaProperties properties = new ClientQuotaProperties();
+        properties.setRate(0.001);
+        properties.setBurst(2);
+        properties.getClients().put("noisy", new ClientQuotaProperties.Limit());
+        properties.getClients().put("quiet", new ClientQuotaProperties.Limit());
+        ClientQuotaInterceptor interceptor = new ClientQuotaInterceptor(properties, meterRegistry);
+        FraudDetectionServiceGrpc.FraudDetectionServiceImplBase service =
+            new FraudDetectionServiceGrpc.FraudDetectionServiceImplBase() {
+                @Override
+                public void evaluateTransaction(TransactionRequest request, StreamObserver<RiskAssessment> observer) {
+                    evaluated.incrementAndGet();
+                    observer.onNext(RiskAssessment.newBuilder().setTransactionId(request.getTransactionId()).build());
+                    observer.onCompleted();
+                }
+            };
+        FraudDetectionPeerServiceGrpc.FraudDetectionPeerServiceImplBase peerService =
+            new FraudDetectionPeerServiceGrpc.FraudDetectionPeerServiceImplBase() {
+                @Override
+                public void evaluateForwarded(TransactionRequest request, StreamObserver<RiskAssessment> observer) {
+                    evaluated.incrementAndGet();
+                    observer.onNext(RiskAssessment.newBuilder().setTransactionId(request.getTransactionId()).build());
+                    observer.onCompleted();
+                }
+            };
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addStreamTracerFactory(limiter)
+            // The last interceptor runs first, matching the quota's @Order ahead of the limiter.
+            .addService(ServerInterceptors.intercept(service, limiter, interceptor))
+            .addService(ServerInterceptors.intercept(peerService, limiter, interceptor))
+            .build()
+            .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void throttlesNoisyClientWithoutAffectingOthers() {
+        FraudDetectionServiceGrpc.FraudDetectionServiceBlockingStub noisy = stubFor("noisy");
+        FraudDetectionServiceGrpc.FraudDetectionServiceBlockingStub quiet = stubFor("quiet");
+
+        noisy.evaluateTransaction(request("tx-1"));
+        noisy.evaluateTransaction(request("tx-2"));
+        assertThatThrownBy(() -> noisy.evaluateTransaction(request("tx-3")))
+            .isInstanceOf(StatusRuntimeException.class)
+            .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+            .isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+
+        assertThat(quiet.evaluateTransaction(request("tx-4")).getTransactionId()).isEqualTo("tx-4");
+        assertThat(evaluated).hasValue(3);
+        assertThat(meterRegistry.get("grpc.server.quota.throttled").tag("client", "noisy").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void rotatingUnlistedClientIdsShareThePeerBucket() {
+        stubFor("made-up-1").evaluateTransaction(request("tx-1"));
+        stubFor("made-up-2").evaluateTransaction(request("tx-2"));
+        assertThatThrownBy(() -> stubFor("made-up-3").evaluateTransaction(request("tx-3")))
+            .isInstanceOf(StatusRuntimeException.class)
+            .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+            .isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+
+        assertThat(evaluated).hasValue(2);
+        assertThat(meterRegistry.get("grpc.server.quota.throttled").tag("client", ClientQuotas.OVERFLOW_CLIENT)
+            .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("grpc.server.quota.throttled").tag("client", "made-up-3").counter()).isNull();
+    }
+
+    @Test
+    void throttledCallsLeaveTheConcurrencyLimitAlone() throws Exception {
+        FraudDetectionServiceGrpc.FraudDetectionServiceBlockingStub noisy = stubFor("noisy");
+        noisy.evaluateTransaction(request("tx-1"));
+        noisy.evaluateTransaction(request("tx-2"));
+        int limitBefore = limiter.limiter().limit();
+
+        for (int i = 0; i < 50; i++) {
+            String transactionId = "tx-throttled-" + i;
+            assertThatThrownBy(() -> noisy.evaluateTransaction(request(transactionId)))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (limiter.limiter().inFlight() != 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(limiter.limiter().inFlight()).isZero();
+        assertThat(limiter.limiter().limit()).isEqualTo(limitBefore);
+        assertThat(evaluated).hasValue(2);
+    }
+
+    @Test
+    void forwardedPeerCallsAreNotChargedToTheForwardingPod() {
+        FraudDetectionPeerServiceGrpc.FraudDetectionPeerServiceBlockingStub peer =
+            FraudDetectionPeerServiceGrpc.newBlockingStub(channel);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(peer.evaluateForwarded(request("tx-" + i)).getTransactionId()).isEqualTo("tx-" + i);
+        }
+
+        assertThat(evaluated).hasValue(10);
+        assertThat(meterRegistry.find("grpc.server.quota.throttled").counters()).isEmpty();
+    }
+
+    private FraudDetectionServiceGrpc.FraudDetectionServiceBlockingStub stubFor(String clientId) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("x-client-id", Metadata.ASCII_STRING_MARSHALLER), clientId);
+        return FraudDetectionServiceGrpc.newBlockingStub(channel)
+            .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    private static TransactionRequest request(String transactionId) {
+        return TransactionRequest.newBuilder().setTransactionId(transactionId).build();
+    }
+}
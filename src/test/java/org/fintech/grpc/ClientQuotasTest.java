@@ -0,0 +1,106 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ClientQuotasTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void admitsBurstThenSteadyRate() {
+        ClientQuotaProperties properties = properties(10, 5);
+        properties.getClients().put("gateway", new ClientQuotaProperties.Limit());
+        ClientQuotas quotas = new ClientQuotas(properties, meterRegistry, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(quotas.tryAcquire("gateway")).isTrue();
+        }
+        assertThat(quotas.tryAcquire("gateway")).isFalse();
+
+        // 10/s refills one token every 100ms.
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(quotas.tryAcquire("gateway")).isTrue();
+        assertThat(quotas.tryAcquire("gateway")).isFalse();
+        assertThat(throttled("gateway")).isEqualTo(2.0);
+    }
+
+    @Test
+    void callersDoNotShareBuckets() {
+        ClientQuotas quotas = new ClientQuotas(properties(10, 2), meterRegistry, clock::get);
+
+        quotas.tryAcquire("noisy");
+        quotas.tryAcquire("noisy");
+        assertThat(quotas.tryAcquire("noisy")).isFalse();
+
+        assertThat(quotas.tryAcquire("quiet")).isTrue();
+        assertThat(quotas.trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    void perClientOverrideReplacesDefaults() {
+        ClientQuotaProperties properties = properties(10, 1);
+        ClientQuotaProperties.Limit limit = new ClientQuotaProperties.Limit();
+        limit.setRate(100);
+        limit.setBurst(3);
+        properties.getClients().put("settlement", limit);
+        ClientQuotas quotas = new ClientQuotas(properties, meterRegistry, clock::get);
+
+        assertThat(quotas.tryAcquire("settlement")).isTrue();
+        assertThat(quotas.tryAcquire("settlement")).isTrue();
+        assertThat(quotas.tryAcquire("settlement")).isTrue();
+        assertThat(quotas.tryAcquire("settlement")).isFalse();
+        assertThat(quotas.tryAcquire("gateway")).isTrue();
+        assertThat(quotas.tryAcquire("gateway")).isFalse();
+    }
+
+    @Test
+    void onlyConfiguredClientsGetTheirOwnThrottledCounter() {
+        ClientQuotaProperties properties = properties(10, 1);
+        properties.getClients().put("settlement", new ClientQuotaProperties.Limit());
+        ClientQuotas quotas = new ClientQuotas(properties, meterRegistry, clock::get);
+
+        for (String client : new String[] {"settlement", "10.0.0.7", "10.0.0.8"}) {
+            quotas.tryAcquire(client);
+            assertThat(quotas.tryAcquire(client)).isFalse();
+        }
+
+        assertThat(throttled("settlement")).isEqualTo(1.0);
+        assertThat(throttled(ClientQuotas.OVERFLOW_CLIENT)).isEqualTo(2.0);
+        assertThat(meterRegistry.find("grpc.server.quota.throttled").tag("client", "10.0.0.7").counter()).isNull();
+    }
+
+    @Test
+    void newCallersShareOverflowBucketOnceFullUntilIdleOnesAreSwept() {
+        ClientQuotaProperties properties = properties(10, 1);
+        properties.setMaxClients(2);
+        properties.setIdleEvictMillis(1_000);
+        ClientQuotas quotas = new ClientQuotas(properties, meterRegistry, clock::get);
+
+        quotas.tryAcquire("a");
+        quotas.tryAcquire("b");
+        assertThat(quotas.tryAcquire("c")).isTrue();
+        assertThat(quotas.tryAcquire("d")).isFalse();
+        assertThat(throttled(ClientQuotas.OVERFLOW_CLIENT)).isEqualTo(1.0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(quotas.tryAcquire("e")).isTrue();
+        assertThat(quotas.trackedClients()).isEqualTo(2);
+    }
+
+    private static ClientQuotaProperties properties(double rate, int burst) {
+        ClientQuotaProperties properties = new ClientQuotaProperties();
+        properties.setRate(rate);
+        properties.setBurst(burst);
+        return properties;
+    }
+
+    private double throttled(String client) {
+        return meterRegistry.get("grpc.server.quota.throttled").tag("client", client).counter().count();
+    }
+}
@@ -0,0 +1,193 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.fintech.config.InlineCallExecutorSupplier;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.RiskAssessmentBatch;
+import org.fintech.proto.v1.TransactionBatch;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final FraudDetectionServiceGrpc.FraudDetectionServiceImplBase service =
+        new FraudDetectionServiceGrpc.FraudDetectionServiceImplBase() {
+            @Override
+            public void evaluateTransaction(TransactionRequest request, StreamObserver<RiskAssessment> observer) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                observer.onNext(RiskAssessment.newBuilder().setTransactionId(request.getTransactionId()).build());
+                observer.onCompleted();
+            }
+
+            @Override
+            public void evaluateTransactionBatch(TransactionBatch batch, StreamObserver<RiskAssessmentBatch> observer) {
+                observer.onNext(RiskAssessmentBatch.getDefaultInstance());
+                observer.onCompleted();
+            }
+        };
+
+    @Test
+    void shedsCallsAboveTheLimitWithResourceExhausted() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, 1, 1, registry);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        String name = InProcessServerBuilder.generateName();
+        Server server = start(name, interceptor, executor);
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+        try {
+            ListenableFuture<RiskAssessment> first = evaluate(channel, "tx-1");
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertShed(channel, "tx-2");
+            assertThat(registry.get("grpc.server.limiter.shed").counter().count()).isEqualTo(1.0);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("tx-1");
+            awaitInFlight(interceptor, 0);
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shedsWhileTheExecutorIsSaturatedInsteadOfQueueing() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(2, 2, 2, registry);
+        // One worker: the first call holds it and the second waits in the executor queue.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        String name = InProcessServerBuilder.generateName();
+        Server server = start(name, interceptor, executor);
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+        try {
+            ListenableFuture<RiskAssessment> running = evaluate(channel, "tx-1");
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            ListenableFuture<RiskAssessment> queued = evaluate(channel, "tx-2");
+            awaitInFlight(interceptor, 2);
+
+            // Rejected on the transport thread while the only worker is still busy; a limiter
+            // behind the queue would not answer before the deadline.
+            assertShed(channel, "tx-3");
+            assertThat(registry.get("grpc.server.limiter.shed").counter().count()).isEqualTo(1.0);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("tx-1");
+            assertThat(queued.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("tx-2");
+            awaitInFlight(interceptor, 0);
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void batchesAreNotLimited() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, 1, 1, registry);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        String name = InProcessServerBuilder.generateName();
+        Server server = start(name, interceptor, executor);
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+        try {
+            ListenableFuture<RiskAssessment> first = evaluate(channel, "tx-1");
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            FraudDetectionServiceGrpc.newBlockingStub(channel)
+                .withDeadlineAfter(2, TimeUnit.SECONDS)
+                .evaluateTransactionBatch(TransactionBatch.getDefaultInstance());
+            assertThat(registry.get("grpc.server.limiter.shed").counter().count()).isZero();
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            awaitInFlight(interceptor, 0);
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void clientCancellationsLeaveTheLimitAlone() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(8, 4, 100, registry);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        String name = InProcessServerBuilder.generateName();
+        Server server = start(name, interceptor, executor);
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+        try {
+            ListenableFuture<RiskAssessment> call = evaluate(channel, "tx-1");
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            call.cancel(true);
+            awaitInFlight(interceptor, 0);
+
+            assertThat(interceptor.limiter().limit()).isEqualTo(8);
+        } finally {
+            release.countDown();
+            channel.shutdownNow();
+            server.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    private Server start(String name, ConcurrencyLimitInterceptor interceptor, ExecutorService executor)
+        throws Exception {
+        return InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .callExecutor(interceptor.keepShedCallsInline(new InlineCallExecutorSupplier(executor, Set.of())))
+            .addStreamTracerFactory(interceptor)
+            .addService(ServerInterceptors.intercept(service, interceptor))
+            .build()
+            .start();
+    }
+
+    private static ListenableFuture<RiskAssessment> evaluate(ManagedChannel channel, String transactionId) {
+        return FraudDetectionServiceGrpc.newFutureStub(channel)
+            .evaluateTransaction(TransactionRequest.newBuilder().setTransactionId(transactionId).build());
+    }
+
+    private static void assertShed(ManagedChannel channel, String transactionId) {
+        assertThatThrownBy(() -> FraudDetectionServiceGrpc.newBlockingStub(channel)
+            .withDeadlineAfter(2, TimeUnit.SECONDS)
+            .evaluateTransaction(TransactionRequest.newBuilder().setTransactionId(transactionId).build()))
+            .isInstanceOfSatisfying(StatusRuntimeException.class,
+                ex -> assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED));
+    }
+
+    private static void awaitInFlight(ConcurrencyLimitInterceptor interceptor, int expected)
+        throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (interceptor.limiter().inFlight() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(interceptor.limiter().inFlight()).isEqualTo(expected);
+    }
+}
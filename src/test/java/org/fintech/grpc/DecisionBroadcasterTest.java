@@ -0,0 +1,143 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.DecisionEvent;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.WatchDecisionsRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class DecisionBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DecisionBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void subscribersOnlyReceiveMatchingDecisions() throws Exception {
+        start(64, 10, false);
+        List<DecisionEvent> rejects = new CopyOnWriteArrayList<>();
+        List<DecisionEvent> accountTwo = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe(
+            WatchDecisionsRequest.newBuilder().addDecisions(Decision.REJECT).build(),
+            observer(new AtomicBoolean(true), rejects));
+        broadcaster.subscribe(
+            WatchDecisionsRequest.newBuilder().addAccountIds("acct-2").build(),
+            observer(new AtomicBoolean(true), accountTwo));
+
+        broadcaster.publish("acct-1", assessment("tx-1", Decision.APPROVE));
+        broadcaster.publish("acct-1", assessment("tx-2", Decision.REJECT));
+        broadcaster.publish("acct-2", assessment("tx-3", Decision.REVIEW));
+
+        awaitSize(rejects, 1);
+        awaitSize(accountTwo, 1);
+        assertThat(rejects.get(0).getAssessment().getTransactionId()).isEqualTo("tx-2");
+        assertThat(accountTwo.get(0).getAssessment().getTransactionId()).isEqualTo("tx-3");
+        assertThat(accountTwo.get(0).getMissed()).isZero();
+    }
+
+    @Test
+    void laggingSubscriberSkipsAheadAndReportsMissedDecisions() throws Exception {
+        start(4, 10, false);
+        AtomicBoolean ready = new AtomicBoolean(false);
+        List<DecisionEvent> received = new CopyOnWriteArrayList<>();
+        ServerCallStreamObserver<DecisionEvent> observer = observer(ready, received);
+        broadcaster.subscribe(WatchDecisionsRequest.getDefaultInstance(), observer);
+
+        for (int i = 0; i <= 10; i++) {
+            broadcaster.publish("acct-1", assessment("tx-" + i, Decision.APPROVE));
+        }
+        ready.set(true);
+        onReadyHandler(observer).run();
+
+        awaitSize(received, 4);
+        assertThat(received).extracting(DecisionEvent::getSequence).containsExactly(7L, 8L, 9L, 10L);
+        assertThat(received.get(0).getMissed()).isEqualTo(7);
+        assertThat(received.get(1).getMissed()).isZero();
+        assertThat(meterRegistry.get("fraud.grpc.watch.lagged").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void laggingSubscriberIsDisconnectedWhenConfigured() {
+        start(4, 10, true);
+        AtomicBoolean ready = new AtomicBoolean(false);
+        ServerCallStreamObserver<DecisionEvent> observer = observer(ready, new CopyOnWriteArrayList<>());
+        broadcaster.subscribe(WatchDecisionsRequest.getDefaultInstance(), observer);
+
+        for (int i = 0; i <= 10; i++) {
+            broadcaster.publish("acct-1", assessment("tx-" + i, Decision.APPROVE));
+        }
+        ready.set(true);
+        onReadyHandler(observer).run();
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(observer, timeout(5_000)).onError(error.capture());
+        assertThat(Status.fromThrowable(error.getValue()).getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(broadcaster.subscriberCount()).isZero();
+    }
+
+    @Test
+    void rejectsSubscribersOverTheLimit() {
+        start(64, 1, false);
+        broadcaster.subscribe(WatchDecisionsRequest.getDefaultInstance(),
+            observer(new AtomicBoolean(true), new CopyOnWriteArrayList<>()));
+        ServerCallStreamObserver<DecisionEvent> rejected = observer(new AtomicBoolean(true), new CopyOnWriteArrayList<>());
+
+        broadcaster.subscribe(WatchDecisionsRequest.getDefaultInstance(), rejected);
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(rejected).onError(error.capture());
+        assertThat(Status.fromThrowable(error.getValue()).getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    private void start(int ringSize, int maxSubscribers, boolean disconnectLagging) {
+        broadcaster = new DecisionBroadcaster(ringSize, maxSubscribers, disconnectLagging, meterRegistry);
+        broadcaster.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ServerCallStreamObserver<DecisionEvent> observer(AtomicBoolean ready, List<DecisionEvent> received) {
+        ServerCallStreamObserver<DecisionEvent> observer = mock(ServerCallStreamObserver.class);
+        when(observer.isReady()).thenAnswer(invocation -> ready.get());
+        doAnswer(invocation -> received.add(invocation.getArgument(0))).when(observer).onNext(any());
+        return observer;
+    }
+
+    private static Runnable onReadyHandler(ServerCallStreamObserver<DecisionEvent> observer) {
+        ArgumentCaptor<Runnable> handler = ArgumentCaptor.forClass(Runnable.class);
+        verify(observer).setOnReadyHandler(handler.capture());
+        return handler.getValue();
+    }
+
+    private static void awaitSize(List<DecisionEvent> events, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (events.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(events).hasSize(expected);
+    }
+
+    private static RiskAssessment assessment(String transactionId, Decision decision) {
+        return RiskAssessment.newBuilder().setTransactionId(transactionId).setDecision(decision).build();
+    }
+}
@@ -0,0 +1,224 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.Reason;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.Test;
+
+class DecisionCacheTest {
+
+    private static final long SAME_REQUEST = 42L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    @Test
+    void retryReturnsCachedDecisionWithoutEvaluating() {
+        DecisionCache cache = new DecisionCache(10, 1_000, meterRegistry, clock::get);
+
+        RiskAssessment first = cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.REVIEW));
+        RiskAssessment retry = cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE));
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(retry.getDecision()).isEqualTo(Decision.REVIEW);
+        assertThat(evaluations).hasValue(1);
+        assertThat(count("hit")).isEqualTo(1.0);
+        assertThat(count("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void reusedTransactionIdWithDifferentRequestIsEvaluatedAgain() {
+        DecisionCache cache = new DecisionCache(10, 1_000, meterRegistry, clock::get);
+        TransactionRequest original = TransactionRequest.newBuilder().setTransactionId("tx-1").setAmount(250.0).build();
+        TransactionRequest changed = original.toBuilder().setAmount(15_000.0).build();
+
+        cache.getOrEvaluate("tx-1", DecisionCache.fingerprint(original), () -> assessment("tx-1", Decision.APPROVE));
+        RiskAssessment reused = cache.getOrEvaluate(
+            "tx-1", DecisionCache.fingerprint(changed), () -> assessment("tx-1", Decision.REJECT));
+        RiskAssessment retry = cache.getOrEvaluate(
+            "tx-1", DecisionCache.fingerprint(changed.toBuilder().build()), () -> assessment("tx-1", Decision.APPROVE));
+
+        assertThat(reused.getDecision()).isEqualTo(Decision.REJECT);
+        assertThat(retry.getDecision()).isEqualTo(Decision.REJECT);
+        assertThat(evaluations).hasValue(2);
+        assertThat(count("conflict")).isEqualTo(1.0);
+        assertThat(count("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrentDuplicatesShareOneEvaluation() throws Exception {
+        DecisionCache cache = new DecisionCache(10, 1_000, meterRegistry, clock::get);
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RiskAssessment> leader = executor.submit(() -> cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> {
+                evaluating.countDown();
+                await(release);
+                return assessment("tx-1", Decision.REJECT);
+            }));
+            assertThat(evaluating.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<RiskAssessment> follower = executor.submit(
+                () -> cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE)));
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (count("coalesced") == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS).getDecision()).isEqualTo(Decision.REJECT);
+            assertThat(follower.get(5, TimeUnit.SECONDS).getDecision()).isEqualTo(Decision.REJECT);
+            assertThat(evaluations).hasValue(1);
+            assertThat(count("coalesced")).isEqualTo(1.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncDuplicateOfAnInFlightEvaluationDoesNotWait() throws Exception {
+        DecisionCache cache = new DecisionCache(10, 1_000, meterRegistry, clock::get);
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<RiskAssessment> leader = executor.submit(() -> cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> {
+                evaluating.countDown();
+                await(release);
+                return assessment("tx-1", Decision.REJECT);
+            }));
+            assertThat(evaluating.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<RiskAssessment> follower =
+                cache.getOrEvaluateAsync("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE));
+
+            // Returned while the leader is still evaluating; the leader completes it.
+            assertThat(follower).isNotDone();
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS).getDecision()).isEqualTo(Decision.REJECT);
+            assertThat(follower.get(5, TimeUnit.SECONDS).getDecision()).isEqualTo(Decision.REJECT);
+            assertThat(evaluations).hasValue(1);
+            assertThat(count("coalesced")).isEqualTo(1.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredEntriesAreEvaluatedAgain() {
+        DecisionCache cache = new DecisionCache(10, 1_000, meterRegistry, clock::get);
+        cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.REVIEW));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        RiskAssessment later = cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE));
+
+        assertThat(later.getDecision()).isEqualTo(Decision.APPROVE);
+        assertThat(evaluations).hasValue(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsOldestEntriesOverCapacity() {
+        DecisionCache cache = new DecisionCache(2, 60_000, meterRegistry, clock::get);
+        cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE));
+        cache.getOrEvaluate("tx-2", SAME_REQUEST, () -> assessment("tx-2", Decision.APPROVE));
+        cache.getOrEvaluate("tx-3", SAME_REQUEST, () -> assessment("tx-3", Decision.APPROVE));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("fraud.grpc.cache.evictions").counter().count()).isEqualTo(1.0);
+        cache.getOrEvaluate("tx-3", SAME_REQUEST, () -> assessment("tx-3", Decision.APPROVE));
+        cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE));
+        assertThat(evaluations).hasValue(4);
+    }
+
+    @Test
+    void failedEvaluationIsNotCached() {
+        DecisionCache cache = new DecisionCache(10, 1_000, meterRegistry, clock::get);
+
+        assertThatThrownBy(() -> cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> {
+            throw new IllegalStateException("engine unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        RiskAssessment retry = cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE));
+
+        assertThat(retry.getDecision()).isEqualTo(Decision.APPROVE);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evaluatorErrorReleasesWaitersAndIsNotCached() throws Exception {
+        DecisionCache cache = new DecisionCache(10, 1_000, meterRegistry, clock::get);
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RiskAssessment> leader = executor.submit(() -> cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> {
+                evaluating.countDown();
+                await(release);
+                throw new StackOverflowError("deep rule chain");
+            }));
+            assertThat(evaluating.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<RiskAssessment> follower = executor.submit(
+                () -> cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE)));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (count("coalesced") == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            RiskAssessment retry = cache.getOrEvaluate("tx-1", SAME_REQUEST, () -> assessment("tx-1", Decision.APPROVE));
+            assertThat(retry.getDecision()).isEqualTo(Decision.APPROVE);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void blankTransactionIdBypassesCache() {
+        DecisionCache cache = new DecisionCache(10, 1_000, meterRegistry, clock::get);
+
+        cache.getOrEvaluate("", SAME_REQUEST, () -> assessment("", Decision.APPROVE));
+        cache.getOrEvaluate("", SAME_REQUEST, () -> assessment("", Decision.APPROVE));
+
+        assertThat(evaluations).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private RiskAssessment assessment(String transactionId, Decision decision) {
+        evaluations.incrementAndGet();
+        return RiskAssessment.newBuilder()
+            .setTransactionId(transactionId)
+            .setDecision(decision)
+            .setReason(Reason.LOW_RISK_AMOUNT)
+            .setRiskScore(0.1)
+            .build();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("fraud.grpc.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
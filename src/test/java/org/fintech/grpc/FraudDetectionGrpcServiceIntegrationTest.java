@@ -49,6 +49,10 @@ class FraudDetectionGrpcServiceIntegrationTest {
             RiskAssessment reject = stub.evaluateTransaction(baseRequest().setAmount(15000.0).build());
             assertThat(reject.getDecision()).isEqualTo(Decision.REJECT);
             assertThat(reject.getRiskScore()).isEqualTo(0.95);
+
+            // A genuine retry of the last request is answered from the retry cache.
+            RiskAssessment retry = stub.evaluateTransaction(baseRequest().setAmount(15000.0).build());
+            assertThat(retry).isEqualTo(reject);
         } finally {
             channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
         }
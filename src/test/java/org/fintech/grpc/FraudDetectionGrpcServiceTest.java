@@ -1,20 +1,27 @@
 package org.fintech.grpc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.fintech.proto.v1.Decision;
 import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.RiskAssessmentBatch;
+import org.fintech.proto.v1.TransactionBatch;
 import org.fintech.proto.v1.TransactionRequest;
 import org.fintech.proto.v1.Reason;
 import org.fintech.rules.RuleEngine;
 import org.fintech.rules.RuleResult;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
 
 class FraudDetectionGrpcServiceTest {
 
@@ -24,7 +31,17 @@ class FraudDetectionGrpcServiceTest {
         RuleResult expected = new RuleResult(Decision.REVIEW, Reason.AMOUNT_REQUIRES_REVIEW, 0.7);
         when(ruleEngine.evaluate(any(TransactionRequest.class))).thenReturn(expected);
 
-        FraudDetectionGrpcService service = new FraudDetectionGrpcService(ruleEngine);
+        FraudDetectionGrpcService service = new FraudDetectionGrpcService(
+            ruleEngine,
+            new GrpcEvaluationProperties(),
+            new BatchEvaluator(1, Integer.MAX_VALUE, 1, new SimpleMeterRegistry()),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class)
+        );
         TransactionRequest request = TransactionRequest.newBuilder()
             .setTransactionId("tx-900")
             .setAccountId("acct-1")
@@ -34,7 +51,7 @@ class FraudDetectionGrpcServiceTest {
             .setTimestamp("2026-01-06T16:06:34+08:00")
             .build();
 
-        CapturingObserver observer = new CapturingObserver();
+        CapturingObserver<RiskAssessment> observer = new CapturingObserver<>();
         service.evaluateTransaction(request, observer);
 
         ArgumentCaptor<TransactionRequest> captor = ArgumentCaptor.forClass(TransactionRequest.class);
@@ -50,13 +67,71 @@ class FraudDetectionGrpcServiceTest {
         assertThat(observer.value.getRiskScore()).isEqualTo(expected.riskScore());
     }
 
-    private static final class CapturingObserver implements StreamObserver<RiskAssessment> {
-        private RiskAssessment value;
+    @Test
+    void evaluateTransactionBatchReturnsAssessmentsInRequestOrder() {
+        RuleEngine ruleEngine = mock(RuleEngine.class);
+        when(ruleEngine.evaluate(any(TransactionRequest.class))).thenAnswer(invocation -> {
+            TransactionRequest request = invocation.getArgument(0);
+            return request.getAmount() >= 5000
+                ? new RuleResult(Decision.REVIEW, Reason.AMOUNT_REQUIRES_REVIEW, 0.7)
+                : new RuleResult(Decision.APPROVE, Reason.LOW_RISK_AMOUNT, 0.1);
+        });
+        FraudDetectionGrpcService service = batchService(ruleEngine, 10);
+        TransactionBatch batch = TransactionBatch.newBuilder()
+            .addTransactions(TransactionRequest.newBuilder().setTransactionId("tx-1").setAmount(7000.0))
+            .addTransactions(TransactionRequest.newBuilder().setTransactionId("tx-2").setAmount(20.0))
+            .build();
+
+        CapturingObserver<RiskAssessmentBatch> observer = new CapturingObserver<>();
+        service.evaluateTransactionBatch(batch, observer);
+
+        assertThat(observer.error).isNull();
+        assertThat(observer.completed).isTrue();
+        assertThat(observer.value.getAssessmentsList())
+            .extracting(RiskAssessment::getTransactionId, RiskAssessment::getDecision)
+            .containsExactly(tuple("tx-1", Decision.REVIEW), tuple("tx-2", Decision.APPROVE));
+    }
+
+    @Test
+    void evaluateTransactionBatchRejectsOversizedBatches() {
+        RuleEngine ruleEngine = mock(RuleEngine.class);
+        FraudDetectionGrpcService service = batchService(ruleEngine, 1);
+        TransactionBatch batch = TransactionBatch.newBuilder()
+            .addTransactions(TransactionRequest.newBuilder().setTransactionId("tx-1"))
+            .addTransactions(TransactionRequest.newBuilder().setTransactionId("tx-2"))
+            .build();
+
+        CapturingObserver<RiskAssessmentBatch> observer = new CapturingObserver<>();
+        service.evaluateTransactionBatch(batch, observer);
+
+        assertThat(Status.fromThrowable(observer.error).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verify(ruleEngine, never()).evaluate(any(TransactionRequest.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FraudDetectionGrpcService batchService(RuleEngine ruleEngine, int maxBatchSize) {
+        GrpcEvaluationProperties properties = new GrpcEvaluationProperties();
+        properties.setBatchMaxSize(maxBatchSize);
+        return new FraudDetectionGrpcService(
+            ruleEngine,
+            properties,
+            new BatchEvaluator(1, Integer.MAX_VALUE, 1, new SimpleMeterRegistry()),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class)
+        );
+    }
+
+    private static final class CapturingObserver<T> implements StreamObserver<T> {
+        private T value;
         private Throwable error;
         private boolean completed;
 
         @Override
-        public void onNext(RiskAssessment value) {
+        public void onNext(T value) {
             this.value = value;
         }
 
@@ -0,0 +1,177 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.Reason;
+import org.fintech.proto.v1.TransactionRequest;
+import org.fintech.rules.RuleResult;
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @Test
+    void singleCallerIsEvaluatedAlone() {
+        MicroBatcher batcher = new MicroBatcher(recording(this::approveAll), 16, 50, 1, meterRegistry);
+
+        RuleResult result = batcher.evaluate(request("tx-1"));
+
+        assertThat(result.decision()).isEqualTo(Decision.APPROVE);
+        assertThat(batchSizes).containsExactly(1);
+        assertThat(meterRegistry.get("fraud.grpc.microbatch.size").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void callersQueuedBehindABusyLeaderShareOneEvaluation() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MicroBatcher batcher = new MicroBatcher(recording(requests -> {
+            if (requests.get(0).getTransactionId().equals("tx-0")) {
+                firstBatchStarted.countDown();
+                await(release);
+            }
+            return approveAll(requests);
+        }), 16, 200, 1, meterRegistry);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<RuleResult>> results = new ArrayList<>();
+            results.add(executor.submit(() -> batcher.evaluate(request("tx-0"))));
+            assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i <= 3; i++) {
+                String transactionId = "tx-" + i;
+                results.add(executor.submit(() -> batcher.evaluate(request(transactionId))));
+            }
+            awaitPending(batcher, 3);
+            release.countDown();
+
+            for (Future<RuleResult> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).decision()).isEqualTo(Decision.APPROVE);
+            }
+            assertThat(batchSizes).containsExactly(1, 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedBatchIsReportedToEveryCaller() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MicroBatcher batcher = new MicroBatcher(recording(requests -> {
+            if (requests.get(0).getTransactionId().equals("tx-0")) {
+                firstBatchStarted.countDown();
+                await(release);
+                return approveAll(requests);
+            }
+            throw new IllegalStateException("rules unavailable");
+        }), 16, 200, 1, meterRegistry);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<RuleResult> first = executor.submit(() -> batcher.evaluate(request("tx-0")));
+            assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<RuleResult> second = executor.submit(() -> batcher.evaluate(request("tx-1")));
+            Future<RuleResult> third = executor.submit(() -> batcher.evaluate(request("tx-2")));
+            awaitPending(batcher, 2);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).decision()).isEqualTo(Decision.APPROVE);
+            for (Future<RuleResult> failed : List.of(second, third)) {
+                assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            }
+            assertThat(batchSizes).containsExactly(1, 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void lingerShrinksWhenRequestsArriveAlone() {
+        MicroBatcher batcher = new MicroBatcher(recording(this::approveAll), 16, 100, 1, meterRegistry);
+        assertThat(batcher.lingerNanos()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(50));
+
+        batcher.evaluate(request("tx-1"));
+        assertThat(batcher.lingerNanos()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(25));
+
+        for (int i = 0; i < 32; i++) {
+            batcher.evaluate(request("tx-" + i));
+        }
+        assertThat(batcher.lingerNanos()).isZero();
+    }
+
+    @Test
+    void followersParkNoLongerThanTheRemainingLinger() {
+        MicroBatcher batcher = new MicroBatcher(recording(this::approveAll), 16, 50, 1, meterRegistry);
+
+        assertThat(batcher.followerParkNanos(0)).isEqualTo(TimeUnit.MICROSECONDS.toNanos(50));
+        assertThat(batcher.followerParkNanos(TimeUnit.MICROSECONDS.toNanos(30)))
+            .isEqualTo(TimeUnit.MICROSECONDS.toNanos(20));
+        // Past the linger, the next re-check comes one linger later.
+        assertThat(batcher.followerParkNanos(TimeUnit.MICROSECONDS.toNanos(60)))
+            .isEqualTo(TimeUnit.MICROSECONDS.toNanos(40));
+        assertThat(batcher.followerParkNanos(TimeUnit.MICROSECONDS.toNanos(48)))
+            .isEqualTo(TimeUnit.MICROSECONDS.toNanos(10));
+
+        MicroBatcher noLinger = new MicroBatcher(recording(this::approveAll), 16, 0, 1, meterRegistry);
+        assertThat(noLinger.followerParkNanos(0)).isEqualTo(TimeUnit.MICROSECONDS.toNanos(10));
+        MicroBatcher longLinger = new MicroBatcher(recording(this::approveAll), 16, 1_000, 1, meterRegistry);
+        assertThat(longLinger.followerParkNanos(0)).isEqualTo(TimeUnit.MICROSECONDS.toNanos(200));
+    }
+
+    private Function<List<TransactionRequest>, List<RuleResult>> recording(
+        Function<List<TransactionRequest>, List<RuleResult>> evaluator
+    ) {
+        return requests -> {
+            batchSizes.add(requests.size());
+            return evaluator.apply(requests);
+        };
+    }
+
+    private List<RuleResult> approveAll(List<TransactionRequest> requests) {
+        List<RuleResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(new RuleResult(Decision.APPROVE, Reason.REASON_UNSPECIFIED, 0.0));
+        }
+        return results;
+    }
+
+    private static void awaitPending(MicroBatcher batcher, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (batcher.pending() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(batcher.pending()).isEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TransactionRequest request(String transactionId) {
+        return TransactionRequest.newBuilder()
+            .setTransactionId(transactionId)
+            .setAccountId("acct-1")
+            .setAmount(10.0)
+            .build();
+    }
+}
@@ -0,0 +1,210 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.Detachable;
+import io.grpc.Drainable;
+import io.grpc.HasByteBuffer;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.Reason;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.Test;
+
+class PooledProtoMarshallerTest {
+
+    private static final TransactionRequest REQUEST = TransactionRequest.newBuilder()
+        .setTransactionId("tx-1")
+        .setAccountId("acct-ü-1")
+        .setAmount(125.5)
+        .setMerchant("ACME")
+        .setCurrency("EUR")
+        .setTimestamp("2026-01-06T16:06:34+08:00")
+        .build();
+
+    private final PooledProtoMarshaller<TransactionRequest> requests =
+        new PooledProtoMarshaller<>(TransactionRequest.getDefaultInstance());
+    private final PooledProtoMarshaller<RiskAssessment> responses =
+        new PooledProtoMarshaller<>(RiskAssessment.getDefaultInstance());
+
+    @Test
+    void parsesFromDetachedTransportBuffersAndReleasesThem() {
+        byte[] bytes = REQUEST.toByteArray();
+        int split = bytes.length / 2;
+        TransportStream stream = new TransportStream(List.of(
+            direct(bytes, 0, split),
+            direct(bytes, split, bytes.length - split)
+        ));
+
+        assertThat(requests.parse(stream)).isEqualTo(REQUEST);
+        assertThat(stream.detached).isNotNull();
+        assertThat(stream.detached.closed).isTrue();
+    }
+
+    @Test
+    void parsesFromPlainStreams() {
+        assertThat(requests.parse(new ByteArrayInputStream(REQUEST.toByteArray()))).isEqualTo(REQUEST);
+        assertThat(requests.parse(new ByteArrayInputStream(new byte[0])))
+            .isEqualTo(TransactionRequest.getDefaultInstance());
+    }
+
+    @Test
+    void rejectsMalformedInputWithInternal() {
+        assertThatThrownBy(() -> requests.parse(new ByteArrayInputStream(new byte[] {0x0A, 0x7F, 0x01})))
+            .isInstanceOfSatisfying(StatusRuntimeException.class,
+                ex -> assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INTERNAL));
+    }
+
+    @Test
+    void drainsAndReadsTheSameBytesAsTheMessage() throws Exception {
+        RiskAssessment assessment = RiskAssessment.newBuilder()
+            .setTransactionId("tx-1")
+            .setRiskScore(0.7)
+            .setDecision(Decision.REVIEW)
+            .setReason(Reason.AMOUNT_REQUIRES_REVIEW)
+            .build();
+
+        InputStream drained = responses.stream(assessment);
+        assertThat(drained).isInstanceOf(Drainable.class);
+        assertThat(drained.available()).isEqualTo(assessment.getSerializedSize());
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        ((Drainable) drained).drainTo(target);
+        assertThat(target.toByteArray()).isEqualTo(assessment.toByteArray());
+
+        assertThat(responses.stream(assessment).readAllBytes()).isEqualTo(assessment.toByteArray());
+    }
+
+    @Test
+    void rebindKeepsMethodsAndSwapsMarshallers() {
+        ServerServiceDefinition original = new FraudDetectionServiceGrpc.FraudDetectionServiceImplBase() {
+        }.bindService();
+
+        ServerServiceDefinition rebound = PooledProtoMarshaller.rebind(original);
+
+        assertThat(rebound.getMethods()).hasSameSizeAs(original.getMethods());
+        MethodDescriptor<?, ?> evaluate = rebound.getMethod(
+            FraudDetectionServiceGrpc.getEvaluateTransactionMethod().getFullMethodName()).getMethodDescriptor();
+        assertThat(evaluate.getRequestMarshaller()).isInstanceOf(PooledProtoMarshaller.class);
+        assertThat(evaluate.getResponseMarshaller()).isInstanceOf(PooledProtoMarshaller.class);
+        assertThat(rebound.getServiceDescriptor().getSchemaDescriptor())
+            .isSameAs(original.getServiceDescriptor().getSchemaDescriptor());
+    }
+
+    private static ByteBuffer direct(byte[] bytes, int offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        buffer.put(bytes, offset, length).flip();
+        return buffer;
+    }
+
+    // Mimics gRPC's transport stream: a chain of buffers that can be handed over without copying.
+    private static final class TransportStream extends InputStream implements KnownLength, HasByteBuffer, Detachable {
+        private List<ByteBuffer> buffers;
+        private int[] markedPositions;
+        private TransportStream detached;
+        private boolean closed;
+
+        TransportStream(List<ByteBuffer> buffers) {
+            this.buffers = new ArrayList<>(buffers);
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer current = current();
+            return current == null ? -1 : current.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            ByteBuffer current = current();
+            if (current == null) {
+                return -1;
+            }
+            int count = Math.min(length, current.remaining());
+            current.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            long skipped = 0;
+            ByteBuffer current;
+            while (skipped < count && (current = current()) != null) {
+                int step = (int) Math.min(count - skipped, current.remaining());
+                current.position(current.position() + step);
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            int total = 0;
+            for (ByteBuffer buffer : buffers) {
+                total += buffer.remaining();
+            }
+            return total;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int limit) {
+            markedPositions = buffers.stream().mapToInt(ByteBuffer::position).toArray();
+        }
+
+        @Override
+        public void reset() {
+            for (int i = 0; i < buffers.size(); i++) {
+                buffers.get(i).position(markedPositions[i]);
+            }
+        }
+
+        @Override
+        public boolean byteBufferSupported() {
+            return true;
+        }
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            ByteBuffer current = current();
+            return current == null ? null : current.slice();
+        }
+
+        @Override
+        public InputStream detach() {
+            detached = new TransportStream(buffers);
+            buffers = List.of();
+            return detached;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private ByteBuffer current() {
+            for (ByteBuffer buffer : buffers) {
+                if (buffer.hasRemaining()) {
+                    return buffer;
+                }
+            }
+            return null;
+        }
+    }
+}
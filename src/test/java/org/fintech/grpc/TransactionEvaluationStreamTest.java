@@ -0,0 +1,159 @@
+package org.fintech.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.fintech.rules.AmountDenyRule;
+import org.fintech.rules.DefaultApproveRule;
+import org.fintech.rules.RuleEngine;
+import org.fintech.rules.TransactionRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class TransactionEvaluationStreamTest {
+
+    private final AtomicInteger evaluated = new AtomicInteger();
+    private Server server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void returnsOneAssessmentPerRequestCorrelatedByTransactionId() throws Exception {
+        start(64);
+        Map<String, Decision> decisions = new ConcurrentHashMap<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<TransactionRequest> requests = FraudDetectionServiceGrpc.newStub(channel)
+            .evaluateTransactions(new StreamObserver<>() {
+                @Override
+                public void onNext(RiskAssessment value) {
+                    decisions.put(value.getTransactionId(), value.getDecision());
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                }
+
+                @Override
+                public void onCompleted() {
+                    completed.countDown();
+                }
+            });
+
+        for (int i = 0; i < 200; i++) {
+            requests.onNext(request("tx-" + i, i % 2 == 0 ? 50.0 : 500.0));
+        }
+        requests.onCompleted();
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(decisions).hasSize(200);
+        assertThat(decisions.get("tx-0")).isEqualTo(Decision.APPROVE);
+        assertThat(decisions.get("tx-1")).isEqualTo(Decision.REJECT);
+    }
+
+    @Test
+    void stopsReadingWhenTheClientStopsConsumingResponses() throws Exception {
+        start(8);
+        AtomicReference<ClientCallStreamObserver<TransactionRequest>> call = new AtomicReference<>();
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<TransactionRequest> requests = FraudDetectionServiceGrpc.newStub(channel)
+            .evaluateTransactions(new ClientResponseObserver<TransactionRequest, RiskAssessment>() {
+                @Override
+                public void beforeStart(ClientCallStreamObserver<TransactionRequest> requestStream) {
+                    requestStream.disableAutoRequestWithInitial(0);
+                    call.set(requestStream);
+                }
+
+                @Override
+                public void onNext(RiskAssessment value) {
+                    received.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                }
+
+                @Override
+                public void onCompleted() {
+                    completed.countDown();
+                }
+            });
+
+        for (int i = 0; i < 50; i++) {
+            requests.onNext(request("tx-" + i, 10.0));
+        }
+        // Direct executors make delivery synchronous: only the initial window has been pulled.
+        assertThat(evaluated.get()).isEqualTo(8);
+
+        requests.onCompleted();
+        call.get().request(Integer.MAX_VALUE);
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received.get()).isEqualTo(50);
+        assertThat(evaluated.get()).isEqualTo(50);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void start(int window) throws IOException {
+        TransactionRule countingRule = request -> {
+            evaluated.incrementAndGet();
+            return Optional.empty();
+        };
+        RuleEngine ruleEngine = new RuleEngine(
+            List.of(countingRule, new AmountDenyRule(100.0)),
+            new DefaultApproveRule(0.1),
+            new SimpleMeterRegistry()
+        );
+        GrpcEvaluationProperties properties = new GrpcEvaluationProperties();
+        properties.setStreamRequestWindow(window);
+        FraudDetectionGrpcService service = new FraudDetectionGrpcService(
+            ruleEngine,
+            properties,
+            new BatchEvaluator(1, Integer.MAX_VALUE, 1, new SimpleMeterRegistry()),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class)
+        );
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    private static TransactionRequest request(String transactionId, double amount) {
+        return TransactionRequest.newBuilder()
+            .setTransactionId(transactionId)
+            .setAccountId("acct-1")
+            .setAmount(amount)
+            .setCurrency("USD")
+            .build();
+    }
+}
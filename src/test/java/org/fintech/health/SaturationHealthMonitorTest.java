@@ -0,0 +1,156 @@
+package org.fintech.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SaturationHealthMonitorTest {
+
+    private static final String SERVICE = "org.fintech.fraud.v1.FraudDetectionService";
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong gcPauseMillis = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HealthStatusManager healthStatusManager;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        healthStatusManager = new HealthStatusManager();
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(healthStatusManager.getHealthService())
+            .build()
+            .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void tripsOnQueueDepthAndRecoversOnlyBelowLowWatermark() {
+        SaturationHealthMonitor monitor = monitor(properties());
+        monitor.start();
+        try {
+            assertThat(status("")).isEqualTo(ServingStatus.SERVING);
+
+            queueDepth.set(100);
+            monitor.check();
+            assertThat(status("")).isEqualTo(ServingStatus.NOT_SERVING);
+            assertThat(status(SERVICE)).isEqualTo(ServingStatus.NOT_SERVING);
+
+            // Between the watermarks: still saturated as far as the balancer is concerned.
+            queueDepth.set(50);
+            monitor.check();
+            monitor.check();
+            monitor.check();
+            assertThat(monitor.isServing()).isFalse();
+
+            queueDepth.set(5);
+            monitor.check();
+            assertThat(monitor.isServing()).isFalse();
+            monitor.check();
+            assertThat(status("")).isEqualTo(ServingStatus.SERVING);
+            assertThat(meterRegistry.get("grpc.health.not_serving.transitions").counter().count()).isEqualTo(1.0);
+        } finally {
+            monitor.close();
+        }
+    }
+
+    @Test
+    void relapseResetsRecoveryCount() {
+        SaturationHealthMonitor monitor = monitor(properties());
+        queueDepth.set(100);
+        monitor.check();
+
+        queueDepth.set(0);
+        monitor.check();
+        queueDepth.set(60);
+        monitor.check();
+        queueDepth.set(0);
+        monitor.check();
+
+        assertThat(monitor.isServing()).isFalse();
+        monitor.check();
+        assertThat(monitor.isServing()).isTrue();
+    }
+
+    @Test
+    void tripsOnGcPauseWithinOneInterval() {
+        SaturationHealthMonitor monitor = monitor(properties());
+        gcPauseMillis.set(10_000);
+        monitor.check();
+        assertThat(monitor.isServing()).isFalse();
+
+        // Cumulative pause time only counts the increase since the previous check.
+        gcPauseMillis.addAndGet(5);
+        monitor.check();
+        monitor.check();
+        assertThat(monitor.isServing()).isTrue();
+    }
+
+    @Test
+    void zeroHighWatermarkDisablesSignal() {
+        SaturationHealthProperties properties = properties();
+        properties.setInFlightHigh(0);
+        SaturationHealthMonitor monitor = monitor(properties);
+
+        inFlight.set(1_000_000);
+        monitor.check();
+
+        assertThat(monitor.isServing()).isTrue();
+        assertThat(meterRegistry.get("grpc.health.serving").gauge().value()).isEqualTo(1.0);
+    }
+
+    private SaturationHealthProperties properties() {
+        SaturationHealthProperties properties = new SaturationHealthProperties();
+        properties.setQueueDepthHigh(80);
+        properties.setQueueDepthLow(10);
+        properties.setInFlightHigh(200);
+        properties.setInFlightLow(100);
+        properties.setGcPauseHighMillis(200);
+        properties.setGcPauseLowMillis(20);
+        properties.setRecoveryChecks(2);
+        properties.setCheckIntervalMillis(60_000);
+        return properties;
+    }
+
+    private SaturationHealthMonitor monitor(SaturationHealthProperties properties) {
+        return new SaturationHealthMonitor(
+            healthStatusManager,
+            List.of(SERVICE),
+            properties,
+            queueDepth::get,
+            inFlight::get,
+            gcPauseMillis::get,
+            meterRegistry
+        );
+    }
+
+    private ServingStatus status(String service) {
+        return HealthGrpc.newBlockingStub(channel)
+            .check(HealthCheckRequest.newBuilder().setService(service).build())
+            .getStatus();
+    }
+}
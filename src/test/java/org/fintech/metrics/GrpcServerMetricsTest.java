@@ -0,0 +1,149 @@
+package org.fintech.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.fintech.proto.v1.FraudDetectionServiceGrpc;
+import org.fintech.proto.v1.RiskAssessment;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GrpcServerMetricsTest {
+
+    private static final String METHOD = FraudDetectionServiceGrpc.getEvaluateTransactionMethod().getFullMethodName();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GrpcServerMetrics metrics =
+        new GrpcServerMetrics(registry, false, List.of(FraudDetectionServiceGrpc.getServiceDescriptor()));
+    private ExecutorService executor;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FraudDetectionServiceGrpc.FraudDetectionServiceImplBase service =
+            new FraudDetectionServiceGrpc.FraudDetectionServiceImplBase() {
+                @Override
+                public void evaluateTransaction(TransactionRequest request, StreamObserver<RiskAssessment> observer) {
+                    if (request.getTransactionId().isEmpty()) {
+                        observer.onError(Status.INVALID_ARGUMENT.asRuntimeException());
+                        return;
+                    }
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    observer.onNext(RiskAssessment.newBuilder().setTransactionId(request.getTransactionId()).build());
+                    observer.onCompleted();
+                }
+            };
+        executor = Executors.newSingleThreadExecutor();
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+            .executor(executor)
+            .addStreamTracerFactory(metrics)
+            .addService(ServerInterceptors.intercept(service, metrics))
+            .build()
+            .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void recordsQueueHandlerAndTotalTimePerMethodAndStatus() {
+        FraudDetectionServiceGrpc.newBlockingStub(channel)
+            .evaluateTransaction(TransactionRequest.newBuilder().setTransactionId("tx-1").build());
+        awaitClosedCalls("OK");
+
+        Timer handler = timer("grpc.server.handler.time", "OK");
+        Timer total = timer("grpc.server.call.duration", "OK");
+        assertThat(timer("grpc.server.queue.wait", "OK").count()).isEqualTo(1);
+        assertThat(handler.count()).isEqualTo(1);
+        assertThat(handler.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+        assertThat(total.totalTime(TimeUnit.NANOSECONDS)).isGreaterThanOrEqualTo(handler.totalTime(TimeUnit.NANOSECONDS));
+        assertThat(registry.get("grpc.server.request.size").tag("method", METHOD).summary().count()).isEqualTo(1);
+        assertThat(metrics.inFlight()).isZero();
+        assertThat(registry.get("grpc.server.in_flight").tag("method", METHOD).gauge().value()).isZero();
+    }
+
+    @Test
+    void tagsFailedCallsWithTheirStatusCode() {
+        assertThatThrownBy(() -> FraudDetectionServiceGrpc.newBlockingStub(channel)
+            .evaluateTransaction(TransactionRequest.getDefaultInstance()))
+            .isInstanceOf(StatusRuntimeException.class);
+        awaitClosedCalls("INVALID_ARGUMENT");
+
+        assertThat(timer("grpc.server.call.duration", "INVALID_ARGUMENT").count()).isEqualTo(1);
+        assertThat(registry.find("grpc.server.call.duration").tag("status", "OK").timer()).isNull();
+    }
+
+    @Test
+    void recordsUnregisteredMethodNamesUnderOneTag() {
+        for (String method : List.of("fintech.Probe/Scan1", "fintech.Probe/Scan2")) {
+            MethodDescriptor<TransactionRequest, RiskAssessment> descriptor =
+                MethodDescriptor.<TransactionRequest, RiskAssessment>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(method)
+                    .setRequestMarshaller(ProtoUtils.marshaller(TransactionRequest.getDefaultInstance()))
+                    .setResponseMarshaller(ProtoUtils.marshaller(RiskAssessment.getDefaultInstance()))
+                    .build();
+            assertThatThrownBy(() -> ClientCalls.blockingUnaryCall(
+                channel, descriptor, CallOptions.DEFAULT, TransactionRequest.getDefaultInstance()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                    ex -> assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.UNIMPLEMENTED));
+        }
+        awaitClosedCalls("UNIMPLEMENTED", 2);
+
+        assertThat(registry.get("grpc.server.call.duration").tag("method", GrpcServerMetrics.UNKNOWN_METHOD)
+            .tag("status", "UNIMPLEMENTED").timer().count()).isEqualTo(2);
+        assertThat(registry.find("grpc.server.call.duration").tag("method", "fintech.Probe/Scan1").timer()).isNull();
+        assertThat(registry.find("grpc.server.in_flight").tag("method", "fintech.Probe/Scan2").gauge()).isNull();
+    }
+
+    // The server tracer may see the stream close just after the client has its response.
+    private void awaitClosedCalls(String status) {
+        awaitClosedCalls(status, 1);
+    }
+
+    private void awaitClosedCalls(String status, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Timer total = registry.find("grpc.server.call.duration").tag("status", status).timer();
+            if (total != null && total.count() >= expected) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private Timer timer(String name, String status) {
+        return registry.get(name).tag("method", METHOD).tag("status", status).timer();
+    }
+}
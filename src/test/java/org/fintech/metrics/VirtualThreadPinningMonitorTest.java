@@ -0,0 +1,40 @@
+package org.fintech.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void recordsVirtualThreadsBlockedInsideSynchronized() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(5));
+        Object lock = new Object();
+        try {
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+
+            Timer pinned = registry.get("jvm.threads.virtual.pinned").timer();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pinned.count() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(pinned.count()).isPositive();
+            assertThat(pinned.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+        } finally {
+            monitor.close();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.fintech.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.Reason;
+import org.fintech.proto.v1.RiskAssessment;
+import org.junit.jupiter.api.Test;
+
+class DecisionWriteBehindTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<OutboxRecord>> flushed = new CopyOnWriteArrayList<>();
+
+    @Test
+    void groupsBufferedDecisionsIntoBatches() {
+        OutboxRepository repository = recordingRepository();
+        DecisionWriteBehind writer = new DecisionWriteBehind(repository, 100, 3, 10_000, 3, 5_000, meterRegistry);
+        for (int i = 0; i < 7; i++) {
+            assertThat(writer.offer(assessment("tx-" + i))).isTrue();
+        }
+
+        writer.start();
+        writer.close();
+
+        assertThat(flushed).extracting(List::size).containsExactly(3, 3, 1);
+        OutboxRecord first = flushed.get(0).get(0);
+        assertThat(first.getOutboxId()).isEqualTo("tx-0");
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.PENDING.name());
+        assertThat(first.getDecision()).isEqualTo(Decision.APPROVE.name());
+        assertThat(meterRegistry.get("outbox.write_behind.written").counter().count()).isEqualTo(7.0);
+        assertThat(meterRegistry.get("outbox.write_behind.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void flushesPartialBatchAfterLinger() throws Exception {
+        OutboxRepository repository = recordingRepository();
+        DecisionWriteBehind writer = new DecisionWriteBehind(repository, 100, 25, 20, 3, 5_000, meterRegistry);
+        writer.start();
+        try {
+            writer.offer(assessment("tx-1"));
+            writer.offer(assessment("tx-2"));
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (flushed.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(flushed).hasSize(1);
+            assertThat(flushed.get(0)).extracting(OutboxRecord::getOutboxId).containsExactly("tx-1", "tx-2");
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void dropsWhenBufferIsFullOrClosed() {
+        OutboxRepository repository = mock(OutboxRepository.class);
+        DecisionWriteBehind writer = new DecisionWriteBehind(repository, 2, 25, 20, 3, 0, meterRegistry);
+
+        assertThat(writer.offer(assessment("tx-1"))).isTrue();
+        assertThat(writer.offer(assessment("tx-2"))).isTrue();
+        assertThat(writer.offer(assessment("tx-3"))).isFalse();
+        writer.close();
+        assertThat(writer.offer(assessment("tx-4"))).isFalse();
+
+        assertThat(writer.buffered()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.write_behind.dropped").counter().count()).isEqualTo(2.0);
+        verify(repository, never()).putBatch(anyList());
+    }
+
+    @Test
+    void requeuesUnprocessedRecordsUntilTheyAreWritten() {
+        OutboxRepository repository = mock(OutboxRepository.class);
+        when(repository.putBatch(anyList())).thenAnswer(invocation -> {
+            List<OutboxRecord> batch = invocation.getArgument(0);
+            flushed.add(new ArrayList<>(batch));
+            // The first flush leaves its last record behind, as a throttled chunk would.
+            List<OutboxRecord> unprocessed = flushed.size() == 1 ? List.of(batch.get(batch.size() - 1)) : List.of();
+            return new OutboxBatchResult(batch.size() - unprocessed.size(), 0, unprocessed);
+        });
+        DecisionWriteBehind writer = new DecisionWriteBehind(repository, 100, 25, 0, 3, 5_000, meterRegistry);
+        writer.offer(assessment("tx-1"));
+        writer.offer(assessment("tx-2"));
+
+        writer.start();
+        writer.close();
+
+        assertThat(flushed).hasSize(2);
+        assertThat(flushed.get(1)).extracting(OutboxRecord::getOutboxId).containsExactly("tx-2");
+        assertThat(meterRegistry.get("outbox.write_behind.written").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("outbox.write_behind.retried").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("outbox.write_behind.failed").counter().count()).isZero();
+        verify(repository, never()).putIfAbsent(any(OutboxRecord.class));
+    }
+
+    @Test
+    void fallsBackToSinglePutsOnceRetriesAreExhausted() {
+        OutboxRepository repository = mock(OutboxRepository.class);
+        when(repository.putBatch(anyList())).thenThrow(new IllegalStateException("table unavailable"));
+        when(repository.putIfAbsent(any(OutboxRecord.class))).thenReturn(true);
+        DecisionWriteBehind writer = new DecisionWriteBehind(repository, 100, 25, 0, 2, 5_000, meterRegistry);
+        writer.offer(assessment("tx-1"));
+
+        writer.start();
+        writer.close();
+
+        verify(repository, times(2)).putBatch(anyList());
+        verify(repository).putIfAbsent(any(OutboxRecord.class));
+        assertThat(meterRegistry.get("outbox.write_behind.written").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("outbox.write_behind.failed").counter().count()).isZero();
+    }
+
+    private OutboxRepository recordingRepository() {
+        OutboxRepository repository = mock(OutboxRepository.class);
+        // The writer reuses its batch list, so keep a copy of what each flush saw.
+        when(repository.putBatch(anyList())).thenAnswer(invocation -> {
+            List<OutboxRecord> batch = invocation.getArgument(0);
+            flushed.add(new ArrayList<>(batch));
+            return new OutboxBatchResult(batch.size(), 0, List.of());
+        });
+        return repository;
+    }
+
+    private static RiskAssessment assessment(String transactionId) {
+        return RiskAssessment.newBuilder()
+            .setTransactionId(transactionId)
+            .setDecision(Decision.APPROVE)
+            .setReason(Reason.LOW_RISK_AMOUNT)
+            .setRiskScore(0.1)
+            .build();
+    }
+}
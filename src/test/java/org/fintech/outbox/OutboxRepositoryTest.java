@@ -0,0 +1,103 @@
+package org.fintech.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.RiskAssessment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+class OutboxRepositoryTest {
+
+    private final DynamoDbEnhancedClient enhancedClient = mock(DynamoDbEnhancedClient.class);
+    @SuppressWarnings("unchecked")
+    private final DynamoDbTable<OutboxRecord> table = mock(DynamoDbTable.class);
+    private OutboxRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        when(enhancedClient.<OutboxRecord>table(anyString(), any())).thenReturn(table);
+        OutboxProperties properties = new OutboxProperties();
+        properties.setTableName("fintech-outbox");
+        repository = new OutboxRepository(enhancedClient, properties);
+    }
+
+    @Test
+    void keepsStoredRecordsAndWritesTheRestOnce() {
+        when(enhancedClient.transactWriteItems(any(TransactWriteItemsEnhancedRequest.class)))
+            .thenThrow(cancelled("ConditionalCheckFailed", "None"))
+            .thenReturn(null);
+
+        OutboxBatchResult result = repository.putBatch(List.of(
+            record("tx-published"), record("tx-new"), record("tx-new")));
+
+        assertThat(result.written()).isEqualTo(1);
+        assertThat(result.existing()).isEqualTo(2);
+        assertThat(result.unprocessed()).isEmpty();
+        verify(enhancedClient, times(2)).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        verify(enhancedClient, never()).batchWriteItem(any(BatchWriteItemEnhancedRequest.class));
+        verify(table, never()).putItem(any(OutboxRecord.class));
+    }
+
+    @Test
+    void reportsRecordsStillConflictingAfterRetries() {
+        when(enhancedClient.transactWriteItems(any(TransactWriteItemsEnhancedRequest.class)))
+            .thenThrow(cancelled("TransactionConflict"));
+
+        OutboxBatchResult result = repository.putBatch(List.of(record("tx-1")));
+
+        assertThat(result.written()).isZero();
+        assertThat(result.unprocessed()).extracting(OutboxRecord::getOutboxId).containsExactly("tx-1");
+    }
+
+    @Test
+    void aFailedChunkDoesNotUndoTheChunksBeforeIt() {
+        when(enhancedClient.transactWriteItems(any(TransactWriteItemsEnhancedRequest.class)))
+            .thenReturn(null)
+            .thenThrow(DynamoDbException.builder().message("Throughput exceeded").build());
+        List<OutboxRecord> records = new ArrayList<>();
+        for (int i = 0; i <= OutboxRepository.MAX_TRANSACT_ITEMS; i++) {
+            records.add(record("tx-" + i));
+        }
+
+        OutboxBatchResult result = repository.putBatch(records);
+
+        assertThat(result.written()).isEqualTo(OutboxRepository.MAX_TRANSACT_ITEMS);
+        assertThat(result.unprocessed()).extracting(OutboxRecord::getOutboxId)
+            .containsExactly("tx-" + OutboxRepository.MAX_TRANSACT_ITEMS);
+    }
+
+    private static TransactionCanceledException cancelled(String... codes) {
+        return TransactionCanceledException.builder()
+            .message("Transaction cancelled")
+            .cancellationReasons(Arrays.stream(codes)
+                .map(code -> CancellationReason.builder().code(code).build())
+                .toList())
+            .build();
+    }
+
+    private static OutboxRecord record(String transactionId) {
+        RiskAssessment assessment = RiskAssessment.newBuilder()
+            .setTransactionId(transactionId)
+            .setDecision(Decision.APPROVE)
+            .build();
+        return OutboxRecord.pending(transactionId, null, assessment, System.currentTimeMillis());
+    }
+}
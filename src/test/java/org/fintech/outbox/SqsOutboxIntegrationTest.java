@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import org.fintech.proto.v1.Decision;
 import org.fintech.proto.v1.Reason;
 import org.fintech.proto.v1.RiskAssessment;
@@ -23,7 +25,9 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
@@ -74,6 +78,12 @@ class SqsOutboxIntegrationTest {
     @Autowired
     private SqsClient sqsClient;
 
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
     @DynamicPropertySource
     static void registerProperties(DynamicPropertyRegistry registry) {
         ensureLocalStackResources();
@@ -134,6 +144,38 @@ class SqsOutboxIntegrationTest {
         assertThat(assessment.getRiskScore()).isEqualTo(0.95);
     }
 
+    @Test
+    void reofferedDecisionKeepsThePublishedRecord() {
+        RiskAssessment assessment = RiskAssessment.newBuilder()
+            .setTransactionId("tx-outbox-published")
+            .setDecision(Decision.APPROVE)
+            .setReason(Reason.LOW_RISK_AMOUNT)
+            .build();
+        OutboxRecord published = OutboxRecord.pending("tx-outbox-published", null, assessment,
+            System.currentTimeMillis());
+        published.setStatus(OutboxStatus.PUBLISHED.name());
+        assertThat(outboxRepository.putIfAbsent(published)).isTrue();
+
+        OutboxRecord reoffered = OutboxRecord.pending("tx-outbox-published", null, assessment,
+            System.currentTimeMillis());
+        OutboxRecord fresh = OutboxRecord.pending("tx-outbox-fresh", null,
+            assessment.toBuilder().setTransactionId("tx-outbox-fresh").build(), System.currentTimeMillis());
+        OutboxBatchResult result = outboxRepository.putBatch(List.of(reoffered, fresh, reoffered));
+
+        assertThat(result.written()).isEqualTo(1);
+        assertThat(result.existing()).isEqualTo(2);
+        assertThat(result.unprocessed()).isEmpty();
+        assertThat(storedStatus("tx-outbox-published")).isEqualTo(OutboxStatus.PUBLISHED.name());
+    }
+
+    private String storedStatus(String outboxId) {
+        return dynamoDbClient.getItem(GetItemRequest.builder()
+            .tableName(OUTBOX_TABLE)
+            .key(Map.of("outbox_id", AttributeValue.builder().s(outboxId).build()))
+            .consistentRead(true)
+            .build()).item().get("status").s();
+    }
+
     private static void ensureLocalStackResources() {
         if (transactionsQueueUrl != null) {
             return;
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import java.util.Optional;
 import org.fintech.proto.v1.Decision;
 import org.fintech.proto.v1.TransactionRequest;
 import org.junit.jupiter.api.Test;
@@ -52,6 +53,52 @@ class RuleEngineTest {
         assertThat(result.riskScore()).isEqualTo(0.2);
     }
 
+    @Test
+    void isBlockingWhenAnyRuleDeclaresIt() {
+        DefaultApproveRule defaultRule = new DefaultApproveRule(0.1);
+        TransactionRule lookupRule = new TransactionRule() {
+            @Override
+            public Optional<RuleResult> apply(TransactionRequest request) {
+                return Optional.empty();
+            }
+
+            @Override
+            public boolean isBlocking() {
+                return true;
+            }
+        };
+
+        RuleEngine pureCpu = new RuleEngine(List.of(new AmountDenyRule(100.0)), defaultRule, new SimpleMeterRegistry());
+        RuleEngine withLookup = new RuleEngine(
+            List.of(new AmountDenyRule(100.0), lookupRule),
+            defaultRule,
+            new SimpleMeterRegistry()
+        );
+
+        assertThat(pureCpu.isBlocking()).isFalse();
+        assertThat(withLookup.isBlocking()).isTrue();
+        assertThat(withLookup.blockingRules()).containsExactly(lookupRule);
+    }
+
+    @Test
+    void evaluateBatchKeepsRequestOrderAndRecordsOneSample() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RuleEngine engine = new RuleEngine(List.of(
+            new AmountDenyRule(100.0),
+            new AmountReviewRule(50.0)
+        ), new DefaultApproveRule(0.1), registry);
+
+        List<RuleResult> results = engine.evaluateBatch(List.of(
+            baseRequest().setAmount(150.0).build(),
+            baseRequest().setAmount(10.0).build(),
+            baseRequest().setAmount(75.0).build()
+        ));
+
+        assertThat(results).extracting(RuleResult::decision)
+            .containsExactly(Decision.REJECT, Decision.APPROVE, Decision.REVIEW);
+        assertThat(registry.get("rules.evaluate.batch.latency").timer().count()).isEqualTo(1);
+    }
+
     private static TransactionRequest.Builder baseRequest() {
         return TransactionRequest.newBuilder()
             .setTransactionId("tx-123")
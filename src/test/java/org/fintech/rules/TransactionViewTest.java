@@ -0,0 +1,124 @@
+package org.fintech.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnknownFieldSet;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.TransactionRequest;
+import org.junit.jupiter.api.Test;
+
+class TransactionViewTest {
+
+    @Test
+    void parseDecodesFieldsOnDemand() throws Exception {
+        TransactionRequest request = baseRequest().setAmount(125.5).build();
+
+        TransactionView view = TransactionView.parse(request.toByteArray());
+
+        assertThat(view.amount()).isEqualTo(125.5);
+        assertThat(view.transactionId()).isEqualTo("tx-123");
+        assertThat(view.accountId()).isEqualTo("acct-9");
+        assertThat(view.merchant()).isEqualTo("ACME");
+        assertThat(view.currency()).isEqualTo("USD");
+        assertThat(view.timestamp()).isEqualTo("2026-01-06T16:06:34+08:00");
+        assertThat(view.toRequest()).isEqualTo(request);
+    }
+
+    @Test
+    void parseUsesDefaultsForAbsentFields() throws Exception {
+        TransactionView view = TransactionView.parse(new byte[0]);
+
+        assertThat(view.amount()).isZero();
+        assertThat(view.transactionId()).isEmpty();
+        assertThat(view.toRequest()).isEqualTo(TransactionRequest.getDefaultInstance());
+    }
+
+    @Test
+    void parseSkipsUnknownFields() throws Exception {
+        TransactionRequest request = baseRequest()
+            .setAmount(42.0)
+            .setUnknownFields(UnknownFieldSet.newBuilder()
+                .addField(99, UnknownFieldSet.Field.newBuilder().addVarint(7).build())
+                .build())
+            .build();
+
+        TransactionView view = TransactionView.parse(request.toByteArray());
+
+        assertThat(view.amount()).isEqualTo(42.0);
+        assertThat(view.currency()).isEqualTo("USD");
+    }
+
+    @Test
+    void parseRejectsTruncatedPayload() {
+        byte[] payload = baseRequest().setAmount(1.0).build().toByteArray();
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 3);
+
+        assertThatThrownBy(() -> TransactionView.parse(truncated))
+            .isInstanceOf(InvalidProtocolBufferException.class);
+    }
+
+    @Test
+    void parseRejectsInvalidUtf8LikeParseFrom() {
+        byte[] payload = baseRequest().setAccountId("acct-9").build().toByteArray();
+        byte[] corrupted = payload.clone();
+        int index = indexOf(corrupted, "acct-9".getBytes(StandardCharsets.UTF_8));
+        corrupted[index] = (byte) 0xC3;
+
+        assertThatThrownBy(() -> TransactionRequest.parseFrom(corrupted))
+            .isInstanceOf(InvalidProtocolBufferException.class);
+        assertThatThrownBy(() -> TransactionView.parse(corrupted))
+            .isInstanceOf(InvalidProtocolBufferException.class);
+    }
+
+    @Test
+    void rulesEvaluateViewWithoutMaterializingRequest() throws Exception {
+        TransactionView view = TransactionView.parse(baseRequest().setAmount(150.0).build().toByteArray());
+
+        RuleResult result = new AmountDenyRule(100.0).apply(view).orElseThrow();
+
+        assertThat(result.decision()).isEqualTo(Decision.REJECT);
+    }
+
+    @Test
+    void accountIdHashMatchesAcrossWireAndMaterializedViews() throws Exception {
+        TransactionRequest request = baseRequest().setAccountId("acct-\u00e9-42").build();
+
+        int wireHash = TransactionView.parse(request.toByteArray()).accountIdHash();
+
+        assertThat(wireHash).isEqualTo(TransactionView.of(request).accountIdHash());
+        assertThat(wireHash).isNotEqualTo(TransactionView.of(baseRequest().build()).accountIdHash());
+    }
+
+    @Test
+    void ofDelegatesToMaterializedRequest() {
+        TransactionRequest request = baseRequest().setAmount(10.0).build();
+
+        TransactionView view = TransactionView.of(request);
+
+        assertThat(view.amount()).isEqualTo(10.0);
+        assertThat(view.merchant()).isEqualTo("ACME");
+        assertThat(view.toRequest()).isSameAs(request);
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        for (int i = 0; i + needle.length <= haystack.length; i++) {
+            if (Arrays.equals(haystack, i, i + needle.length, needle, 0, needle.length)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("needle not found");
+    }
+
+    private static TransactionRequest.Builder baseRequest() {
+        return TransactionRequest.newBuilder()
+            .setTransactionId("tx-123")
+            .setAccountId("acct-9")
+            .setMerchant("ACME")
+            .setCurrency("USD")
+            .setTimestamp("2026-01-06T16:06:34+08:00");
+    }
+}
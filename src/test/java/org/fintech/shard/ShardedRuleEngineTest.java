@@ -0,0 +1,121 @@
+package org.fintech.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.TransactionRequest;
+import org.fintech.rules.AmountDenyRule;
+import org.fintech.rules.AmountReviewRule;
+import org.fintech.rules.DefaultApproveRule;
+import org.fintech.rules.RuleEngine;
+import org.fintech.rules.RuleResult;
+import org.fintech.rules.TransactionRule;
+import org.fintech.rules.TransactionView;
+import org.junit.jupiter.api.Test;
+
+class ShardedRuleEngineTest {
+
+    @Test
+    void evaluatesOnShardsAndReturnsDecisions() {
+        ShardedRuleEngine engine = new ShardedRuleEngine(amountEngine(), 4, 64, 5_000, new SimpleMeterRegistry());
+        engine.start();
+        try {
+            assertThat(engine.evaluate(view("acct-1", 150.0)).decision()).isEqualTo(Decision.REJECT);
+            assertThat(engine.evaluate(view("acct-2", 75.0)).decision()).isEqualTo(Decision.REVIEW);
+            assertThat(engine.evaluate(view("acct-3", 10.0)).decision()).isEqualTo(Decision.APPROVE);
+        } finally {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void routesEveryTransactionForAnAccountToOneThread() throws Exception {
+        ConcurrentHashMap<String, String> threadByAccount = new ConcurrentHashMap<>();
+        List<String> conflicts = new ArrayList<>();
+        TransactionRule recordingRule = request -> {
+            String thread = Thread.currentThread().getName();
+            String previous = threadByAccount.putIfAbsent(request.getAccountId(), thread);
+            if (previous != null && !previous.equals(thread)) {
+                synchronized (conflicts) {
+                    conflicts.add(request.getAccountId());
+                }
+            }
+            return Optional.empty();
+        };
+        DefaultApproveRule defaultRule = new DefaultApproveRule(0.1);
+        RuleEngine ruleEngine = new RuleEngine(List.of(recordingRule), defaultRule, new SimpleMeterRegistry());
+        ShardedRuleEngine engine = new ShardedRuleEngine(ruleEngine, 4, 1024, 5_000, new SimpleMeterRegistry());
+        engine.start();
+        try {
+            List<CompletableFuture<RuleResult>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                results.add(engine.submit(view("acct-" + (i % 20), 1.0)));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        } finally {
+            engine.stop();
+        }
+
+        assertThat(threadByAccount).hasSize(20);
+        assertThat(conflicts).isEmpty();
+    }
+
+    @Test
+    void rejectsWhenShardRingIsFull() throws Exception {
+        ShardedRuleEngine engine = new ShardedRuleEngine(amountEngine(), 1, 2, 5_000, new SimpleMeterRegistry());
+
+        // Shard threads are not started yet, so the ring fills up.
+        CompletableFuture<RuleResult> first = engine.submit(view("acct-1", 1.0));
+        CompletableFuture<RuleResult> second = engine.submit(view("acct-1", 1.0));
+        CompletableFuture<RuleResult> rejected = engine.submit(view("acct-1", 1.0));
+
+        assertThatThrownBy(rejected::get)
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> engine.evaluate(view("acct-1", 1.0)))
+            .isInstanceOf(RejectedExecutionException.class);
+
+        engine.start();
+        try {
+            assertThat(first.get(5, TimeUnit.SECONDS).decision()).isEqualTo(Decision.APPROVE);
+            assertThat(second.get(5, TimeUnit.SECONDS).decision()).isEqualTo(Decision.APPROVE);
+        } finally {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void evaluateGivesUpWhenShardNeverAnswers() {
+        // Not started, so the task sits in the ring and nothing completes it.
+        ShardedRuleEngine engine = new ShardedRuleEngine(amountEngine(), 1, 8, 50, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> engine.evaluate(view("acct-1", 1.0)))
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessageContaining("50ms");
+    }
+
+    private static RuleEngine amountEngine() {
+        return new RuleEngine(List.of(
+            new AmountDenyRule(100.0),
+            new AmountReviewRule(50.0)
+        ), new DefaultApproveRule(0.1), new SimpleMeterRegistry());
+    }
+
+    private static TransactionView view(String accountId, double amount) {
+        return TransactionView.of(TransactionRequest.newBuilder()
+            .setTransactionId("tx-" + accountId)
+            .setAccountId(accountId)
+            .setAmount(amount)
+            .build());
+    }
+}
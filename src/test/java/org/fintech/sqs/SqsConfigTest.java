@@ -0,0 +1,45 @@
+package org.fintech.sqs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.fintech.config.BoundedVirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+
+class SqsConfigTest {
+
+    @Test
+    void virtualProcessingExecutorIsBoundedByMaxInFlight() {
+        SqsProperties properties = new SqsProperties();
+        properties.setProcessingExecutorType("virtual");
+        properties.setProcessingThreads(4);
+        properties.setMaxInFlight(256);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        ExecutorService executor = new SqsConfig().sqsProcessingExecutor(properties, registry);
+        try {
+            assertThat(executor).isInstanceOf(BoundedVirtualThreadExecutor.class);
+            assertThat(((BoundedVirtualThreadExecutor) executor).maxConcurrency()).isEqualTo(256);
+            assertThat(registry.find("sqs.processing.active").gauge()).isNotNull();
+            assertThat(registry.find("sqs.processing.waiting").gauge()).isNotNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void platformProcessingExecutorIsTheDefault() {
+        SqsProperties properties = new SqsProperties();
+        properties.setProcessingThreads(4);
+
+        ExecutorService executor = new SqsConfig().sqsProcessingExecutor(properties, new SimpleMeterRegistry());
+        try {
+            assertThat(executor).isInstanceOf(ThreadPoolExecutor.class);
+            assertThat(((ThreadPoolExecutor) executor).getMaximumPoolSize()).isEqualTo(4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.fintech.sqs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+class SqsDeleteBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqsClient sqsClient = mock(SqsClient.class);
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void groupsDeletesIntoBatchesOfTen() {
+        respond(receiptHandle -> null);
+        SqsDeleteBatcher batcher = new SqsDeleteBatcher(sqsClient, "queue-url", 100, 10_000, 3, 5_000, meterRegistry);
+        for (int i = 0; i < 23; i++) {
+            batcher.delete(message(i));
+        }
+
+        batcher.start();
+        batcher.close();
+
+        assertThat(batches).extracting(List::size).containsExactly(10, 10, 3);
+        assertThat(batches.get(0).get(0)).isEqualTo("receipt-0");
+        assertThat(meterRegistry.get("sqs.delete.success").counter().count()).isEqualTo(23.0);
+        assertThat(meterRegistry.get("sqs.delete.batch.size").summary().count()).isEqualTo(3);
+        verify(sqsClient, never()).deleteMessage(any(DeleteMessageRequest.class));
+    }
+
+    @Test
+    void retriesServerSideFailuresButNotSenderFaults() {
+        AtomicInteger internalErrors = new AtomicInteger();
+        respond(receiptHandle -> {
+            if (receiptHandle.equals("receipt-1") && internalErrors.getAndIncrement() == 0) {
+                return BatchResultErrorEntry.builder().code("InternalError").senderFault(false);
+            }
+            if (receiptHandle.equals("receipt-2")) {
+                return BatchResultErrorEntry.builder().code("ReceiptHandleIsInvalid").senderFault(true);
+            }
+            return null;
+        });
+        SqsDeleteBatcher batcher = new SqsDeleteBatcher(sqsClient, "queue-url", 100, 10_000, 3, 5_000, meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            batcher.delete(message(i));
+        }
+
+        batcher.start();
+        batcher.close();
+
+        assertThat(batches).containsExactly(
+            List.of("receipt-0", "receipt-1", "receipt-2"),
+            List.of("receipt-1"));
+        assertThat(meterRegistry.get("sqs.delete.success").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("sqs.delete.retried").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("sqs.delete.failure").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void deletesSynchronouslyOnceClosed() {
+        SqsDeleteBatcher batcher = new SqsDeleteBatcher(sqsClient, "queue-url", 100, 20, 3, 5_000, meterRegistry);
+        batcher.close();
+
+        batcher.delete(message(1));
+
+        verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
+        assertThat(batcher.pending()).isZero();
+        assertThat(meterRegistry.get("sqs.delete.success").counter().count()).isEqualTo(1.0);
+    }
+
+    // Records each batch's receipt handles and fails the entries for which `failure` returns a builder.
+    private void respond(Function<String, BatchResultErrorEntry.Builder> failure) {
+        when(sqsClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class))).thenAnswer(invocation -> {
+            DeleteMessageBatchRequest request = invocation.getArgument(0);
+            batches.add(request.entries().stream().map(DeleteMessageBatchRequestEntry::receiptHandle).toList());
+            List<DeleteMessageBatchResultEntry> successful = new ArrayList<>();
+            List<BatchResultErrorEntry> failed = new ArrayList<>();
+            for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+                BatchResultErrorEntry.Builder error = failure.apply(entry.receiptHandle());
+                if (error == null) {
+                    successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+                } else {
+                    failed.add(error.id(entry.id()).build());
+                }
+            }
+            return DeleteMessageBatchResponse.builder().successful(successful).failed(failed).build();
+        });
+    }
+
+    private static Message message(int index) {
+        return Message.builder().messageId("message-" + index).receiptHandle("receipt-" + index).build();
+    }
+}
@@ -0,0 +1,139 @@
+package org.fintech.sqs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+class SqsPollerScalerTest {
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicInteger pollers = new AtomicInteger(1);
+    private final AtomicBoolean saturated = new AtomicBoolean();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SqsPollerScaler scaler;
+
+    @BeforeEach
+    void setUp() {
+        SqsClient sqsClient = mock(SqsClient.class);
+        when(sqsClient.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenAnswer(invocation ->
+            GetQueueAttributesResponse.builder()
+                .attributes(Map.of(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, Long.toString(backlog.get())))
+                .build());
+        SqsProperties properties = new SqsProperties();
+        properties.setQueueUrl("http://localhost:4566/queue/us-east-1/000000000000/fintech-transactions");
+        properties.setPollerMinThreads(1);
+        properties.setPollerMaxThreads(6);
+        properties.setPollerScaleUpBacklog(100);
+        properties.setPollerScaleDownEmptyRatio(0.5);
+        properties.setPollerScaleDownChecks(3);
+        scaler = new SqsPollerScaler(sqsClient, properties, pollers::get, pollers::set, saturated::get, meterRegistry);
+    }
+
+    @Test
+    void growsStraightToBacklogSizeCappedAtMax() {
+        backlog.set(350);
+        scaler.check();
+        assertThat(pollers.get()).isEqualTo(4);
+
+        backlog.set(5_000);
+        scaler.check();
+        assertThat(pollers.get()).isEqualTo(6);
+        assertThat(meterRegistry.counter("sqs.pollers.scaled", "direction", "up").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.find("sqs.queue.backlog").gauge().value()).isEqualTo(5_000.0);
+    }
+
+    @Test
+    void doesNotGrowWhileInFlightBudgetIsSpent() {
+        saturated.set(true);
+        backlog.set(1_000);
+        scaler.check();
+        assertThat(pollers.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shrinksOneAtATimeOnlyAfterConsecutiveMostlyEmptyChecks() {
+        pollers.set(4);
+        backlog.set(10);
+
+        emptyReceives(3, 4);
+        scaler.check();
+        emptyReceives(3, 4);
+        scaler.check();
+        assertThat(pollers.get()).isEqualTo(4);
+
+        // A busy interval resets the streak.
+        emptyReceives(0, 4);
+        scaler.check();
+        emptyReceives(4, 4);
+        scaler.check();
+        emptyReceives(4, 4);
+        scaler.check();
+        assertThat(pollers.get()).isEqualTo(4);
+
+        emptyReceives(4, 4);
+        scaler.check();
+        assertThat(pollers.get()).isEqualTo(3);
+    }
+
+    @Test
+    void intervalsWithoutFinishedReceivesDoNotResetTheStreak() {
+        pollers.set(4);
+        backlog.set(10);
+
+        emptyReceives(4, 4);
+        scaler.check();
+        // Long polls still waiting when the check runs.
+        scaler.check();
+        emptyReceives(4, 4);
+        scaler.check();
+        scaler.check();
+        assertThat(pollers.get()).isEqualTo(4);
+
+        emptyReceives(4, 4);
+        scaler.check();
+        assertThat(pollers.get()).isEqualTo(3);
+    }
+
+    @Test
+    void emptyQueueCountsAsIdleEvenWithoutFinishedReceives() {
+        pollers.set(2);
+        backlog.set(0);
+
+        for (int i = 0; i < 3; i++) {
+            scaler.check();
+        }
+
+        assertThat(pollers.get()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsPollersWhileBacklogIsInsideTheDeadBand() {
+        pollers.set(2);
+        // Under the grow threshold for two pollers but above half of it.
+        backlog.set(150);
+        for (int i = 0; i < 5; i++) {
+            emptyReceives(4, 4);
+            scaler.check();
+        }
+        assertThat(pollers.get()).isEqualTo(2);
+    }
+
+    private void emptyReceives(int empty, int total) {
+        for (int i = 0; i < total; i++) {
+            scaler.recordReceive(i < empty ? 0 : 10);
+        }
+    }
+}
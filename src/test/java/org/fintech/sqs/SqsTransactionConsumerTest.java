@@ -11,8 +11,10 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -24,9 +26,12 @@ import org.fintech.rules.RuleResult;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
 class SqsTransactionConsumerTest {
 
@@ -56,6 +61,8 @@ class SqsTransactionConsumerTest {
             processingExecutor,
             pollerExecutor,
             outboxWriterProvider,
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
             new SimpleMeterRegistry()
         );
 
@@ -104,6 +111,8 @@ class SqsTransactionConsumerTest {
             processingExecutor,
             pollerExecutor,
             outboxWriterProvider,
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
             new SimpleMeterRegistry()
         );
 
@@ -139,6 +148,8 @@ class SqsTransactionConsumerTest {
             processingExecutor,
             pollerExecutor,
             outboxWriterProvider,
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
             new SimpleMeterRegistry()
         );
 
@@ -155,6 +166,115 @@ class SqsTransactionConsumerTest {
         assertThat(getInFlight(consumer)).isZero();
     }
 
+    @Test
+    void asyncModeKeepsLongPollsOutstandingWithoutPollerThreads() throws Exception {
+        SqsClient sqsClient = mock(SqsClient.class);
+        SqsAsyncClient asyncClient = mock(SqsAsyncClient.class);
+        SqsProperties properties = new SqsProperties();
+        properties.setQueueUrl("queue-url");
+        properties.setAsyncReceiveConcurrency(3);
+        SqsTransactionProcessor processor = mock(SqsTransactionProcessor.class);
+        ObjectProvider<OutboxWriter> outboxWriterProvider = mock(ObjectProvider.class);
+        ObjectProvider<SqsAsyncClient> asyncClientProvider = mock(ObjectProvider.class);
+        when(asyncClientProvider.getIfAvailable()).thenReturn(asyncClient);
+
+        TransactionRequest request = TransactionRequest.newBuilder()
+            .setTransactionId("tx-4")
+            .build();
+        RuleResult result = new RuleResult(Decision.APPROVE, Reason.LOW_RISK_AMOUNT, 0.1);
+        when(processor.process("payload")).thenReturn(new SqsTransactionProcessor.ProcessedTransaction(request, result));
+        Message message = Message.builder()
+            .messageId("msg-4")
+            .receiptHandle("receipt-4")
+            .body("payload")
+            .build();
+        List<CompletableFuture<ReceiveMessageResponse>> outstanding = new ArrayList<>();
+        AtomicInteger receives = new AtomicInteger();
+        when(asyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            if (receives.getAndIncrement() == 0) {
+                return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(message).build());
+            }
+            CompletableFuture<ReceiveMessageResponse> pending = new CompletableFuture<>();
+            outstanding.add(pending);
+            return pending;
+        });
+
+        ExecutorService pollerExecutor = mock(ExecutorService.class);
+        SqsTransactionConsumer consumer = new SqsTransactionConsumer(
+            sqsClient,
+            properties,
+            processor,
+            newDirectExecutorService(),
+            pollerExecutor,
+            outboxWriterProvider,
+            mock(ObjectProvider.class),
+            asyncClientProvider,
+            new SimpleMeterRegistry()
+        );
+
+        consumer.start();
+
+        // The first receive returned a message and was re-issued; the other two are still waiting.
+        verify(processor).process("payload");
+        verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
+        assertThat(receives).hasValue(4);
+        assertThat(outstanding).hasSize(3).allMatch(pending -> !pending.isDone());
+        verify(pollerExecutor, never()).submit(any(Runnable.class));
+        verify(sqsClient, never()).receiveMessage(any(ReceiveMessageRequest.class));
+
+        consumer.stop();
+
+        assertThat(outstanding).allMatch(CompletableFuture::isCancelled);
+        assertThat(getInFlight(consumer)).isZero();
+    }
+
+    @Test
+    void asyncReceivesNeverAskForMoreThanTheInFlightBudget() {
+        SqsAsyncClient asyncClient = mock(SqsAsyncClient.class);
+        SqsProperties properties = new SqsProperties();
+        properties.setQueueUrl("queue-url");
+        properties.setAsyncReceiveConcurrency(4);
+        properties.setMaxInFlight(15);
+        ObjectProvider<SqsAsyncClient> asyncClientProvider = mock(ObjectProvider.class);
+        when(asyncClientProvider.getIfAvailable()).thenReturn(asyncClient);
+        List<Integer> requested = new ArrayList<>();
+        List<CompletableFuture<ReceiveMessageResponse>> outstanding = new ArrayList<>();
+        when(asyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            requested.add(invocation.<ReceiveMessageRequest>getArgument(0).maxNumberOfMessages());
+            CompletableFuture<ReceiveMessageResponse> pending = new CompletableFuture<>();
+            outstanding.add(pending);
+            return pending;
+        });
+        SqsTransactionConsumer consumer = new SqsTransactionConsumer(
+            mock(SqsClient.class),
+            properties,
+            mock(SqsTransactionProcessor.class),
+            newDirectExecutorService(),
+            mock(ExecutorService.class),
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class),
+            asyncClientProvider,
+            new SimpleMeterRegistry()
+        );
+
+        consumer.start();
+
+        // Ten slots for the first receive, the last five for the second; the other two wait.
+        assertThat(requested).containsExactly(10, 5);
+        assertThat(getInFlight(consumer)).isEqualTo(15);
+
+        outstanding.get(0).complete(ReceiveMessageResponse.builder().build());
+
+        // The empty receive handed its ten slots to one of the waiting receivers.
+        assertThat(requested).containsExactly(10, 5, 10);
+        assertThat(outstanding).filteredOn(pending -> !pending.isDone()).hasSize(2);
+        assertThat(getInFlight(consumer)).isEqualTo(15);
+
+        consumer.stop();
+
+        assertThat(getInFlight(consumer)).isZero();
+    }
+
     private static void invokeProcessMessage(SqsTransactionConsumer consumer, Message message) {
         try {
             Method method = SqsTransactionConsumer.class.getDeclaredMethod("processMessage", Message.class);
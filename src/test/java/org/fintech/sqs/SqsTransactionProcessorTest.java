@@ -3,19 +3,29 @@ package org.fintech.sqs;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.fintech.grpc.DecisionBroadcaster;
 import org.fintech.proto.v1.Decision;
+import org.fintech.proto.v1.DecisionEvent;
 import org.fintech.proto.v1.Reason;
 import org.fintech.proto.v1.TransactionRequest;
+import org.fintech.proto.v1.WatchDecisionsRequest;
 import org.fintech.rules.RuleEngine;
 import org.fintech.rules.RuleResult;
+import org.fintech.rules.TransactionView;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
 
 class SqsTransactionProcessorTest {
 
@@ -23,7 +33,7 @@ class SqsTransactionProcessorTest {
     void processDecodesBase64ProtoAndEvaluatesRules() throws Exception {
         RuleEngine ruleEngine = mock(RuleEngine.class);
         RuleResult expected = new RuleResult(Decision.APPROVE, Reason.LOW_RISK_AMOUNT, 0.1);
-        when(ruleEngine.evaluate(any(TransactionRequest.class))).thenReturn(expected);
+        when(ruleEngine.evaluate(any(TransactionView.class))).thenReturn(expected);
 
         TransactionRequest request = TransactionRequest.newBuilder()
             .setTransactionId("tx-1")
@@ -35,22 +45,86 @@ class SqsTransactionProcessorTest {
             .build();
         String messageBody = Base64.getEncoder().encodeToString(request.toByteArray());
 
-        SqsTransactionProcessor processor = new SqsTransactionProcessor(ruleEngine);
+        SqsTransactionProcessor processor = processor(ruleEngine);
         SqsTransactionProcessor.ProcessedTransaction processed = processor.process(messageBody);
 
         assertThat(processed.result()).isEqualTo(expected);
-        ArgumentCaptor<TransactionRequest> captor = ArgumentCaptor.forClass(TransactionRequest.class);
+        ArgumentCaptor<TransactionView> captor = ArgumentCaptor.forClass(TransactionView.class);
         verify(ruleEngine).evaluate(captor.capture());
-        assertThat(captor.getValue()).isEqualTo(request);
+        assertThat(captor.getValue().amount()).isEqualTo(125.5);
+        assertThat(processed.transactionId()).isEqualTo("tx-1");
         assertThat(processed.request()).isEqualTo(request);
     }
 
+    @Test
+    void parseMessageReturnsLazyViewOverPayload() throws Exception {
+        TransactionRequest request = TransactionRequest.newBuilder()
+            .setTransactionId("tx-2")
+            .setAccountId("acct-2")
+            .setAmount(9000.0)
+            .setMerchant("ACME")
+            .build();
+        String messageBody = Base64.getEncoder().encodeToString(request.toByteArray());
+
+        SqsTransactionProcessor processor = processor(mock(RuleEngine.class));
+        TransactionView view = processor.parseMessage(messageBody);
+
+        assertThat(view.amount()).isEqualTo(9000.0);
+        assertThat(view.accountId()).isEqualTo("acct-2");
+        assertThat(view.currency()).isEmpty();
+        assertThat(view.toRequest()).isEqualTo(request);
+    }
+
     @Test
     void parseMessageRejectsNonBase64Payloads() {
-        SqsTransactionProcessor processor = new SqsTransactionProcessor(mock(RuleEngine.class));
+        SqsTransactionProcessor processor = processor(mock(RuleEngine.class));
 
         assertThatThrownBy(() -> processor.parseMessage("not-base64"))
             .isInstanceOf(InvalidProtocolBufferException.class)
             .hasMessageContaining("base64");
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumedTransactionsReachDecisionWatchers() throws Exception {
+        RuleEngine ruleEngine = mock(RuleEngine.class);
+        when(ruleEngine.evaluate(any(TransactionView.class)))
+            .thenReturn(new RuleResult(Decision.REJECT, Reason.AMOUNT_EXCEEDS_HARD_LIMIT, 0.95));
+        DecisionBroadcaster broadcaster = new DecisionBroadcaster(64, 4, false, new SimpleMeterRegistry());
+        broadcaster.start();
+        ObjectProvider<DecisionBroadcaster> broadcasterProvider = mock(ObjectProvider.class);
+        when(broadcasterProvider.getIfAvailable()).thenReturn(broadcaster);
+        List<DecisionEvent> received = new CopyOnWriteArrayList<>();
+        ServerCallStreamObserver<DecisionEvent> watcher = mock(ServerCallStreamObserver.class);
+        when(watcher.isReady()).thenReturn(true);
+        doAnswer(invocation -> received.add(invocation.getArgument(0))).when(watcher).onNext(any());
+        try {
+            broadcaster.subscribe(WatchDecisionsRequest.newBuilder().addDecisions(Decision.REJECT).build(), watcher);
+            SqsTransactionProcessor processor =
+                new SqsTransactionProcessor(ruleEngine, mock(ObjectProvider.class), broadcasterProvider);
+            TransactionRequest request = TransactionRequest.newBuilder()
+                .setTransactionId("tx-sqs")
+                .setAccountId("acct-9")
+                .setAmount(25_000.0)
+                .build();
+
+            processor.process(Base64.getEncoder().encodeToString(request.toByteArray()));
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (received.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(received).hasSize(1);
+            assertThat(received.get(0).getAccountId()).isEqualTo("acct-9");
+            assertThat(received.get(0).getAssessment().getTransactionId()).isEqualTo("tx-sqs");
+            assertThat(received.get(0).getAssessment().getDecision()).isEqualTo(Decision.REJECT);
+        } finally {
+            broadcaster.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SqsTransactionProcessor processor(RuleEngine ruleEngine) {
+        return new SqsTransactionProcessor(ruleEngine, mock(ObjectProvider.class), mock(ObjectProvider.class));
+    }
 }
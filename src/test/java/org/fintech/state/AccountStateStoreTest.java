@@ -0,0 +1,103 @@
+package org.fintech.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AccountStateStoreTest {
+
+    private static final int FIELDS = 3;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writesAndReadsSlotState() {
+        AccountStateStore store = AccountStateStore.open(tempDir.resolve("state.dat"), 16, FIELDS);
+
+        int slot = store.slotFor("acct-1");
+        long[] values = new long[FIELDS];
+        assertThat(store.read(slot, values)).isFalse();
+
+        store.write(slot, new long[] {5, 250_00, 7}, 1_000L);
+
+        assertThat(store.read(slot, values)).isTrue();
+        assertThat(values).containsExactly(5, 250_00, 7);
+        assertThat(store.updatedAt(slot)).isEqualTo(1_000L);
+        assertThat(store.findSlot("acct-1")).isEqualTo(slot);
+        assertThat(store.findSlot("acct-2")).isEqualTo(AccountStateStore.NO_SLOT);
+        assertThat(store.occupied()).isEqualTo(1);
+        store.close();
+    }
+
+    @Test
+    void reloadsStateAfterCleanRestart() {
+        Path path = tempDir.resolve("state.dat");
+        AccountStateStore store = AccountStateStore.open(path, 1024, FIELDS);
+        for (int i = 0; i < 500; i++) {
+            store.write(store.slotFor("acct-" + i), new long[] {i, i * 2L, i * 3L}, i);
+        }
+        store.close();
+
+        AccountStateStore reopened = AccountStateStore.open(path, 1024, FIELDS);
+
+        assertThat(reopened.occupied()).isEqualTo(500);
+        assertThat(reopened.recovery().recovered()).isEqualTo(500);
+        long[] values = new long[FIELDS];
+        assertThat(reopened.read(reopened.findSlot("acct-42"), values)).isTrue();
+        assertThat(values).containsExactly(42, 84, 126);
+        reopened.close();
+    }
+
+    @Test
+    void resetsTornSlotsAfterCrash() throws Exception {
+        Path path = tempDir.resolve("state.dat");
+        AccountStateStore store = AccountStateStore.open(path, 16, FIELDS);
+        int intact = store.slotFor("acct-intact");
+        int torn = store.slotFor("acct-torn");
+        store.write(intact, new long[] {1, 2, 3}, 10L);
+        store.write(torn, new long[] {4, 5, 6}, 20L);
+        store.checkpoint();
+        // No close(): the header still says the previous run did not shut down cleanly.
+        corruptFirstField(path, torn);
+
+        AccountStateStore recovered = AccountStateStore.open(path, 16, FIELDS);
+
+        assertThat(recovered.recovery().recovered()).isEqualTo(1);
+        assertThat(recovered.recovery().reset()).isEqualTo(1);
+        long[] values = new long[FIELDS];
+        assertThat(recovered.read(recovered.findSlot("acct-intact"), values)).isTrue();
+        assertThat(values).containsExactly(1, 2, 3);
+        assertThat(recovered.read(recovered.findSlot("acct-torn"), values)).isFalse();
+        recovered.close();
+    }
+
+    @Test
+    void reformatsWhenGeometryChanges() {
+        Path path = tempDir.resolve("state.dat");
+        AccountStateStore store = AccountStateStore.open(path, 16, FIELDS);
+        store.write(store.slotFor("acct-1"), new long[] {1, 2, 3}, 1L);
+        store.close();
+
+        AccountStateStore resized = AccountStateStore.open(path, 16, FIELDS + 1);
+
+        assertThat(resized.occupied()).isZero();
+        assertThat(resized.findSlot("acct-1")).isEqualTo(AccountStateStore.NO_SLOT);
+        resized.close();
+    }
+
+    private static void corruptFirstField(Path path, int slot) throws Exception {
+        int slotBytes = (4 + FIELDS) * Long.BYTES;
+        long offset = 64L + (long) slot * slotBytes + 24;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 999L);
+            channel.write(value, offset);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.fintech.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SymbolTableTest {
+
+    @Test
+    void internAssignsDenseStableIds() {
+        SymbolTable table = new SymbolTable("account", 8);
+
+        int first = table.intern("acct-1");
+        int second = table.intern("acct-2");
+
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(1);
+        assertThat(table.intern(new String("acct-1"))).isEqualTo(first);
+        assertThat(table.symbol(second)).isEqualTo("acct-2");
+        assertThat(table.size()).isEqualTo(2);
+    }
+
+    @Test
+    void lookupDoesNotIntern() {
+        SymbolTable table = new SymbolTable("merchant", 4);
+
+        assertThat(table.lookup("ACME")).isEqualTo(SymbolTable.NO_SYMBOL);
+        assertThat(table.size()).isZero();
+
+        int id = table.intern("ACME");
+        assertThat(table.lookup("ACME")).isEqualTo(id);
+    }
+
+    @Test
+    void evictsAndReusesIdsOnceFull() {
+        SymbolTable table = new SymbolTable("currency", 2);
+        List<Integer> evicted = new ArrayList<>();
+        table.addEvictionListener(evicted::add);
+
+        int usd = table.intern("USD");
+        table.intern("EUR");
+        int gbp = table.intern("GBP");
+
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.evictionCount()).isEqualTo(1);
+        assertThat(evicted).containsExactly(gbp);
+        assertThat(gbp).isIn(0, 1);
+        assertThat(table.symbol(gbp)).isEqualTo("GBP");
+        assertThat(table.lookup(gbp == usd ? "USD" : "EUR")).isEqualTo(SymbolTable.NO_SYMBOL);
+    }
+
+    @Test
+    void recentlyTouchedSymbolsSurviveOneSweep() {
+        SymbolTable table = new SymbolTable("account", 3);
+        int first = table.intern("acct-1");
+        int second = table.intern("acct-2");
+        table.intern("acct-3");
+
+        // The first sweep clears every reference bit and evicts slot 0. Touching acct-2 afterwards
+        // gives it a second chance, so the next eviction skips it and takes acct-3 instead.
+        assertThat(table.intern("acct-4")).isEqualTo(first);
+        table.lookup("acct-2");
+        table.intern("acct-5");
+
+        assertThat(table.lookup("acct-2")).isEqualTo(second);
+        assertThat(table.lookup("acct-3")).isEqualTo(SymbolTable.NO_SYMBOL);
+        assertThat(table.lookup("acct-4")).isEqualTo(first);
+    }
+
+    @Test
+    void evictionInvalidatesStampedHandles() {
+        SymbolTable table = new SymbolTable("account", 1);
+        long first = table.internStamped("acct-1");
+        assertThat(table.isCurrent(first)).isTrue();
+
+        long second = table.internStamped("acct-2");
+
+        assertThat(SymbolTable.idOf(second)).isEqualTo(SymbolTable.idOf(first));
+        assertThat(table.isCurrent(first)).isFalse();
+        assertThat(table.isCurrent(second)).isTrue();
+        assertThat(table.lookup("acct-1")).isEqualTo(SymbolTable.NO_SYMBOL);
+        assertThat(table.intern("acct-2")).isEqualTo(SymbolTable.idOf(second));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new SymbolTable("account", 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}